@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("org.jetbrains.kotlin.jvm") version "1.9.22"
     id("org.jetbrains.intellij") version "1.17.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.wd"
@@ -21,10 +22,36 @@ intellij {
     type.set("IU") // 表示 IntelliJ IDEA Ultimate。IDEA Community的IC，IDEA Ultimate的IU
     //设置各版本兼容
     updateSinceUntilBuild.set(false) // 不自动更新 plugin.xml 中的 since-build/until-build
-    plugins.set(listOf()) // 如果没有依赖其他插件
+    plugins.set(listOf("maven")) // 可选依赖Maven插件：增量生成后只重新导入变化的模块
     pluginName.set("Maven-aggregation Quickstart")
 }
 
+// JMH 基准测试（src/jmh/java）：./gradlew jmh，结果输出到 build/results/jmh/results.json
+// 基准测试在IDE之外运行，需要在类路径上带上平台jar
+configurations {
+    named("jmhImplementation") {
+        extendsFrom(configurations.compileOnly.get())
+    }
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    benchmarkMode.set(listOf("thrpt"))
+    timeUnit.set("s")
+    profilers.set(listOf("gc")) // 报告分配速率
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    // 写盘基准测试的目标目录：tmpfs 默认 /dev/shm，普通磁盘默认 build/tmp/jmh-disk，可用 -P 覆盖
+    jvmArgsAppend.set(listOf(
+        "-Dbench.tmpfs.dir=" + (project.findProperty("bench.tmpfs.dir") ?: "/dev/shm"),
+        "-Dbench.disk.dir=" + (project.findProperty("bench.disk.dir") ?: layout.buildDirectory.dir("tmp/jmh-disk").get().asFile.path)
+    ))
+    // 只跑部分基准测试：./gradlew jmh -Pjmh.includes=ModulePom
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
+
 
 tasks {
     // Set the JVM compatibility versions
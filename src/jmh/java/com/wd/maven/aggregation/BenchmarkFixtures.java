@@ -0,0 +1,67 @@
+package com.wd.maven.aggregation;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 基准测试共用的输入数据与目录工具
+ */
+final class BenchmarkFixtures {
+
+    static final String GROUP_ID = "com.example.bench";
+    static final String ARTIFACT_ID = "bench";
+    static final String VERSION = "1.0-SNAPSHOT";
+    static final String JAVA_VERSION = "17";
+
+    // 标准模块放在前面，保证模块间依赖链（api→service→mapper→pojo→common）参与渲染
+    private static final String[] STANDARD_MODULES = {"api", "common", "mapper", "pojo", "service"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 生成指定数量的模块名，不足5个时只取标准模块，其余补充为 feature-N
+     */
+    static String[] modules(int count) {
+        String[] modules = new String[count];
+        for (int i = 0; i < count; i++) {
+            modules[i] = i < STANDARD_MODULES.length ? STANDARD_MODULES[i] : "feature-" + i;
+        }
+        return modules;
+    }
+
+    static MavenAggregationSettings settings(int moduleCount) {
+        MavenAggregationSettings settings = new MavenAggregationSettings();
+        settings.setGroupId(GROUP_ID);
+        settings.setArtifactId(ARTIFACT_ID);
+        settings.setVersion(VERSION);
+        settings.setJavaVersion(JAVA_VERSION);
+        settings.setModules(modules(moduleCount));
+        settings.setAddDependencies(true);
+        settings.setArchitectureType(ArchitectureType.MULTI_MODULE);
+        return settings;
+    }
+
+    static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.wd.maven.aggregation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 单模块DDD/MVC目录结构构建的基准测试（只记录到内存文件集）
+ */
+@State(Scope.Thread)
+public class DirectoryStructureBenchmark {
+
+    private final Path projectPath = Paths.get("bench-root");
+    private AggregationProjectGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new AggregationProjectGenerator(new ParallelGenerationEngine(1));
+    }
+
+    @Benchmark
+    public GeneratedFileSet dddDirectories() {
+        GeneratedFileSet fileSet = generator.beginFileSet(projectPath);
+        generator.createDddDirectoryStructure(projectPath, BenchmarkFixtures.GROUP_ID, "order");
+        return fileSet;
+    }
+
+    @Benchmark
+    public GeneratedFileSet mvcDirectories() {
+        GeneratedFileSet fileSet = generator.beginFileSet(projectPath);
+        generator.createMvcDirectoryStructure(projectPath, BenchmarkFixtures.GROUP_ID, BenchmarkFixtures.JAVA_VERSION);
+        return fileSet;
+    }
+}
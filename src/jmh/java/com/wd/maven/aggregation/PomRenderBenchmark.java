@@ -0,0 +1,71 @@
+package com.wd.maven.aggregation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * POM 渲染与内存文件集的基准测试，不涉及磁盘
+ * 每次调用渲染整个项目规模的内容，吞吐量按“项目/秒”计
+ */
+@State(Scope.Thread)
+public class PomRenderBenchmark {
+
+    @Param({"5", "50", "500", "5000"})
+    public int moduleCount;
+
+    private final Path projectPath = Paths.get("bench-root");
+    private AggregationProjectGenerator generator;
+    private String[] modules;
+    private ModuleGraph graph;
+    private String[] moduleNames;
+    private String pomContent;
+
+    @Setup
+    public void setUp() {
+        generator = new AggregationProjectGenerator(new ParallelGenerationEngine(1));
+        modules = BenchmarkFixtures.modules(moduleCount);
+        graph = ModuleGraph.of(modules, null);
+        moduleNames = new String[moduleCount];
+        for (int i = 0; i < moduleCount; i++) {
+            moduleNames[i] = BenchmarkFixtures.ARTIFACT_ID + "-" + modules[i];
+        }
+        // 预热模板缓存，并取一份真实大小的POM作为 writeToFile 的输入
+        GeneratedFileSet fileSet = generator.beginFileSet(projectPath);
+        generator.writeModulePomWithDependencies(projectPath.resolve(moduleNames[0]), BenchmarkFixtures.GROUP_ID,
+                BenchmarkFixtures.ARTIFACT_ID, BenchmarkFixtures.VERSION, moduleNames[0], graph, true);
+        pomContent = fileSet.getFiles().values().iterator().next();
+    }
+
+    @Benchmark
+    public GeneratedFileSet parentPom() {
+        GeneratedFileSet fileSet = generator.beginFileSet(projectPath);
+        generator.writeParentPomWithDependencies(projectPath, BenchmarkFixtures.GROUP_ID, BenchmarkFixtures.ARTIFACT_ID,
+                BenchmarkFixtures.VERSION, modules, BenchmarkFixtures.JAVA_VERSION, true);
+        return fileSet;
+    }
+
+    @Benchmark
+    public GeneratedFileSet modulePoms() {
+        GeneratedFileSet fileSet = generator.beginFileSet(projectPath);
+        for (String moduleName : moduleNames) {
+            generator.writeModulePomWithDependencies(projectPath.resolve(moduleName), BenchmarkFixtures.GROUP_ID,
+                    BenchmarkFixtures.ARTIFACT_ID, BenchmarkFixtures.VERSION, moduleName, graph, true);
+        }
+        return fileSet;
+    }
+
+    @Benchmark
+    public GeneratedFileSet writeToFile() {
+        GeneratedFileSet fileSet = generator.beginFileSet(projectPath);
+        for (String moduleName : moduleNames) {
+            generator.writeToFile(projectPath.resolve(moduleName).resolve("pom.xml"), pomContent);
+        }
+        return fileSet;
+    }
+}
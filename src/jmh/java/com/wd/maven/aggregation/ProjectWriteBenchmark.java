@@ -0,0 +1,67 @@
+package com.wd.maven.aggregation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 端到端生成多模块项目并写盘的基准测试，分别在 tmpfs 和普通磁盘上运行
+ * 目标目录由系统属性 bench.tmpfs.dir / bench.disk.dir 指定（见 build.gradle.kts 中的 jmh 配置）。
+ * 每次调用写入一个新的子目录，每轮迭代结束后清理
+ */
+@State(Scope.Thread)
+public class ProjectWriteBenchmark {
+
+    @Param({"5", "50", "500", "5000"})
+    public int moduleCount;
+
+    @Param({"tmpfs", "disk"})
+    public String storage;
+
+    private AggregationProjectGenerator generator;
+    private MavenAggregationSettings settings;
+    private Path iterationDir;
+    private int invocation;
+
+    @Setup
+    public void setUp() {
+        ParallelGenerationEngine engine = new ParallelGenerationEngine();
+        generator = new AggregationProjectGenerator(engine, new NioGeneratedFileWriter(engine, false));
+        settings = BenchmarkFixtures.settings(moduleCount);
+    }
+
+    @Setup(Level.Iteration)
+    public void createIterationDir() throws IOException {
+        Path storageRoot = Paths.get(System.getProperty("bench." + storage + ".dir", System.getProperty("java.io.tmpdir")));
+        if (!Files.isDirectory(storageRoot)) {
+            throw new IllegalStateException("Benchmark directory for " + storage + " does not exist: " + storageRoot
+                    + " (set -Pbench." + storage + ".dir=...)");
+        }
+        iterationDir = Files.createTempDirectory(storageRoot, "maven-aggregation-bench");
+        invocation = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteIterationDir() throws IOException {
+        BenchmarkFixtures.deleteRecursively(iterationDir);
+    }
+
+    @Benchmark
+    public GenerationReport generateProject() throws IOException {
+        Path projectPath = Files.createDirectory(iterationDir.resolve("p" + invocation++));
+        GenerationReport report = generator.generateProject(projectPath, settings, null);
+        if (!report.isSuccess()) {
+            throw new IllegalStateException(report.getSummary());
+        }
+        return report;
+    }
+}
@@ -0,0 +1,72 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.InputValidator;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
+
+/**
+ * 向已有的Maven聚合项目添加一个模块，不重新生成整个项目
+ */
+public class AddModuleAction extends AnAction {
+
+    private static final Pattern MODULE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]*");
+
+    public AddModuleAction() {
+        super("Add Module to Maven Aggregation Project",
+                "Adds a new module to an existing Maven aggregation project", null);
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null && findAggregationRoot(e) != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        VirtualFile root = findAggregationRoot(e);
+        if (project == null || root == null) return;
+
+        String module = Messages.showInputDialog(project, "模块名称 (如 web、job):", "添加模块到 " + root.getName(),
+                Messages.getQuestionIcon(), "", new InputValidator() {
+                    @Override
+                    public boolean checkInput(String input) {
+                        return MODULE_NAME.matcher(input.trim()).matches();
+                    }
+
+                    @Override
+                    public boolean canClose(String input) {
+                        return checkInput(input);
+                    }
+                });
+        if (module != null) {
+            ProgressManager.getInstance().run(new AddModuleTask(project, Paths.get(root.getPath()), module.trim()));
+        }
+    }
+
+    /**
+     * 从选中的文件向上查找，返回最外层包含 pom.xml 的目录（即聚合项目根目录）
+     * 只检查VFS中的文件是否存在，不读取内容，保证 update() 足够轻量；packaging 在生成时再校验
+     */
+    private VirtualFile findAggregationRoot(AnActionEvent e) {
+        VirtualFile file = e.getData(CommonDataKeys.VIRTUAL_FILE);
+        VirtualFile root = null;
+        for (VirtualFile dir = file == null || file.isDirectory() ? file : file.getParent(); dir != null; dir = dir.getParent()) {
+            if (dir.findChild("pom.xml") != null) {
+                root = dir;
+            } else if (root != null) {
+                break;
+            }
+        }
+        return root;
+    }
+}
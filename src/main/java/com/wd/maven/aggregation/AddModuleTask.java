@@ -0,0 +1,58 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+/**
+ * 在后台线程中向已有聚合项目添加模块
+ * 只写出新模块和修改后的父POM，之后只有这两个POM会交给Maven重新读取
+ */
+public class AddModuleTask extends Task.Backgroundable {
+
+    private final Path projectPath;
+    private final String module;
+    private GenerationReport report;
+
+    public AddModuleTask(@NotNull Project project, @NotNull Path projectPath, @NotNull String module) {
+        super(project, "添加模块: " + module, true);
+        this.projectPath = projectPath;
+        this.module = module;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+        // 只有一个模块，无需并行
+        AggregationProjectGenerator generator = new AggregationProjectGenerator(new ParallelGenerationEngine(1), new VfsGeneratedFileWriter());
+        report = generator.addModule(projectPath, module, indicator);
+    }
+
+    @Override
+    public void onSuccess() {
+        if (report == null) {
+            return;
+        }
+        if (!report.isSuccess()) {
+            notify(report.getSummary(), NotificationType.ERROR);
+            return;
+        }
+        GenerateProjectTask.notifyMetrics(getProject(), report);
+        GeneratedPomListener.firePomsWritten(getProject(), report);
+    }
+
+    @Override
+    public void onCancel() {
+        notify("模块 " + module + " 的添加已取消，已写入的文件已回滚", NotificationType.WARNING);
+    }
+
+    private void notify(String content, NotificationType type) {
+        Notifications.Bus.notify(new Notification(GenerateProjectTask.NOTIFICATION_GROUP, "Maven聚合项目", content, type), getProject());
+    }
+}
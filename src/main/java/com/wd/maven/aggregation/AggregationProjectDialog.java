@@ -1,8 +1,16 @@
 package com.wd.maven.aggregation;
 
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.ui.ValidationInfo;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
 import com.intellij.ui.components.JBCheckBox;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.JBTextField;
@@ -10,11 +18,15 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 public class AggregationProjectDialog extends DialogWrapper {
 
@@ -22,8 +34,8 @@ public class AggregationProjectDialog extends DialogWrapper {
     private JBTextField artifactIdField;
     private JBTextField versionField;
     private JBTextField modulesField;
-    private JBTextField domainNameField; // 用于单模块DDD架构
-    private JLabel domainNameLabel;
+    private JBTextField domainNameField; // 用于单模块DDD架构，切换到DDD时才创建
+    private JBCheckBox eventBusCheckBox; // 同上
     private JComboBox<String> javaVersionComboBox;
     
     // 单模块/多模块选择
@@ -38,18 +50,91 @@ public class AggregationProjectDialog extends DialogWrapper {
     private JBCheckBox mapperCheckBox;
     private JBCheckBox pojoCheckBox;
     private JBCheckBox serviceCheckBox;
+    private JBCheckBox benchmarkCheckBox; // JMH基准测试模块，默认不选
+    private JBCheckBox highPerformanceCommonCheckBox; // 原始类型集合和堆外缓冲区工具，生成在common模块
     private JBCheckBox addDependenciesCheckBox;
+    private JBCheckBox incrementalCheckBox;
+    private JBTextField moduleDependenciesField;
+    private JBCheckBox fastBuildCheckBox;
+    private JBCheckBox stagedCheckBox;
+    private JBCheckBox localRepositoryVersionsCheckBox;
+    private JBCheckBox cachingRepositoryCheckBox;
+    private JBCheckBox observabilityCheckBox;
+    private JBLabel reactorAnalysisLabel; // 构建并行度分析（多模块时显示）
     
-    // 模块相关面板，用于动态显示/隐藏
-    private JPanel modulesPanel;
+    // 各架构专属的选项区域，按需构建；模块相关字段在第一次显示多模块区域时创建
+    private ArchitectureSections architectureSections;
     private JPanel modulesFieldsPanel;
 
+    private final Project project;
+    private GenerationPreview confirmedPreview; // 在预览中确认写入的结果
+
+    // 预设：打开时回显上一次生成的设置，也可以选择命名预设
+    private final GenerationPresetStore presetStore = GenerationPresetStore.getInstance();
+    private MavenAggregationSettings initialSettings; // 延迟构建的区域创建时从这里回显
+    private JComboBox<String> presetComboBox;
+    private String selectedPreset;
+    private boolean reloadingPresets; // 重新填充列表时 JComboBox 会自动选中第一项，此时不回显
+    // 所有输入共用一个防抖定时器，停止输入后统一重新分析和校验一次
+    private final SettingsUpdatePipeline updatePipeline = new SettingsUpdatePipeline(this::updateReactorAnalysis, this::validationError);
+
     public AggregationProjectDialog(Project project) {
         super(project);
+        this.project = project;
+        this.initialSettings = presetStore.getInitialSettings();
         setTitle("创建Maven聚合项目");
         init();
     }
 
+    @Override
+    protected Action[] createLeftSideActions() {
+        return new Action[]{new DialogWrapperAction("预览...") {
+            @Override
+            protected void doAction(ActionEvent e) {
+                showPreview();
+            }
+        }};
+    }
+
+    /**
+     * 在内存中渲染项目并显示目录树和POM差异，确认后直接关闭对话框，由调用方写出预览的文件集
+     */
+    private void showPreview() {
+        ValidationInfo error = doValidate();
+        if (error != null) {
+            Messages.showErrorDialog(project, error.message, "预览生成结果");
+            return;
+        }
+        String basePath = project.getBasePath();
+        if (basePath == null || basePath.isEmpty()) {
+            Messages.showErrorDialog(project, "Project base directory not found.", "预览生成结果");
+            return;
+        }
+
+        MavenAggregationSettings settings = getSettings();
+        GenerationPreview preview;
+        try {
+            preview = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+                    () -> GenerationPreview.render(Paths.get(basePath), settings, ProgressManager.getInstance().getProgressIndicator()),
+                    "渲染预览...", true, project);
+        } catch (IOException e) {
+            Messages.showErrorDialog(project, e.getMessage(), "预览生成结果");
+            return;
+        }
+        if (new GenerationPreviewDialog(project, preview).showAndGet()) {
+            confirmedPreview = preview;
+            close(OK_EXIT_CODE);
+        }
+    }
+
+    /**
+     * 用户在预览中确认写入时返回预览结果，直接点击确定时返回null
+     */
+    @Nullable
+    public GenerationPreview getConfirmedPreview() {
+        return confirmedPreview;
+    }
+
     @Override
     protected @Nullable JComponent createCenterPanel() {
         JPanel panel = new JPanel(new GridBagLayout());
@@ -79,17 +164,15 @@ public class AggregationProjectDialog extends DialogWrapper {
         c.weightx = 1.0;
         panel.add(moduleTypePanel, c);
 
-        // 领域名称（用于单模块DDD架构）
+        // 预设
         c.gridx = 0;
         c.gridy = 1;
         c.weightx = 0.0;
-        domainNameLabel = new JLabel("领域名称:");
-        panel.add(domainNameLabel, c);
+        panel.add(new JBLabel("预设:"), c);
 
         c.gridx = 1;
         c.weightx = 1.0;
-        domainNameField = new JBTextField("order");
-        panel.add(domainNameField, c);
+        panel.add(createPresetPanel(), c);
 
         // Group ID
         c.gridx = 0;
@@ -135,8 +218,163 @@ public class AggregationProjectDialog extends DialogWrapper {
         javaVersionComboBox = new JComboBox<>(new String[]{"8", "11", "17", "21"});
         panel.add(javaVersionComboBox, c);
 
-        // 创建模块相关面板
-        this.modulesPanel = new JPanel(new GridBagLayout());
+        // 架构专属选项：DDD 的领域名称、多模块的模块选择，切换到对应架构时才构建（MVC 没有专属选项）
+        architectureSections = new ArchitectureSections();
+        architectureSections.register(ArchitectureType.SINGLE_MODULE_DDD, this::createDddSection);
+        architectureSections.register(ArchitectureType.MULTI_MODULE, this::createModulesSection);
+
+        // 占满两列，避免缩进不一致
+        c.gridx = 0;
+        c.gridy = 6;
+        c.weightx = 1.0;
+        c.gridwidth = 2;
+        panel.add(architectureSections, c);
+        c.gridwidth = 1;
+        
+        // 添加常用依赖选项
+        c.gridx = 0;
+        c.gridy = 7;
+        c.weightx = 0.0;
+        panel.add(new JBLabel("添加常用依赖:"), c);
+        
+        c.gridx = 1;
+        c.weightx = 1.0;
+        addDependenciesCheckBox = new JBCheckBox("常用依赖 (Lombok, Hutool, SLF4J, Logback)");
+        addDependenciesCheckBox.setSelected(true); // 默认选中
+        panel.add(addDependenciesCheckBox, c);
+
+        // 添加增量生成选项
+        c.gridx = 0;
+        c.gridy = 8;
+        c.weightx = 0.0;
+        panel.add(new JBLabel("增量生成:"), c);
+
+        c.gridx = 1;
+        c.weightx = 1.0;
+        incrementalCheckBox = new JBCheckBox("只更新有变化的文件，合并已有POM（保留手工修改）");
+        incrementalCheckBox.setSelected(true); // 默认选中
+        panel.add(incrementalCheckBox, c);
+
+        // 添加快速构建选项
+        c.gridx = 0;
+        c.gridy = 9;
+        c.weightx = 0.0;
+        panel.add(new JBLabel("快速构建:"), c);
+
+        c.gridx = 1;
+        c.weightx = 1.0;
+        fastBuildCheckBox = new JBCheckBox("并行构建 (-T 1C) + 构建缓存 (.mvn 配置)");
+        panel.add(fastBuildCheckBox, c);
+
+        // 添加暂存写入选项
+        c.gridx = 0;
+        c.gridy = 10;
+        c.weightx = 0.0;
+        panel.add(new JBLabel("原子写入:"), c);
+
+        c.gridx = 1;
+        c.weightx = 1.0;
+        stagedCheckBox = new JBCheckBox("先写入临时目录，全部成功后再移入项目（失败时项目保持不变）");
+        panel.add(stagedCheckBox, c);
+
+        // 添加本地仓库版本选项
+        c.gridx = 0;
+        c.gridy = 11;
+        c.weightx = 0.0;
+        panel.add(new JBLabel("依赖版本:"), c);
+
+        c.gridx = 1;
+        c.weightx = 1.0;
+        localRepositoryVersionsCheckBox = new JBCheckBox("使用本地Maven仓库中同一版本线的最新版本");
+        panel.add(localRepositoryVersionsCheckBox, c);
+
+        // 添加缓存仓储层选项
+        c.gridx = 0;
+        c.gridy = 12;
+        c.weightx = 0.0;
+        panel.add(new JBLabel("缓存仓储层:"), c);
+
+        c.gridx = 1;
+        c.weightx = 1.0;
+        cachingRepositoryCheckBox = new JBCheckBox("生成带淘汰和统计的仓储缓存（多模块的mapper模块 / DDD的infrastructure.persistence）");
+        panel.add(cachingRepositoryCheckBox, c);
+
+        // 添加可观测性选项
+        c.gridx = 0;
+        c.gridy = 13;
+        c.weightx = 0.0;
+        panel.add(new JBLabel("可观测性:"), c);
+
+        c.gridx = 1;
+        c.weightx = 1.0;
+        observabilityCheckBox = new JBCheckBox("生成Micrometer/Prometheus指标和分层耗时拦截器（多模块的common模块）");
+        panel.add(observabilityCheckBox, c);
+
+        // 添加选择监听器，只处理新选中的按钮：取消选中旧按钮时还没有任何按钮被选中
+        ItemListener typeListener = new ItemListener() {
+            @Override
+            public void itemStateChanged(ItemEvent e) {
+                if (e.getStateChange() != ItemEvent.SELECTED) {
+                    return;
+                }
+                updateUIComponentsVisibility();
+                updatePipeline.requestUpdate();
+            }
+        };
+        singleModuleRadioButton.addItemListener(typeListener);
+        singleMvcRadioButton.addItemListener(typeListener);
+        multiModuleRadioButton.addItemListener(typeListener);
+
+        // 基础字段的修改也走同一管道，停止输入后即时提示校验错误
+        updatePipeline.watch(groupIdField, artifactIdField, versionField);
+        updatePipeline.addListener(this::setErrorText);
+
+        // 回显上一次生成的设置
+        applySettings(initialSettings);
+
+        // 初始更新UI组件可见性
+        updateUIComponentsVisibility();
+        updateReactorAnalysis();
+
+        return panel;
+    }
+
+    /**
+     * 单模块DDD架构的专属区域：领域名称
+     */
+    private JComponent createDddSection() {
+        JPanel dddPanel = new JPanel(new GridBagLayout());
+        GridBagConstraints dc = new GridBagConstraints();
+        dc.fill = GridBagConstraints.HORIZONTAL;
+
+        dc.gridx = 0;
+        dc.gridy = 0;
+        dc.weightx = 0.0;
+        dddPanel.add(new JBLabel("领域名称:"), dc);
+
+        dc.gridx = 1;
+        dc.weightx = 1.0;
+        domainNameField = new JBTextField(initialSettings.getDomainName());
+        dddPanel.add(domainNameField, dc);
+
+        dc.gridx = 0;
+        dc.gridy = 1;
+        dc.weightx = 0.0;
+        dddPanel.add(new JBLabel("领域事件总线:"), dc);
+
+        dc.gridx = 1;
+        dc.weightx = 1.0;
+        eventBusCheckBox = new JBCheckBox("生成基于环形缓冲区的事件总线（含JMH基准测试）", initialSettings.isEventBus());
+        dddPanel.add(eventBusCheckBox, dc);
+        updatePipeline.watch(domainNameField);
+        return dddPanel;
+    }
+
+    /**
+     * 多模块架构的专属区域：预定义模块、自定义模块、模块依赖和构建并行度分析
+     */
+    private JComponent createModulesSection() {
+        JPanel modulesPanel = new JPanel(new GridBagLayout());
         GridBagConstraints mc = new GridBagConstraints();
         mc.fill = GridBagConstraints.HORIZONTAL;
         mc.insets = new Insets(0, 0, 0, 0);
@@ -145,7 +383,7 @@ public class AggregationProjectDialog extends DialogWrapper {
         mc.gridx = 0;
         mc.gridy = 0;
         mc.weightx = 0.0;
-        this.modulesPanel.add(new JBLabel("预定义模块:"), mc);
+        modulesPanel.add(new JBLabel("预定义模块:"), mc);
 
         // 模块复选框面板
         this.modulesFieldsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
@@ -154,78 +392,293 @@ public class AggregationProjectDialog extends DialogWrapper {
         mapperCheckBox = new JBCheckBox("mapper", true);
         pojoCheckBox = new JBCheckBox("pojo", true);
         serviceCheckBox = new JBCheckBox("service", true);
+        benchmarkCheckBox = new JBCheckBox("benchmark", false);
         
         this.modulesFieldsPanel.add(apiCheckBox);
         this.modulesFieldsPanel.add(commonCheckBox);
         this.modulesFieldsPanel.add(mapperCheckBox);
         this.modulesFieldsPanel.add(pojoCheckBox);
         this.modulesFieldsPanel.add(serviceCheckBox);
+        this.modulesFieldsPanel.add(benchmarkCheckBox);
 
         mc.gridx = 1;
         mc.weightx = 1.0;
-        this.modulesPanel.add(this.modulesFieldsPanel, mc);
+        modulesPanel.add(this.modulesFieldsPanel, mc);
 
         // 自定义模块
         mc.gridx = 0;
         mc.gridy = 1;
         mc.weightx = 0.0;
-        this.modulesPanel.add(new JBLabel("自定义模块 (逗号分隔):"), mc);
+        modulesPanel.add(new JBLabel("自定义模块 (逗号分隔):"), mc);
 
         mc.gridx = 1;
         mc.weightx = 1.0;
         modulesField = new JBTextField();
-        this.modulesPanel.add(modulesField, mc);
+        modulesPanel.add(modulesField, mc);
 
-        // 将模块面板添加到主面板（占满两列，避免缩进不一致）
-        c.gridx = 0;
-        c.gridy = 6;
-        c.weightx = 1.0;
-        c.gridwidth = 2;
-        panel.add(this.modulesPanel, c);
-        c.gridwidth = 1;
-        
-        // 添加常用依赖选项
-        c.gridx = 0;
-        c.gridy = 7;
-        c.weightx = 0.0;
-        panel.add(new JBLabel("添加常用依赖:"), c);
-        
-        c.gridx = 1;
-        c.weightx = 1.0;
-        addDependenciesCheckBox = new JBCheckBox("常用依赖 (Lombok, Hutool, SLF4J, Logback)");
-        addDependenciesCheckBox.setSelected(true); // 默认选中
-        panel.add(addDependenciesCheckBox, c);
+        // 自定义模块依赖
+        mc.gridx = 0;
+        mc.gridy = 2;
+        mc.weightx = 0.0;
+        modulesPanel.add(new JBLabel("模块依赖 (如 web->service):"), mc);
 
-        // 添加选择监听器
-        singleModuleRadioButton.addItemListener(new ItemListener() {
-            @Override
-            public void itemStateChanged(ItemEvent e) {
-                updateUIComponentsVisibility();
+        mc.gridx = 1;
+        mc.weightx = 1.0;
+        moduleDependenciesField = new JBTextField();
+        moduleDependenciesField.setToolTipText("在预定义依赖 (api->service->mapper->pojo->common) 之外声明的依赖，逗号分隔");
+        modulesPanel.add(moduleDependenciesField, mc);
+
+        // 构建并行度分析
+        mc.gridx = 0;
+        mc.gridy = 3;
+        mc.weightx = 0.0;
+        modulesPanel.add(new JBLabel("构建并行度:"), mc);
+
+        mc.gridx = 1;
+        mc.weightx = 1.0;
+        reactorAnalysisLabel = new JBLabel();
+        modulesPanel.add(reactorAnalysisLabel, mc);
+
+        // 高性能common包
+        mc.gridx = 0;
+        mc.gridy = 4;
+        mc.weightx = 0.0;
+        modulesPanel.add(new JBLabel("高性能common:"), mc);
+
+        mc.gridx = 1;
+        mc.weightx = 1.0;
+        highPerformanceCommonCheckBox = new JBCheckBox("原始类型集合依赖管理 (fastutil, Eclipse Collections, HPPC) + 堆外缓冲区工具");
+        modulesPanel.add(highPerformanceCommonCheckBox, mc);
+
+        setModuleValues(initialSettings);
+
+        // 模块或依赖变化时重新分析构建并行度
+        updatePipeline.watch(apiCheckBox, commonCheckBox, mapperCheckBox, pojoCheckBox, serviceCheckBox, benchmarkCheckBox);
+        updatePipeline.watch(modulesField, moduleDependenciesField);
+        return modulesPanel;
+    }
+
+    /**
+     * 预设选择和管理：选择后立即回显，保存当前设置为预设，删除、导入和导出
+     */
+    private JComponent createPresetPanel() {
+        JPanel presetPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        presetComboBox = new JComboBox<>();
+        presetComboBox.setPrototypeDisplayValue("xxxxxxxxxxxxxxxxxxxxxxxx");
+        reloadPresets(null);
+        presetComboBox.addActionListener(e -> {
+            if (reloadingPresets) {
+                return;
+            }
+            String name = (String) presetComboBox.getSelectedItem();
+            MavenAggregationSettings preset = name != null ? presetStore.get(name) : null;
+            if (preset != null && !name.equals(selectedPreset)) {
+                selectedPreset = name;
+                applySettings(preset);
             }
         });
+        presetPanel.add(presetComboBox);
 
-        multiModuleRadioButton.addItemListener(new ItemListener() {
-            @Override
-            public void itemStateChanged(ItemEvent e) {
-                updateUIComponentsVisibility();
+        JButton saveButton = new JButton("保存...");
+        saveButton.addActionListener(e -> savePreset());
+        presetPanel.add(saveButton);
+
+        JButton removeButton = new JButton("删除");
+        removeButton.addActionListener(e -> {
+            if (selectedPreset != null) {
+                presetStore.remove(selectedPreset);
+                reloadPresets(null);
             }
         });
+        presetPanel.add(removeButton);
 
-        // 初始更新UI组件可见性
-        updateUIComponentsVisibility();
+        JButton importButton = new JButton("导入...");
+        importButton.addActionListener(e -> importPresets());
+        presetPanel.add(importButton);
 
-        return panel;
+        JButton exportButton = new JButton("导出...");
+        exportButton.addActionListener(e -> exportPresets());
+        presetPanel.add(exportButton);
+        return presetPanel;
+    }
+
+    /**
+     * 按最近使用顺序重新填充预设列表，不触发回显
+     */
+    private void reloadPresets(@Nullable String selected) {
+        selectedPreset = selected;
+        reloadingPresets = true;
+        try {
+            presetComboBox.removeAllItems();
+            for (String name : presetStore.getPresetNames()) {
+                presetComboBox.addItem(name);
+            }
+            presetComboBox.setSelectedItem(selected);
+        } finally {
+            reloadingPresets = false;
+        }
+    }
+
+    private void savePreset() {
+        String name = Messages.showInputDialog(project, "预设名称:", "保存预设", Messages.getQuestionIcon(),
+                selectedPreset != null ? selectedPreset : getArtifactId(), null);
+        if (name == null || name.trim().isEmpty()) {
+            return;
+        }
+        presetStore.save(name.trim(), getSettings());
+        reloadPresets(name.trim());
+    }
+
+    private void importPresets() {
+        VirtualFile file = FileChooser.chooseFile(
+                FileChooserDescriptorFactory.createSingleFileDescriptor("json").withTitle("导入预设"), project, null);
+        if (file == null) {
+            return;
+        }
+        try {
+            int count = presetStore.importFrom(Paths.get(file.getPath()));
+            reloadPresets(selectedPreset);
+            Messages.showInfoMessage(project, "已导入 " + count + " 个预设", "导入预设");
+        } catch (IOException | RuntimeException e) {
+            Messages.showErrorDialog(project, e.getMessage(), "导入预设");
+        }
+    }
+
+    private void exportPresets() {
+        VirtualFileWrapper target = FileChooserFactory.getInstance()
+                .createSaveFileDialog(new FileSaverDescriptor("导出预设", "导出全部预设为JSON", "json"), project)
+                .save(null, "maven-aggregation-presets.json");
+        if (target == null) {
+            return;
+        }
+        try {
+            presetStore.exportTo(target.getFile().toPath());
+        } catch (IOException e) {
+            Messages.showErrorDialog(project, e.getMessage(), "导出预设");
+        }
+    }
+
+    /**
+     * 把设置回显到界面；尚未构建的架构区域在构建时从 initialSettings 回显
+     */
+    private void applySettings(MavenAggregationSettings settings) {
+        initialSettings = settings;
+        groupIdField.setText(settings.getGroupId());
+        artifactIdField.setText(settings.getArtifactId());
+        versionField.setText(settings.getVersion());
+        javaVersionComboBox.setSelectedItem(settings.getJavaVersion());
+        addDependenciesCheckBox.setSelected(settings.isAddDependencies());
+        incrementalCheckBox.setSelected(settings.isIncremental());
+        fastBuildCheckBox.setSelected(settings.isFastBuild());
+        stagedCheckBox.setSelected(settings.isStaged());
+        localRepositoryVersionsCheckBox.setSelected(settings.isLocalRepositoryVersions());
+        cachingRepositoryCheckBox.setSelected(settings.isCachingRepository());
+        observabilityCheckBox.setSelected(settings.isObservability());
+        switch (settings.getArchitectureType()) {
+            case SINGLE_MODULE_DDD:
+                singleModuleRadioButton.setSelected(true);
+                break;
+            case SINGLE_MODULE_MVC:
+                singleMvcRadioButton.setSelected(true);
+                break;
+            default:
+                multiModuleRadioButton.setSelected(true);
+                break;
+        }
+        if (domainNameField != null) {
+            domainNameField.setText(settings.getDomainName());
+            eventBusCheckBox.setSelected(settings.isEventBus());
+        }
+        if (apiCheckBox != null) {
+            setModuleValues(settings);
+        }
+    }
+
+    /**
+     * 回显模块选择和模块依赖，非预定义的模块放入自定义模块
+     */
+    private void setModuleValues(MavenAggregationSettings settings) {
+        List<String> modules = Arrays.asList(settings.getModules());
+        List<String> custom = new ArrayList<>(modules);
+        JBCheckBox[] checkBoxes = {apiCheckBox, commonCheckBox, mapperCheckBox, pojoCheckBox, serviceCheckBox, benchmarkCheckBox};
+        for (JBCheckBox checkBox : checkBoxes) {
+            checkBox.setSelected(modules.contains(checkBox.getText()));
+            custom.remove(checkBox.getText());
+        }
+        modulesField.setText(String.join(", ", custom));
+        moduleDependenciesField.setText(String.join(", ", settings.getModuleDependencies()));
+        highPerformanceCommonCheckBox.setSelected(settings.isHighPerformanceCommon());
+    }
+
+    /**
+     * 当前选择的命名预设，没有选择时为null
+     */
+    @Nullable
+    public String getSelectedPreset() {
+        return selectedPreset;
     }
 
     /**
-     * 根据选择的项目类型更新UI组件的可见性
+     * 根据选择的项目类型切换显示的选项区域
      */
     private void updateUIComponentsVisibility() {
-        boolean isMultiModule = multiModuleRadioButton.isSelected();
-        boolean isDdd = singleModuleRadioButton.isSelected();
-        domainNameLabel.setVisible(isDdd);
-        domainNameField.setVisible(isDdd);
-        modulesPanel.setVisible(isMultiModule); // 多模块时显示模块选择
+        // 只构建和布局当前架构的区域
+        architectureSections.show(getArchitectureType());
+    }
+
+    /**
+     * 按当前选择的模块和依赖计算关键路径、每层宽度和 -T 加速比；构建基本串行时给出提示
+     */
+    private void updateReactorAnalysis() {
+        if (!multiModuleRadioButton.isSelected()) {
+            return;
+        }
+        ReactorAnalysis analysis;
+        try {
+            analysis = ReactorAnalysis.analyze(ModuleGraph.of(getModules(), getModuleDependencies()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // 依赖输入有误，具体错误由 doValidate 提示
+            reactorAnalysisLabel.setText("无法分析: " + e.getMessage());
+            return;
+        }
+        if (analysis.getModuleCount() == 0) {
+            reactorAnalysisLabel.setText("未选择模块");
+            return;
+        }
+
+        StringBuilder text = new StringBuilder("<html>");
+        text.append("关键路径 ").append(analysis.getCriticalPathLength()).append(" 个模块: ")
+                .append(String.join(" &rarr; ", analysis.getCriticalPath())).append("<br>");
+        text.append("每层宽度: ").append(analysis.getLevelWidths()).append("<br>");
+        text.append("理论加速比:");
+        for (Map.Entry<Integer, Double> speedup : analysis.getSpeedups().entrySet()) {
+            text.append(String.format(" -T %d = %.2fx,", speedup.getKey(), speedup.getValue()));
+        }
+        text.append(String.format(" 上限 %.2fx", analysis.getMaxSpeedup()));
+        if (analysis.isSerialized()) {
+            text.append("<br><b>警告: 模块依赖几乎是一条链，mvn -T 基本只能串行构建；")
+                    .append("可以让互不相关的模块只依赖 common 等底层模块，而不是彼此串联</b>");
+        }
+        text.append("</html>");
+        reactorAnalysisLabel.setText(text.toString());
+    }
+
+    /**
+     * 设置变化监听器，停止输入后分析和校验完成时调用，可用于预览
+     */
+    public void addSettingsListener(SettingsUpdatePipeline.Listener listener) {
+        updatePipeline.addListener(listener);
+    }
+
+    private String validationError() {
+        ValidationInfo info = doValidate();
+        return info != null ? info.message : null;
+    }
+
+    @Override
+    protected void dispose() {
+        updatePipeline.dispose();
+        super.dispose();
     }
 
     @Override
@@ -242,6 +695,16 @@ public class AggregationProjectDialog extends DialogWrapper {
         if (singleModuleRadioButton.isSelected() && domainNameField.getText().trim().isEmpty()) {
             return new ValidationInfo("领域名称不能为空", domainNameField);
         }
+        if (multiModuleRadioButton.isSelected()) {
+            try {
+                List<String> cycle = ModuleGraph.of(getModules(), getModuleDependencies()).findCycle();
+                if (!cycle.isEmpty()) {
+                    return new ValidationInfo("模块依赖存在循环: " + String.join(" -> ", cycle), moduleDependenciesField);
+                }
+            } catch (IllegalArgumentException e) {
+                return new ValidationInfo(e.getMessage(), moduleDependenciesField);
+            }
+        }
         return null;
     }
 
@@ -262,27 +725,49 @@ public class AggregationProjectDialog extends DialogWrapper {
     }
 
     public String[] getModules() {
-        List<String> modulesList = new ArrayList<>();
-        
         // 只有在多模块模式下才收集模块
-        if (multiModuleRadioButton.isSelected()) {
-            // 添加选中的预定义模块
-            if (apiCheckBox.isSelected()) modulesList.add("api");
-            if (commonCheckBox.isSelected()) modulesList.add("common");
-            if (mapperCheckBox.isSelected()) modulesList.add("mapper");
-            if (pojoCheckBox.isSelected()) modulesList.add("pojo");
-            if (serviceCheckBox.isSelected()) modulesList.add("service");
-            
-            // 添加自定义模块
-            String customModules = modulesField.getText().trim();
-            if (!customModules.isEmpty()) {
-                modulesList.addAll(Arrays.asList(customModules.split("\\s*,\\s*")));
-            }
+        return multiModuleRadioButton.isSelected() ? selectedModules() : new String[0];
+    }
+
+    /**
+     * 模块区域中选中的模块，区域尚未构建时为回显的设置
+     */
+    private String[] selectedModules() {
+        if (apiCheckBox == null) {
+            return initialSettings.getModules();
+        }
+        List<String> modulesList = new ArrayList<>();
+        // 添加选中的预定义模块
+        if (apiCheckBox.isSelected()) modulesList.add("api");
+        if (commonCheckBox.isSelected()) modulesList.add("common");
+        if (mapperCheckBox.isSelected()) modulesList.add("mapper");
+        if (pojoCheckBox.isSelected()) modulesList.add("pojo");
+        if (serviceCheckBox.isSelected()) modulesList.add("service");
+        if (benchmarkCheckBox.isSelected()) modulesList.add("benchmark");
+
+        // 添加自定义模块
+        String customModules = modulesField.getText().trim();
+        if (!customModules.isEmpty()) {
+            modulesList.addAll(Arrays.asList(customModules.split("\\s*,\\s*")));
         }
-        
         return modulesList.toArray(new String[0]);
     }
     
+    /**
+     * 获取用户声明的模块依赖（多模块时使用）
+     */
+    public String[] getModuleDependencies() {
+        if (!multiModuleRadioButton.isSelected()) {
+            return new String[0];
+        }
+        return selectedModuleDependencies();
+    }
+
+    private String[] selectedModuleDependencies() {
+        return moduleDependenciesField != null
+                ? ModuleGraph.parseEdges(moduleDependenciesField.getText()) : initialSettings.getModuleDependencies();
+    }
+    
     public ArchitectureType getArchitectureType() {
         if (multiModuleRadioButton.isSelected()) {
             return ArchitectureType.MULTI_MODULE;
@@ -297,7 +782,8 @@ public class AggregationProjectDialog extends DialogWrapper {
      * 获取领域名称（用于单模块DDD架构）
      */
     public String getDomainName() {
-        return domainNameField.getText().trim();
+        // 没有切换到过DDD架构时区域尚未创建，沿用回显的领域名称
+        return domainNameField != null ? domainNameField.getText().trim() : initialSettings.getDomainName();
     }
     
     /**
@@ -307,6 +793,55 @@ public class AggregationProjectDialog extends DialogWrapper {
         return addDependenciesCheckBox.isSelected();
     }
     
+    /**
+     * 是否增量生成
+     */
+    public boolean isIncremental() {
+        return incrementalCheckBox.isSelected();
+    }
+    
+    /**
+     * 是否生成快速构建配置
+     */
+    public boolean isFastBuild() {
+        return fastBuildCheckBox.isSelected();
+    }
+    
+    /**
+     * 是否暂存后原子移入项目目录
+     */
+    public boolean isStaged() {
+        return stagedCheckBox.isSelected();
+    }
+    
+    /**
+     * 将对话框中的输入转换为生成设置
+     */
+    public MavenAggregationSettings getSettings() {
+        MavenAggregationSettings settings = new MavenAggregationSettings();
+        settings.setGroupId(getGroupId());
+        settings.setArtifactId(getArtifactId());
+        settings.setVersion(getVersion());
+        // 单模块架构不使用模块列表，仍保存界面上的模块，作为上次设置回显时切回多模块不丢失
+        settings.setModules(selectedModules());
+        settings.setModuleDependencies(selectedModuleDependencies());
+        settings.setJavaVersion(getJavaVersion());
+        settings.setAddDependencies(isAddDependencies());
+        settings.setArchitectureType(getArchitectureType());
+        settings.setDomainName(getDomainName());
+        settings.setIncremental(isIncremental());
+        settings.setFastBuild(isFastBuild());
+        settings.setStaged(isStaged());
+        settings.setLocalRepositoryVersions(localRepositoryVersionsCheckBox.isSelected());
+        settings.setCachingRepository(cachingRepositoryCheckBox.isSelected());
+        settings.setObservability(observabilityCheckBox.isSelected());
+        // DDD区域没有构建过时沿用回显的设置，保存预设时不丢失
+        settings.setEventBus(eventBusCheckBox != null ? eventBusCheckBox.isSelected() : initialSettings.isEventBus());
+        settings.setHighPerformanceCommon(highPerformanceCommonCheckBox != null
+                ? highPerformanceCommonCheckBox.isSelected() : initialSettings.isHighPerformanceCommon());
+        return settings;
+    }
+    
     // 重复方法已在原始代码中存在，保留原始实现
     
 
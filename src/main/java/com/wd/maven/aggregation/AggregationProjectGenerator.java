@@ -1,20 +1,86 @@
 package com.wd.maven.aggregation;
 
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
 import com.wd.maven.aggregation.ArchitectureType;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 
 public class AggregationProjectGenerator {
 
     private static final Logger LOG = Logger.getInstance(AggregationProjectGenerator.class);
 
+    // 可选的JMH基准测试模块，只在父POM的 benchmark profile 中声明，不参与默认构建
+    static final String BENCHMARK_MODULE = "benchmark";
+    private static final String JMH_VERSION = "1.37";
+    private static final String COMPILER_PLUGIN_VERSION = "3.11.0";
+    private static final String SHADE_PLUGIN_VERSION = "3.5.1";
+    private static final String SUREFIRE_PLUGIN_VERSION = "3.2.5";
+    /**
+     * MVC项目从这个Java版本开始默认在虚拟线程上处理请求
+     */
+    static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+    /**
+     * 多模块项目中生成缓存仓储层的模块
+     */
+    static final String MAPPER_MODULE = "mapper";
+    /**
+     * 多模块项目中生成堆外缓冲区工具的模块
+     */
+    static final String COMMON_MODULE = "common";
+    private static final String BUFFER_PACKAGE = "buffer";
+    private static final String CACHE_PACKAGE = "cache";
+    private static final String METRICS_PACKAGE = "metrics";
+    private static final String[] CACHING_REPOSITORY_TEMPLATES = {
+            TemplateEngine.CACHE, TemplateEngine.CACHE_STATS, TemplateEngine.FREQUENCY_SKETCH,
+            TemplateEngine.BOUNDED_LOCAL_CACHE, TemplateEngine.CACHEABLE_REPOSITORY,
+            TemplateEngine.READ_THROUGH_REPOSITORY, TemplateEngine.CACHE_ASIDE_REPOSITORY
+    };
+    private static final String BUILD_CACHE_EXTENSION_VERSION = "1.2.0";
+
+    private final ParallelGenerationEngine engine;
+    private final GeneratedFileWriter fileWriter;
+    private final TemplateEngine templates = TemplateEngine.getInstance();
+
+    // 当前生成过程的内存文件集，每次生成时重新创建，全部渲染完成后一次性写出
+    private GeneratedFileSet fileSet;
+    // 常用依赖的版本来源，按设置决定是否用本地Maven仓库刷新
+    private VersionCatalog versionCatalog = VersionCatalog.getInstance();
+    // 是否生成高性能 common 包，父POM和 common 模块POM渲染时读取
+    private boolean highPerformanceCommon;
+    // 是否生成可观测性支持（Micrometer 指标和分层耗时拦截器），POM和MVC启动类渲染时读取
+    private boolean observability;
+
+    public AggregationProjectGenerator() {
+        this(new ParallelGenerationEngine());
+    }
+
+    public AggregationProjectGenerator(ParallelGenerationEngine engine) {
+        this(engine, new NioGeneratedFileWriter(engine));
+    }
+
+    public AggregationProjectGenerator(ParallelGenerationEngine engine, GeneratedFileWriter fileWriter) {
+        this.engine = engine;
+        this.fileWriter = fileWriter;
+    }
+
     /**
      * 生成项目，支持单模块DDD架构和多模块架构
      * @param project 项目
@@ -24,10 +90,11 @@ public class AggregationProjectGenerator {
      * @param modules 模块列表（多模块时使用）
      * @param javaVersion Java版本
      * @param addDependencies 是否添加常用依赖
+     * @return 生成报告
      */
-    public void generateProject(Project project, String groupId, String artifactId, String version, String[] modules, String javaVersion, boolean addDependencies) {
+    public GenerationReport generateProject(Project project, String groupId, String artifactId, String version, String[] modules, String javaVersion, boolean addDependencies) {
         // 默认使用多模块模式
-        generateProject(project, groupId, artifactId, version, modules, javaVersion, addDependencies, ArchitectureType.MULTI_MODULE, "");
+        return generateProject(project, groupId, artifactId, version, modules, javaVersion, addDependencies, ArchitectureType.MULTI_MODULE, "");
     }
 
     /**
@@ -41,16 +108,69 @@ public class AggregationProjectGenerator {
      * @param addDependencies 是否添加常用依赖
      * @param architectureType 架构类型
      * @param domainName 领域名称（单模块DDD架构时使用）
+     * @return 生成报告，汇总所有模块与文件的成功/失败情况
      */
-    public void generateProject(Project project, String groupId, String artifactId, String version, String[] modules, 
+    public GenerationReport generateProject(Project project, String groupId, String artifactId, String version, String[] modules, 
                                String javaVersion, boolean addDependencies, ArchitectureType architectureType, String domainName) {
+        MavenAggregationSettings settings = new MavenAggregationSettings();
+        settings.setGroupId(groupId);
+        settings.setArtifactId(artifactId);
+        settings.setVersion(version);
+        settings.setModules(modules);
+        settings.setJavaVersion(javaVersion);
+        settings.setAddDependencies(addDependencies);
+        settings.setArchitectureType(architectureType);
+        settings.setDomainName(domainName);
+        return generateProject(project, settings, null);
+    }
+
+    /**
+     * 按设置生成项目，并通过进度指示器报告各阶段进度
+     * 所有目录和文件先渲染到内存中的 {@link GeneratedFileSet}，最后由 {@link GeneratedFileWriter} 一次性写出；
+     * 用户取消时会回滚本次已写入的文件和目录，并重新抛出 {@link ProcessCanceledException}
+     * @param project 项目
+     * @param settings 生成设置
+     * @param indicator 进度指示器，为null时不报告进度
+     * @return 生成报告，汇总所有模块与文件的成功/失败情况
+     */
+    public GenerationReport generateProject(Project project, MavenAggregationSettings settings, @Nullable ProgressIndicator indicator) {
         String baseDir = project.getBasePath();
         if ( baseDir == null || baseDir.isEmpty()) {
             LOG.warn("Project base directory not found.");
-            return;
+            GenerationReport report = new GenerationReport(settings.getArtifactId());
+            report.addFailure(settings.getArtifactId(), new IOException("Project base directory not found."));
+            return report;
         }
+        return generateProject(Paths.get(baseDir), settings, indicator);
+    }
 
-        Path projectPath = Paths.get(baseDir);
+    /**
+     * 在指定目录下按设置生成项目，不依赖 {@link Project}，供无界面批量生成使用
+     * @param projectPath 项目根目录
+     * @param settings 生成设置
+     * @param indicator 进度指示器，为null时不报告进度
+     * @return 生成报告，汇总所有模块与文件的成功/失败情况
+     */
+    public GenerationReport generateProject(Path projectPath, MavenAggregationSettings settings, @Nullable ProgressIndicator indicator) {
+        String groupId = settings.getGroupId();
+        String artifactId = settings.getArtifactId();
+        String version = settings.getVersion();
+        String[] modules = settings.getModules();
+        String javaVersion = settings.getJavaVersion();
+        boolean addDependencies = settings.isAddDependencies();
+        ArchitectureType architectureType = settings.getArchitectureType();
+        String domainName = settings.getDomainName();
+        ProgressIndicator progress = indicator != null ? indicator : new EmptyProgressIndicator();
+        versionCatalog = settings.isLocalRepositoryVersions()
+                ? VersionCatalog.getInstance().withLocalRepository(VersionCatalog.defaultLocalRepository())
+                : VersionCatalog.getInstance();
+        highPerformanceCommon = settings.isHighPerformanceCommon();
+        observability = settings.isObservability();
+
+        GenerationReport report = new GenerationReport(artifactId);
+        long startTime = System.currentTimeMillis();
+        GenerationMetrics metrics = report.getMetrics();
+        beginFileSet(projectPath);
         
         try {
             if (architectureType == ArchitectureType.SINGLE_MODULE_DDD) {
@@ -58,76 +178,255 @@ public class AggregationProjectGenerator {
                 LOG.info("开始生成单模块DDD架构项目: " + artifactId);
                 
                 // 1. 创建DDD目录结构
+                startPhase(progress, metrics, GenerationMetrics.Phase.DIRECTORIES, "创建目录结构...", 0.0);
                 createDddDirectoryStructure(projectPath, groupId, domainName);
                 
                 // 2. 写入单模块POM
-                writeSingleModulePom(projectPath, groupId, artifactId, version, javaVersion, addDependencies);
+                startPhase(progress, metrics, GenerationMetrics.Phase.PARENT_POM, "生成 pom.xml...", 0.3);
+                writeSingleModulePom(projectPath, groupId, artifactId, version, settings);
                 
                 // 3. 生成辅助文件
-                writeDddReadme(projectPath, artifactId, domainName);
+                startPhase(progress, metrics, GenerationMetrics.Phase.AUX_FILES, "生成 README 和 .gitignore...", 0.4);
+                if (settings.isEventBus()) {
+                    writeDddEventBus(projectPath, groupId, domainName);
+                }
+                if (settings.isCachingRepository()) {
+                    writeCachingRepository(projectPath.resolve("src/main/java"), groupId + "." + domainName + ".infrastructure.persistence." + CACHE_PACKAGE);
+                }
+                if (observability) {
+                    writeMetrics(projectPath.resolve("src/main/java"), groupId + "." + domainName + ".infrastructure." + METRICS_PACKAGE);
+                }
+                writeDddReadme(projectPath, artifactId, domainName, settings);
                 writeGitignore(projectPath);
-                
-                LOG.info("单模块DDD架构项目生成完成: " + artifactId);
             } else if (architectureType == ArchitectureType.SINGLE_MODULE_MVC) {
                 // 单模块MVC架构
                 LOG.info("开始生成单模块MVC架构项目: " + artifactId);
                 
                 // 1. 创建MVC目录结构
-                createMvcDirectoryStructure(projectPath, groupId);
+                startPhase(progress, metrics, GenerationMetrics.Phase.DIRECTORIES, "创建目录结构...", 0.0);
+                createMvcDirectoryStructure(projectPath, groupId, javaVersion);
                 
                 // 2. 写入单模块POM (复用单模块POM生成逻辑)
-                writeSingleModulePom(projectPath, groupId, artifactId, version, javaVersion, addDependencies);
+                startPhase(progress, metrics, GenerationMetrics.Phase.PARENT_POM, "生成 pom.xml...", 0.3);
+                writeSingleModulePom(projectPath, groupId, artifactId, version, settings);
                 
                 // 3. 生成辅助文件
-                writeMvcReadme(projectPath, artifactId);
+                startPhase(progress, metrics, GenerationMetrics.Phase.AUX_FILES, "生成 README 和 .gitignore...", 0.4);
+                if (observability) {
+                    writeMetrics(projectPath.resolve("src/main/java"), groupId + "." + COMMON_MODULE + "." + METRICS_PACKAGE);
+                }
+                writeMvcReadme(projectPath, groupId, artifactId, javaVersion);
                 writeGitignore(projectPath);
-                
-                LOG.info("单模块MVC架构项目生成完成: " + artifactId);
             } else {
                 // 多模块架构（原有逻辑）
                 LOG.info("开始生成Maven聚合项目: " + artifactId);
+                // 按模块依赖图的拓扑序生成，父POM中的模块也按此顺序声明；存在依赖环时直接失败
+                ModuleGraph graph = ModuleGraph.of(modules, settings.getModuleDependencies());
+                List<String> buildOrder = graph.topologicalOrder();
+                String[] orderedModules = buildOrder.toArray(new String[0]);
                 
-                // 1. 先创建所有目录结构
-                createAllDirectoryStructures(projectPath, artifactId, modules);
-                
+                // 1. 创建所有子模块目录结构
+                startPhase(progress, metrics, GenerationMetrics.Phase.DIRECTORIES, "创建目录结构...", 0.0);
+                for (String module : buildOrder) {
+                    createModuleDirectoryStructure(projectPath.resolve(artifactId + "-" + module));
+                }
+
                 // 2. 写入父 POM（包含完整的依赖管理）
-                writeParentPomWithDependencies(projectPath, groupId, artifactId, version, modules, javaVersion, addDependencies);
+                startPhase(progress, metrics, GenerationMetrics.Phase.PARENT_POM, "生成父 pom.xml...", 0.1);
+                writeParentPomWithDependencies(projectPath, groupId, artifactId, version, orderedModules, javaVersion, addDependencies);
 
-                // 3. 写入子模块POM（包含依赖关系）
-                for (String module : modules) {
+                // 3. 并行渲染子模块POM（依赖关系取自模块依赖图）
+                startPhase(progress, metrics, GenerationMetrics.Phase.MODULE_POMS, "生成子模块 pom.xml...", 0.2);
+                report.merge(engine.execute(artifactId, buildOrder, module -> {
                     String moduleName = artifactId + "-" + module;
                     Path modulePath = projectPath.resolve(moduleName);
-                    writeModulePomWithDependencies(modulePath, groupId, artifactId, version, moduleName, modules, addDependencies);
-                }
+                    writeModulePomWithDependencies(modulePath, groupId, artifactId, version, moduleName, graph, addDependencies);
+                }, progress));
 
                 // 4. 生成辅助文件
-                writeReadme(projectPath, artifactId, modules);
+                startPhase(progress, metrics, GenerationMetrics.Phase.AUX_FILES, "生成 README 和 .gitignore...", 0.4);
+                // 缓存仓储层只在包含 mapper 模块时生成
+                boolean cachingRepository = settings.isCachingRepository() && graph.contains(MAPPER_MODULE);
+                if (cachingRepository) {
+                    writeCachingRepository(projectPath.resolve(artifactId + "-" + MAPPER_MODULE).resolve("src/main/java"), mapperCachePackage(groupId));
+                }
+                if (highPerformanceCommon && graph.contains(COMMON_MODULE)) {
+                    writeOffHeapBufferUtilities(projectPath.resolve(artifactId + "-" + COMMON_MODULE), groupId);
+                }
+                // 指标工具放在 common 模块，其余模块经依赖链使用；没有 common 模块时不生成
+                if (observability && graph.contains(COMMON_MODULE)) {
+                    writeMetrics(projectPath.resolve(artifactId + "-" + COMMON_MODULE).resolve("src/main/java"), commonMetricsPackage(groupId));
+                }
+                writeReadme(projectPath, groupId, artifactId, modules, cachingRepository);
                 writeGitignore(projectPath);
-                
-                LOG.info("Maven聚合项目生成完成: " + artifactId);
             }
+
+            // 快速构建：并行构建参数、构建JVM参数和构建缓存配置
+            if (settings.isFastBuild()) {
+                metrics.startPhase(GenerationMetrics.Phase.AUX_FILES);
+                writeFastBuildConfig(projectPath);
+            }
+
+            // 增量模式：跳过未变化的文件，已有POM只合并生成器负责的片段
+            if (settings.isIncremental()) {
+                startPhase(progress, metrics, GenerationMetrics.Phase.INCREMENTAL, "对比已有文件...", 0.45);
+                fileSet = new IncrementalFileSetFilter().filter(fileSet, report);
+            }
+
+            // 暂存模式要求全部成功：有模块渲染失败时不写出任何文件
+            if (settings.isStaged() && !report.isSuccess()) {
+                throw new IOException("部分模块生成失败，未写入任何文件");
+            }
+
+            // 一次性写出全部目录和文件，只刷新本次生成的路径；写出和刷新的耗时由写出器记录
+            startPhase(progress, metrics, null, "写入 " + fileSet.getFileCount() + " 个文件...", 0.5);
+            metrics.setDirectoryCount(fileSet.getDirectoryCount());
+            report.merge(fileWriter.write(fileSet, progress));
+            report.setFileCount(fileSet.getFileCount());
+            report.setWrittenFiles(writtenFiles(fileSet));
+            progress.setFraction(1.0);
+        } catch (ProcessCanceledException e) {
+            // 用户取消：写出器已撤销写入的内容
+            LOG.info("项目生成已取消: " + artifactId);
+            throw e;
         } catch (Exception e) {
             LOG.error("生成项目时发生错误", e);
+            report.addFailure(artifactId, e);
         }
+
+        metrics.endPhase();
+        report.setDurationMillis(System.currentTimeMillis() - startTime);
+        if (report.isSuccess()) {
+            LOG.info(report.getSummary() + " (" + metrics.format() + ")");
+        } else {
+            LOG.warn(report.getSummary());
+        }
+        return report;
     }
 
     /**
-     * 创建所有目录结构（多模块）
+     * 写出预览时已渲染好的文件集，不再重新渲染，保证写出的内容与预览一致
+     * @param fileSet 预览得到的文件集（见 {@link GenerationPreview}）
+     * @param artifactId 项目ID，用于报告
+     * @param indicator 进度指示器，为null时不报告进度
+     * @return 生成报告
      */
-    private void createAllDirectoryStructures(Path projectPath, String artifactId, String[] modules) {
-        for (String module : modules) {
-            String moduleName = artifactId + "-" + module;
-            Path modulePath = projectPath.resolve(moduleName);
-            createDirectoryStructure(modulePath.resolve("src/main/java"));
-            createDirectoryStructure(modulePath.resolve("src/test/java"));
-            createDirectoryStructure(modulePath.resolve("src/main/resources"));
+    public GenerationReport writeFileSet(GeneratedFileSet fileSet, String artifactId, @Nullable ProgressIndicator indicator) {
+        ProgressIndicator progress = indicator != null ? indicator : new EmptyProgressIndicator();
+        GenerationReport report = new GenerationReport(artifactId);
+        GenerationMetrics metrics = report.getMetrics();
+        long startTime = System.currentTimeMillis();
+
+        try {
+            startPhase(progress, metrics, null, "写入 " + fileSet.getFileCount() + " 个文件...", 0.0);
+            metrics.setDirectoryCount(fileSet.getDirectoryCount());
+            report.merge(fileWriter.write(fileSet, progress));
+            report.setFileCount(fileSet.getFileCount());
+            report.setWrittenFiles(writtenFiles(fileSet));
+            progress.setFraction(1.0);
+        } catch (ProcessCanceledException e) {
+            LOG.info("项目生成已取消: " + artifactId);
+            throw e;
+        } catch (Exception e) {
+            LOG.warn("写出预览的文件失败: " + artifactId, e);
+            report.addFailure(artifactId, e);
+        }
+
+        report.setDurationMillis(System.currentTimeMillis() - startTime);
+        LOG.info(report.getSummary() + " (" + metrics.format() + ")");
+        return report;
+    }
+
+    /**
+     * 向已有的聚合项目添加一个模块
+     * 只在父POM中插入一个 &lt;module&gt; 和一个 dependencyManagement 条目，并生成新模块的目录和POM，
+     * 其他模块的文件不会被重写。基准测试模块与完整生成时相同：放在 benchmark profile 中并管理JMH版本，附带示例基准测试类
+     * @param projectPath 聚合项目根目录（父POM所在目录）
+     * @param module 模块名（不含 artifactId 前缀，与生成对话框中的模块名一致）
+     * @param indicator 进度指示器，为null时不报告进度
+     * @return 生成报告
+     */
+    public GenerationReport addModule(Path projectPath, String module, @Nullable ProgressIndicator indicator) {
+        ProgressIndicator progress = indicator != null ? indicator : new EmptyProgressIndicator();
+        GenerationReport report = new GenerationReport(module);
+        long startTime = System.currentTimeMillis();
+        GenerationMetrics metrics = report.getMetrics();
+        beginFileSet(projectPath);
+
+        try {
+            startPhase(progress, metrics, GenerationMetrics.Phase.PARENT_POM, "读取父 pom.xml...", 0.0);
+            Path parentPomPath = projectPath.resolve("pom.xml");
+            ParentPom parentPom = ParentPom.parse(new String(Files.readAllBytes(parentPomPath), StandardCharsets.UTF_8));
+            String moduleArtifactId = parentPom.getArtifactId() + "-" + module;
+            if (parentPom.getModules().contains(moduleArtifactId) || Files.exists(projectPath.resolve(moduleArtifactId))) {
+                throw new IllegalArgumentException("模块已存在: " + moduleArtifactId);
+            }
+
+            List<String> allModules = new ArrayList<>(parentPom.getModuleNames());
+            allModules.add(module);
+            ModuleGraph graph = ModuleGraph.of(allModules.toArray(new String[0]), null);
+
+            startPhase(progress, metrics, GenerationMetrics.Phase.MODULE_POMS, "生成模块 " + moduleArtifactId + "...", 0.3);
+            Path modulePath = projectPath.resolve(moduleArtifactId);
+            createModuleDirectoryStructure(modulePath);
+            writeModulePomWithDependencies(modulePath, parentPom.getGroupId(), parentPom.getArtifactId(), parentPom.getVersion(),
+                    moduleArtifactId, graph, parentPom.hasCommonDependencies());
+            if (module.equals(BENCHMARK_MODULE)) {
+                writeToFile(parentPomPath, parentPom.withBenchmarkModule(moduleArtifactId, JMH_VERSION));
+            } else {
+                addModuleToParentPom(projectPath, parentPom, moduleArtifactId);
+            }
+
+            startPhase(progress, metrics, null, "写入 " + fileSet.getFileCount() + " 个文件...", 0.5);
+            metrics.setDirectoryCount(fileSet.getDirectoryCount());
+            report.merge(fileWriter.write(fileSet, progress));
+            report.setFileCount(fileSet.getFileCount());
+            report.setWrittenFiles(writtenFiles(fileSet));
+            progress.setFraction(1.0);
+        } catch (ProcessCanceledException e) {
+            LOG.info("添加模块已取消: " + module);
+            throw e;
+        } catch (Exception e) {
+            LOG.warn("添加模块失败: " + module, e);
+            report.addFailure(module, e);
+        }
+
+        metrics.endPhase();
+        report.setDurationMillis(System.currentTimeMillis() - startTime);
+        LOG.info(report.getSummary() + " (" + metrics.format() + ")");
+        return report;
+    }
+
+    /**
+     * 进入新的生成阶段：检查取消状态、切换计时阶段并更新进度文字
+     * @param phase 计时阶段，为null时只结束上一阶段（之后的耗时由写出器自行记录）
+     */
+    private void startPhase(ProgressIndicator progress, GenerationMetrics metrics, @Nullable GenerationMetrics.Phase phase,
+                            String text, double fraction) {
+        progress.checkCanceled();
+        if (phase != null) {
+            metrics.startPhase(phase);
+        } else {
+            metrics.endPhase();
         }
+        progress.setText(text);
+        progress.setText2("");
+        progress.setFraction(fraction);
+    }
+
+    /**
+     * 创建单个子模块的目录结构（多模块）
+     */
+    private void createModuleDirectoryStructure(Path modulePath) {
+        createDirectoryStructure(modulePath.resolve("src/main/java"));
+        createDirectoryStructure(modulePath.resolve("src/test/java"));
+        createDirectoryStructure(modulePath.resolve("src/main/resources"));
     }
 
     /**
      * 创建DDD目录结构（单模块）
      */
-    private void createDddDirectoryStructure(Path projectPath, String groupId, String domainName) {
+    void createDddDirectoryStructure(Path projectPath, String groupId, String domainName) {
         // 基础路径
         String basePackagePath = groupId.replace('.', '/') + "/" + domainName;
         Path mainJavaPath = projectPath.resolve("src/main/java").resolve(basePackagePath);
@@ -162,7 +461,7 @@ public class AggregationProjectGenerator {
     /**
      * 创建MVC目录结构（单模块）
      */
-    private void createMvcDirectoryStructure(Path projectPath, String groupId) {
+    void createMvcDirectoryStructure(Path projectPath, String groupId, String javaVersion) {
         // 基础路径
         String basePackagePath = groupId.replace('.', '/');
         Path mainJavaPath = projectPath.resolve("src/main/java").resolve(basePackagePath);
@@ -183,689 +482,393 @@ public class AggregationProjectGenerator {
         // 可选：添加DTO/VO
         createDirectoryStructure(mainJavaPath.resolve("model/dto"));
         createDirectoryStructure(mainJavaPath.resolve("model/vo"));
+
+        if (isVirtualThreadProfile(ArchitectureType.SINGLE_MODULE_MVC, javaVersion)) {
+            writeVirtualThreadScaffold(groupId, mainJavaPath, testJavaPath, resourcesPath);
+        }
+    }
+
+    /**
+     * Java 21 及以上的MVC项目使用虚拟线程配置
+     */
+    static boolean isVirtualThreadProfile(ArchitectureType architectureType, String javaVersion) {
+        return architectureType == ArchitectureType.SINGLE_MODULE_MVC
+                && VersionCatalog.parseJavaVersion(javaVersion) >= VIRTUAL_THREADS_JAVA_VERSION;
+    }
+
+    /**
+     * 写入虚拟线程的启动类和配置、控制层和服务层示例（服务层用结构化并发扇出调用下游），
+     * 以及对比平台线程池的负载测试
+     */
+    private void writeVirtualThreadScaffold(String groupId, Path mainJavaPath, Path testJavaPath, Path resourcesPath) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("basePackage", groupId);
+        context.put("observability", observability);
+
+        createDirectoryStructure(mainJavaPath.resolve("config"));
+        writeToFile(resourcesPath.resolve("application.properties"), templates.render(TemplateEngine.MVC_APPLICATION_CONFIG, context));
+        writeToFile(mainJavaPath.resolve("Application.java"), templates.render(TemplateEngine.MVC_APPLICATION, context));
+        writeToFile(mainJavaPath.resolve("config/ConcurrencyConfig.java"), templates.render(TemplateEngine.CONCURRENCY_CONFIG, context));
+        writeToFile(mainJavaPath.resolve("controller/OverviewController.java"), templates.render(TemplateEngine.OVERVIEW_CONTROLLER, context));
+        writeToFile(mainJavaPath.resolve("service/OverviewService.java"), templates.render(TemplateEngine.OVERVIEW_SERVICE, context));
+        writeToFile(mainJavaPath.resolve("service/impl/OverviewServiceImpl.java"), templates.render(TemplateEngine.OVERVIEW_SERVICE_IMPL, context));
+        writeToFile(mainJavaPath.resolve("model/vo/OverviewVO.java"), templates.render(TemplateEngine.OVERVIEW_VO, context));
+        writeToFile(testJavaPath.resolve("VirtualThreadLoadTest.java"), templates.render(TemplateEngine.VIRTUAL_THREAD_LOAD_TEST, context));
     }
 
     /**
      * 写入MVC架构的README文件
      */
-    private void writeMvcReadme(Path projectPath, String artifactId) {
-        StringBuilder content = new StringBuilder();
-        content.append("# ").append(artifactId).append(" 单模块MVC架构项目\n\n")
-               .append("这是一个基于经典分层架构(MVC)的单模块项目模板。\n\n")
-               .append("## 项目结构\n\n")
-               .append("```\n")
-               .append(artifactId).append("/\n")
-               .append("├── src/main/java/com/example/...\n")
-               .append("│   ├── controller   # 控制层，处理HTTP请求\n")
-               .append("│   ├── service      # 业务逻辑层接口\n")
-               .append("│   │   └── impl     # 业务逻辑层实现\n")
-               .append("│   ├── mapper       # 数据访问层(MyBatis Mapper)\n")
-               .append("│   ├── entity       # 数据库实体类\n")
-               .append("│   ├── model        # 数据模型\n")
-               .append("│   │   ├── dto      # 数据传输对象\n")
-               .append("│   │   └── vo       # 视图对象\n")
-               .append("│   └── common       # 公共工具与组件\n")
-               .append("└── pom.xml          # Maven配置文件\n")
-               .append("```\n\n")
-               .append("## 快速开始\n\n")
-               .append("1. 修改 `pom.xml` 添加所需依赖\n")
-               .append("2. 配置 `application.yml` 或 `application.properties`\n")
-               .append("3. 编写 Controller 和 Service\n")
-               .append("\n")
-               .append("## 构建运行\n\n")
-               .append("```bash\n")
-               .append("mvn clean spring-boot:run\n")
-               .append("```\n");
-        
-        writeToFile(projectPath.resolve("README.md"), content.toString());
+    private void writeMvcReadme(Path projectPath, String groupId, String artifactId, String javaVersion) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("groupId", groupId);
+        context.put("artifactId", artifactId);
+        context.put("virtualThreads", isVirtualThreadProfile(ArchitectureType.SINGLE_MODULE_MVC, javaVersion));
+        context.put("observability", observability);
+        context.put("metricsPackage", groupId + "." + COMMON_MODULE + "." + METRICS_PACKAGE);
+        writeToFile(projectPath.resolve("README.md"), templates.render(TemplateEngine.README_MVC, context));
     }
 
     /**
      * 写入单模块POM文件
      */
-    private void writeSingleModulePom(Path projectPath, String groupId, String artifactId, String version, String javaVersion, boolean addDependencies) {
-        // 根据Java版本选择合适的依赖版本
-        String lombokVersion;
-        String hutoolVersion;
-        String logbackVersion;
-        String slf4jVersion;
-        String swaggerVersion;
-        String junitVersion;
-        
-        int javaVersionNum = Integer.parseInt(javaVersion);
-        
-        // 根据不同Java版本选择兼容的依赖版本
-        if (javaVersionNum == 11) {
-            // Java 11 兼容版本
-            lombokVersion = "1.18.24";  // 兼容Java 8-17
-            hutoolVersion = "5.8.16";   // 兼容Java 8-17
-            logbackVersion = "1.2.13";  // 兼容Java 11
-            slf4jVersion = "1.7.36";    // 兼容Java 8-17
-            swaggerVersion = "3.0.0";   // SpringFox 3.0.0 兼容Java 11
-            junitVersion = "5.9.3";     // JUnit 5.9.3 兼容Java 11
-        } else if (javaVersionNum >= 17 && javaVersionNum < 21) {
-            // Java 17-20 兼容版本
-            lombokVersion = "1.18.32";  // 支持Java 17
-            hutoolVersion = "5.8.25";   // 支持Java 17
-            logbackVersion = "1.5.6";   // 支持Java 17
-            slf4jVersion = "2.0.12";    // 支持Java 17
-            swaggerVersion = "3.0.0";   // SpringFox 3.0.0 兼容Java 17
-            junitVersion = "5.10.0";    // JUnit 5.10.0 支持Java 17
-        } else if (javaVersionNum >= 21) {
-            // Java 21及以上版本
-            lombokVersion = "1.18.34";  // 最新兼容版本
-            hutoolVersion = "5.8.25";   // 支持Java 21
-            logbackVersion = "1.5.6";   // 支持Java 21
-            slf4jVersion = "2.0.12";    // 支持Java 21
-            swaggerVersion = "3.0.0";   // SpringFox 3.0.0 兼容Java 21
-            junitVersion = "5.10.1";    // JUnit 5.10.1 支持Java 21
-        } else {
-            // Java 8 兼容版本
-            lombokVersion = "1.18.24";  // 兼容Java 8-17
-            hutoolVersion = "5.8.16";   // 兼容Java 8-17
-            logbackVersion = "1.2.11";  // 兼容Java 8
-            slf4jVersion = "1.7.36";    // 兼容Java 8
-            swaggerVersion = "3.0.0";   // SpringFox 3.0.0 兼容Java 8
-            junitVersion = "5.8.2";     // JUnit 5.8.2 兼容Java 8
-        }
-        
-        StringBuilder content = new StringBuilder();
-        content.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
-               .append("\n<project xmlns=\"http://maven.apache.org/POM/4.0.0\"")
-               .append("\n         xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"")
-               .append("\n         xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd\">")
-               .append("\n    <modelVersion>4.0.0</modelVersion>")
-               .append("\n\n    <groupId>").append(groupId).append("</groupId>")
-               .append("\n    <artifactId>").append(artifactId).append("</artifactId>")
-               .append("\n    <version>").append(version).append("</version>")
-               .append("\n    <packaging>jar</packaging>")
-               .append("\n\n    <properties>")
-               .append("\n        <maven.compiler.source>").append(javaVersion).append("</maven.compiler.source>")
-               .append("\n        <maven.compiler.target>").append(javaVersion).append("</maven.compiler.target>")
-               .append("\n        <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>")
-               .append("\n    </properties>")
-               .append("\n");
-        
-        if (addDependencies) {
-            content.append("    <dependencies>")
-                   .append("\n        <!-- 代码简化与工具依赖 -->")
-                   .append("\n        <dependency>")
-                   .append("\n            <groupId>org.projectlombok</groupId>")
-                   .append("\n            <artifactId>lombok</artifactId>")
-                   .append("\n            <version>").append(lombokVersion).append("</version>")
-                   .append("\n            <scope>provided</scope>")
-                   .append("\n        </dependency>")
-                   .append("\n        <dependency>")
-                   .append("\n            <groupId>cn.hutool</groupId>")
-                   .append("\n            <artifactId>hutool-all</artifactId>")
-                   .append("\n            <version>").append(hutoolVersion).append("</version>")
-                   .append("\n        </dependency>")
-                   .append("\n        <!-- 日志体系依赖 -->")
-                   .append("\n        <!-- SLF4J API - 日志门面接口 -->")
-                   .append("\n        <dependency>")
-                   .append("\n            <groupId>org.slf4j</groupId>")
-                   .append("\n            <artifactId>slf4j-api</artifactId>")
-                   .append("\n            <version>").append(slf4jVersion).append("</version>")
-                   .append("\n        </dependency>")
-                   .append("\n        <!-- Logback - SLF4J 的具体实现 -->")
-                   .append("\n        <dependency>")
-                   .append("\n            <groupId>ch.qos.logback</groupId>")
-                   .append("\n            <artifactId>logback-classic</artifactId>")
-                   .append("\n            <version>").append(logbackVersion).append("</version>")
-                   .append("\n        </dependency>")
-                   .append("\n        <!-- Swagger - API文档生成工具 -->")
-                   .append("\n        <dependency>")
-                   .append("\n            <groupId>io.springfox</groupId>")
-                   .append("\n            <artifactId>springfox-boot-starter</artifactId>")
-                   .append("\n            <version>").append(swaggerVersion).append("</version>")
-                   .append("\n        </dependency>")
-                   .append("\n        <!-- JUnit - 单元测试框架 -->")
-                   .append("\n        <dependency>")
-                   .append("\n            <groupId>org.junit.jupiter</groupId>")
-                   .append("\n            <artifactId>junit-jupiter-api</artifactId>")
-                   .append("\n            <version>").append(junitVersion).append("</version>")
-                   .append("\n            <scope>test</scope>")
-                   .append("\n        </dependency>")
-                   .append("\n        <dependency>")
-                   .append("\n            <groupId>org.junit.jupiter</groupId>")
-                   .append("\n            <artifactId>junit-jupiter-engine</artifactId>")
-                   .append("\n            <version>").append(junitVersion).append("</version>")
-                   .append("\n            <scope>test</scope>")
-                   .append("\n        </dependency>")
-                   .append("\n    </dependencies>");
-        }
-        
-        content.append("\n</project>");
-        
-        writeToFile(projectPath.resolve("pom.xml"), content.toString());
+    private void writeSingleModulePom(Path projectPath, String groupId, String artifactId, String version, MavenAggregationSettings settings) {
+        String javaVersion = settings.getJavaVersion();
+        // 事件总线只在DDD架构下生成
+        boolean eventBus = settings.isEventBus() && settings.getArchitectureType() == ArchitectureType.SINGLE_MODULE_DDD;
+        boolean virtualThreads = isVirtualThreadProfile(settings.getArchitectureType(), javaVersion);
+        Map<String, Object> context = new HashMap<>();
+        context.put("groupId", groupId);
+        context.put("artifactId", artifactId);
+        context.put("version", version);
+        context.put("javaVersion", javaVersion);
+        context.put("addDependencies", settings.isAddDependencies());
+        context.put("eventBus", eventBus);
+        context.put("jmhVersion", JMH_VERSION);
+        context.put("virtualThreads", virtualThreads);
+        context.put("surefirePluginVersion", SUREFIRE_PLUGIN_VERSION);
+        context.put("observability", observability);
+        context.put("hasDependencies", settings.isAddDependencies() || eventBus || virtualThreads || observability);
+        context.putAll(versionCatalog.versionsFor(javaVersion));
+        writeToFile(projectPath.resolve("pom.xml"), templates.render(TemplateEngine.SINGLE_MODULE_POM, context));
     }
 
     /**
-     * 写入DDD架构的README文件
+     * 写入DDD领域事件总线：domain.event 中的事件、发布者、订阅者接口，
+     * infrastructure.message 中的环形缓冲区实现，以及对比 synchronized 监听器列表的JMH基准测试
      */
-    private void writeDddReadme(Path projectPath, String artifactId, String domainName) {
-        StringBuilder content = new StringBuilder();
-        content.append("# ").append(artifactId).append(" 单模块DDD架构项目\n\n")
-               .append("这是一个基于领域驱动设计(DDD)的单模块项目模板。\n\n")
-               .append("## 项目结构\n\n")
-               .append("```\n")
-               .append(artifactId).append("/\n")
-               .append("├── src/main/java/com/example/").append(domainName).append("\n")
-               .append("│   ├── application  # 应用层（整体流程控制）\n")
-               .append("│   │   ├── service  # 应用服务\n")
-               .append("│   │   └── dto      # 数据传输对象\n")
-               .append("│   ├── domain       # 领域层（核心）\n")
-               .append("│   │   ├── model    # 实体、值对象\n")
-               .append("│   │   ├── service  # 领域服务（逻辑核心）\n")
-               .append("│   │   ├── event    # 领域事件\n")
-               .append("│   │   └── repository # 仓储接口\n")
-               .append("│   ├── infrastructure # 基础设施层\n")
-               .append("│   │   ├── persistence # 数据库实现\n")
-               .append("│   │   ├── message     # 消息队列\n")
-               .append("│   │   └── external    # 外部服务调用\n")
-               .append("│   └── interface/controller # 用户接口层\n")
-               .append("│       ├── web     # REST API\n")
-               .append("│       └── rpc     # gRPC/Dubbo\n")
-               .append("└── pom.xml         # Maven配置文件\n")
-               .append("```\n\n")
-               .append("## DDD架构说明\n\n")
-               .append("- **应用层(application)**：负责协调领域对象完成用例，处理跨领域模型的操作\n")
-               .append("- **领域层(domain)**：核心业务逻辑，包含实体、值对象、领域服务等\n")
-               .append("- **基础设施层(infrastructure)**：提供技术支持，实现仓储接口、消息队列等\n")
-               .append("- **接口层(interface)**：处理外部请求，转换为应用服务调用\n")
-               .append("\n")
-               .append("## 开始使用\n\n")
-               .append("1. 根据需要修改`pom.xml`文件添加额外依赖\n")
-               .append("2. 在相应包中添加源代码\n")
-               .append("3. 使用以下命令构建项目：\n\n")
-               .append("```bash\n")
-               .append("mvn clean install\n")
-               .append("```\n");
-        
-        writeToFile(projectPath.resolve("README.md"), content.toString());
+    private void writeDddEventBus(Path projectPath, String groupId, String domainName) {
+        String basePackage = groupId + "." + domainName;
+        Map<String, Object> context = new HashMap<>();
+        context.put("basePackage", basePackage);
+
+        String basePackagePath = basePackage.replace('.', '/');
+        Path eventPath = projectPath.resolve("src/main/java").resolve(basePackagePath).resolve("domain/event");
+        Path messagePath = projectPath.resolve("src/main/java").resolve(basePackagePath).resolve("infrastructure/message");
+        Path benchmarkPath = projectPath.resolve("src/test/java").resolve(basePackagePath).resolve("infrastructure/message");
+        writeToFile(eventPath.resolve("DomainEvent.java"), templates.render(TemplateEngine.DOMAIN_EVENT, context));
+        writeToFile(eventPath.resolve("DomainEventPublisher.java"), templates.render(TemplateEngine.DOMAIN_EVENT_PUBLISHER, context));
+        writeToFile(eventPath.resolve("DomainEventSubscriber.java"), templates.render(TemplateEngine.DOMAIN_EVENT_SUBSCRIBER, context));
+        writeToFile(messagePath.resolve("RingBufferEventBus.java"), templates.render(TemplateEngine.RING_BUFFER_EVENT_BUS, context));
+        createDirectoryStructure(benchmarkPath);
+        writeToFile(benchmarkPath.resolve("EventBusBenchmark.java"), templates.render(TemplateEngine.EVENT_BUS_BENCHMARK, context));
     }
 
     /**
-     * 写入父POM，包含完整的依赖管理
+     * 在 common 模块中写入堆外缓冲区工具（位运算工具、堆外缓冲区、long→long 堆外哈希表）及其单元测试
      */
-    private void writeParentPomWithDependencies(Path projectPath, String groupId, String artifactId, String version, String[] modules, String javaVersion, boolean addDependencies) {
-        StringBuilder moduleXml = new StringBuilder();
-        for (String module : modules) {
-            String moduleName = artifactId + "-" + module;
-            moduleXml.append("        <module>").append(moduleName).append("</module>\n");
-        }
+    private void writeOffHeapBufferUtilities(Path modulePath, String groupId) {
+        String packageName = bufferPackage(groupId);
+        Map<String, Object> context = new HashMap<>();
+        context.put("packageName", packageName);
+        String packagePath = packageName.replace('.', '/');
+        Path sourcePath = modulePath.resolve("src/main/java").resolve(packagePath);
+        Path testPath = modulePath.resolve("src/test/java").resolve(packagePath);
+        createDirectoryStructure(sourcePath);
+        createDirectoryStructure(testPath);
+        writeToFile(sourcePath.resolve("BitUtil.java"), templates.render(TemplateEngine.BIT_UTIL, context));
+        writeToFile(sourcePath.resolve("OffHeapBuffer.java"), templates.render(TemplateEngine.OFF_HEAP_BUFFER, context));
+        writeToFile(sourcePath.resolve("Long2LongOffHeapHashMap.java"), templates.render(TemplateEngine.LONG2LONG_OFF_HEAP_HASH_MAP, context));
+        writeToFile(testPath.resolve("OffHeapBufferTest.java"), templates.render(TemplateEngine.OFF_HEAP_BUFFER_TEST, context));
+        writeToFile(testPath.resolve("Long2LongOffHeapHashMapTest.java"), templates.render(TemplateEngine.LONG2LONG_OFF_HEAP_HASH_MAP_TEST, context));
+    }
 
-        StringBuilder dependencyManagementXml = new StringBuilder();
-        for (String module : modules) {
-            dependencyManagementXml.append("            <dependency>\n")
-                    .append("                <groupId>").append(groupId).append("</groupId>\n")
-                    .append("                <artifactId>").append(artifactId).append("-").append(module).append("</artifactId>\n")
-                    .append("                <version>${project.version}</version>\n")
-                    .append("            </dependency>\n");
-        }
+    private static String bufferPackage(String groupId) {
+        return groupId + "." + COMMON_MODULE + "." + BUFFER_PACKAGE;
+    }
 
-        // 根据Java版本选择合适的依赖版本
-        String lombokVersion;
-        String hutoolVersion;
-        String logbackVersion;
-        String slf4jVersion;
-        String swaggerVersion;
-        String junitVersion;
-        
-        int javaVersionNum = Integer.parseInt(javaVersion);
-        
-        // 根据不同Java版本选择兼容的依赖版本
-        if (javaVersionNum == 11) {
-            // Java 11 兼容版本
-            lombokVersion = "1.18.24";  // 兼容Java 8-17
-            hutoolVersion = "5.8.16";   // 兼容Java 8-17
-            logbackVersion = "1.2.13";  // 兼容Java 11
-            slf4jVersion = "1.7.36";    // 兼容Java 8-17
-            swaggerVersion = "3.0.0";   // SpringFox 3.0.0 兼容Java 11
-            junitVersion = "5.9.3";     // JUnit 5.9.3 兼容Java 11
-        } else if (javaVersionNum >= 17 && javaVersionNum < 21) {
-            // Java 17-20 兼容版本
-            lombokVersion = "1.18.32";  // 支持Java 17
-            hutoolVersion = "5.8.25";   // 支持Java 17
-            logbackVersion = "1.5.6";   // 支持Java 17
-            slf4jVersion = "2.0.12";    // 支持Java 17
-            swaggerVersion = "3.0.0";   // SpringFox 3.0.0 兼容Java 17
-            junitVersion = "5.10.0";    // JUnit 5.10.0 支持Java 17
-        } else if (javaVersionNum >= 21) {
-            // Java 21及以上版本
-            lombokVersion = "1.18.34";  // 最新兼容版本
-            hutoolVersion = "5.8.25";   // 支持Java 21
-            logbackVersion = "1.5.6";   // 支持Java 21
-            slf4jVersion = "2.0.12";    // 支持Java 21
-            swaggerVersion = "3.0.0";   // SpringFox 3.0.0 兼容Java 21
-            junitVersion = "5.10.1";    // JUnit 5.10.1 支持Java 21
-        } else {
-            // Java 8 兼容版本
-            lombokVersion = "1.18.24";  // 兼容Java 8-17
-            hutoolVersion = "5.8.16";   // 兼容Java 8-17
-            logbackVersion = "1.2.11";  // 兼容Java 8
-            slf4jVersion = "1.7.36";    // 兼容Java 8
-            swaggerVersion = "3.0.0";   // SpringFox 3.0.0 兼容Java 8
-            junitVersion = "5.8.2";     // JUnit 5.8.2 兼容Java 8
+    private static String mapperCachePackage(String groupId) {
+        return groupId + "." + MAPPER_MODULE + "." + CACHE_PACKAGE;
+    }
+
+    private static String commonMetricsPackage(String groupId) {
+        return groupId + "." + COMMON_MODULE + "." + METRICS_PACKAGE;
+    }
+
+    /**
+     * 写入指标工具：Prometheus 注册表和抓取端点，以及按层记录耗时的拦截器
+     * （控制层、Mapper 默认带直方图，服务层按 @Timed 注解记录）
+     * @param sourceRoot 源码根目录（src/main/java）
+     * @param packageName 生成的包名
+     */
+    private void writeMetrics(Path sourceRoot, String packageName) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("packageName", packageName);
+        Path packagePath = sourceRoot.resolve(packageName.replace('.', '/'));
+        createDirectoryStructure(packagePath);
+        writeToFile(packagePath.resolve("Observability.java"), templates.render(TemplateEngine.OBSERVABILITY, context));
+        writeToFile(packagePath.resolve("TimedInterceptor.java"), templates.render(TemplateEngine.TIMED_INTERCEPTOR, context));
+    }
+
+    /**
+     * 写入缓存仓储层：缓存接口和统计、W-TinyLFU风格的有界缓存、仓储接口及读穿透和旁路缓存两种装饰器
+     * @param sourceRoot 源码根目录（src/main/java）
+     * @param packageName 生成的包名
+     */
+    private void writeCachingRepository(Path sourceRoot, String packageName) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("packageName", packageName);
+        Path packagePath = sourceRoot.resolve(packageName.replace('.', '/'));
+        createDirectoryStructure(packagePath);
+        for (String template : CACHING_REPOSITORY_TEMPLATES) {
+            writeToFile(packagePath.resolve(template), templates.render(template, context));
         }
-        
-        // 构建常用依赖
-        StringBuilder commonDependenciesXml = new StringBuilder();
-        if (addDependencies) {
-            commonDependenciesXml.append("            <!-- 代码简化与工具依赖 -->\n");
-            // Lombok - 提供代码简化注解如@Getter、@Setter、@Slf4j等
-            commonDependenciesXml.append("            <dependency>\n");
-            commonDependenciesXml.append("                <groupId>org.projectlombok</groupId>\n");
-            commonDependenciesXml.append("                <artifactId>lombok</artifactId>\n");
-            commonDependenciesXml.append("                <version>").append(lombokVersion).append("</version>\n");
-            commonDependenciesXml.append("                <scope>provided</scope>\n");
-            commonDependenciesXml.append("            </dependency>\n");
-            
-            // Hutool - 提供丰富的Java工具方法
-            commonDependenciesXml.append("            <dependency>\n");
-            commonDependenciesXml.append("                <groupId>cn.hutool</groupId>\n");
-            commonDependenciesXml.append("                <artifactId>hutool-all</artifactId>\n");
-            commonDependenciesXml.append("                <version>").append(hutoolVersion).append("</version>\n");
-            commonDependenciesXml.append("            </dependency>\n");
-            
-            commonDependenciesXml.append("            <!-- 日志体系依赖 -->\n");
-            commonDependenciesXml.append("            <!-- SLF4J API - 日志门面接口 -->\n");
-            // 注意：logback-classic 已经包含了 slf4j-api，但这里显式声明以确保版本一致性
-            commonDependenciesXml.append("            <dependency>\n");
-            commonDependenciesXml.append("                <groupId>org.slf4j</groupId>\n");
-            commonDependenciesXml.append("                <artifactId>slf4j-api</artifactId>\n");
-            commonDependenciesXml.append("                <version>").append(slf4jVersion).append("</version>\n");
-            commonDependenciesXml.append("            </dependency>\n");
-            
-            commonDependenciesXml.append("            <!-- Logback - SLF4J 的具体实现 -->\n");
-            commonDependenciesXml.append("            <!-- Lombok 的 @Slf4j 注解会使用 SLF4J API，而 Logback 是具体的日志实现 -->\n");
-            commonDependenciesXml.append("            <dependency>\n");
-            commonDependenciesXml.append("                <groupId>ch.qos.logback</groupId>\n");
-            commonDependenciesXml.append("                <artifactId>logback-classic</artifactId>\n");
-            commonDependenciesXml.append("                <version>").append(logbackVersion).append("</version>\n");
-            commonDependenciesXml.append("            </dependency>\n");
-            
-            // 添加Swagger依赖 - API文档生成工具
-            commonDependenciesXml.append("            <!-- Swagger - API文档生成工具 -->\n");
-            commonDependenciesXml.append("            <dependency>\n");
-            commonDependenciesXml.append("                <groupId>io.springfox</groupId>\n");
-            commonDependenciesXml.append("                <artifactId>springfox-boot-starter</artifactId>\n");
-            commonDependenciesXml.append("                <version>").append(swaggerVersion).append("</version>\n");
-            commonDependenciesXml.append("            </dependency>\n");
-            
-            // 添加JUnit依赖 - 单元测试框架
-            commonDependenciesXml.append("            <!-- JUnit - 单元测试框架 -->\n");
-            commonDependenciesXml.append("            <dependency>\n");
-            commonDependenciesXml.append("                <groupId>org.junit.jupiter</groupId>\n");
-            commonDependenciesXml.append("                <artifactId>junit-jupiter-api</artifactId>\n");
-            commonDependenciesXml.append("                <version>").append(junitVersion).append("</version>\n");
-            commonDependenciesXml.append("                <scope>test</scope>\n");
-            commonDependenciesXml.append("            </dependency>\n");
-            commonDependenciesXml.append("            <dependency>\n");
-            commonDependenciesXml.append("                <groupId>org.junit.jupiter</groupId>\n");
-            commonDependenciesXml.append("                <artifactId>junit-jupiter-engine</artifactId>\n");
-            commonDependenciesXml.append("                <version>").append(junitVersion).append("</version>\n");
-            commonDependenciesXml.append("                <scope>test</scope>\n");
-            commonDependenciesXml.append("            </dependency>\n");
+    }
+
+    /**
+     * 写入DDD架构的README文件
+     */
+    private void writeDddReadme(Path projectPath, String artifactId, String domainName, MavenAggregationSettings settings) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("artifactId", artifactId);
+        context.put("domainName", domainName);
+        context.put("eventBus", settings.isEventBus());
+        context.put("cachingRepository", settings.isCachingRepository());
+        context.put("observability", observability);
+        writeToFile(projectPath.resolve("README.md"), templates.render(TemplateEngine.README_DDD, context));
+    }
+
+    /**
+     * 写入父POM，包含完整的依赖管理
+     */
+    void writeParentPomWithDependencies(Path projectPath, String groupId, String artifactId, String version, String[] modules, String javaVersion, boolean addDependencies) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("groupId", groupId);
+        context.put("artifactId", artifactId);
+        context.put("version", version);
+        context.put("javaVersion", javaVersion);
+        // 基准测试模块放在 profile 中，不出现在默认的 modules 和 dependencyManagement 里
+        List<String> reactorModules = new ArrayList<>(Arrays.asList(modules));
+        if (reactorModules.remove(BENCHMARK_MODULE)) {
+            context.put("benchmarkModule", artifactId + "-" + BENCHMARK_MODULE);
+            context.put("jmhVersion", JMH_VERSION);
         }
-        
-        String content = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
-                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"\n" +
-                "         xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n" +
-                "         xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n" +
-                "    <modelVersion>4.0.0</modelVersion>\n" +
-                "\n" +
-                "    <groupId>" + groupId + "</groupId>\n" +
-                "    <artifactId>" + artifactId + "</artifactId>\n" +
-                "    <version>" + version + "</version>\n" +
-                "    <packaging>pom</packaging>\n" +
-                "\n" +
-                "    <modules>\n" +
-                moduleXml.toString() +
-                "    </modules>\n" +
-                "\n" +
-                "    <properties>\n" +
-                "        <maven.compiler.source>" + javaVersion + "</maven.compiler.source>\n" +
-                "        <maven.compiler.target>" + javaVersion + "</maven.compiler.target>\n" +
-                "        <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n" +
-                "    </properties>\n" +
-                "\n" +
-                "    <dependencyManagement>\n" +
-                "        <dependencies>\n" +
-                "            <!-- 项目内部模块依赖 -->\n" +
-                dependencyManagementXml.toString();
-        
-        if (addDependencies) {
-            content += "            \n" + commonDependenciesXml.toString();
+        context.put("modules", moduleEntries(artifactId, reactorModules.toArray(new String[0])));
+        context.put("addDependencies", addDependencies);
+        if (highPerformanceCommon && reactorModules.contains(COMMON_MODULE)) {
+            context.put("highPerformanceCommon", true);
+            context.put("surefirePluginVersion", SUREFIRE_PLUGIN_VERSION);
         }
-        
-        content += "        </dependencies>\n" +
-                "    </dependencyManagement>\n" +
-                "</project>";
+        context.put("observability", observability && reactorModules.contains(COMMON_MODULE));
+        context.putAll(versionCatalog.versionsFor(javaVersion));
+        writeToFile(projectPath.resolve("pom.xml"), templates.render(TemplateEngine.PARENT_POM, context));
+    }
 
-        writeToFile(projectPath.resolve("pom.xml"), content);
+    /**
+     * 写入JMH基准测试模块：POM（依赖 service/common、注解处理器、shade打包）和一个示例基准测试类
+     */
+    private void writeBenchmarkModule(Path modulePath, String groupId, String parentArtifactId, String version, String moduleName, ModuleGraph graph) {
+        List<Map<String, Object>> moduleDependencies = moduleDependencies(parentArtifactId, graph, BENCHMARK_MODULE);
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("groupId", groupId);
+        context.put("parentArtifactId", parentArtifactId);
+        context.put("version", version);
+        context.put("moduleName", moduleName);
+        context.put("moduleDependencies", moduleDependencies);
+        context.put("jmhVersion", JMH_VERSION);
+        context.put("compilerPluginVersion", COMPILER_PLUGIN_VERSION);
+        context.put("shadePluginVersion", SHADE_PLUGIN_VERSION);
+        writeToFile(modulePath.resolve("pom.xml"), templates.render(TemplateEngine.BENCHMARK_POM, context));
+
+        String packageName = groupId + "." + BENCHMARK_MODULE;
+        context.put("packageName", packageName);
+        Path sourcePath = modulePath.resolve("src/main/java").resolve(packageName.replace('.', '/'));
+        createDirectoryStructure(sourcePath);
+        writeToFile(sourcePath.resolve("SampleBenchmark.java"), templates.render(TemplateEngine.SAMPLE_BENCHMARK, context));
     }
 
     /**
      * 写入子模块POM，包含依赖关系
      */
-    private void writeModulePomWithDependencies(Path modulePath, String groupId, String parentArtifactId, String version, String moduleName, String[] allModules, boolean addDependencies) {
+    void writeModulePomWithDependencies(Path modulePath, String groupId, String parentArtifactId, String version, String moduleName, ModuleGraph graph, boolean addDependencies) {
         String module = moduleName.substring(parentArtifactId.length() + 1); // 获取模块名
-        
-        // 确保目录存在
-        if (!Files.exists(modulePath)) {
-            try {
-                Files.createDirectories(modulePath);
-            } catch (IOException e) {
-                LOG.error("Failed to create module directory: {}", e.getMessage());
-                return;
-            }
+        if (module.equals(BENCHMARK_MODULE)) {
+            writeBenchmarkModule(modulePath, groupId, parentArtifactId, version, moduleName, graph);
+            return;
         }
         
-        // 构建依赖关系
-        StringBuilder dependenciesXml = new StringBuilder("    <dependencies>\n");
-        boolean hasDependencies = false;
-        
         // 添加模块间依赖
-        if (module.equals("api") && containsModule(allModules, "service")) {
-            dependenciesXml.append("        <dependency>\n")
-                    .append("            <groupId>").append(groupId).append("</groupId>\n")
-                    .append("            <artifactId>").append(parentArtifactId).append("-service</artifactId>\n")
-                    .append("        </dependency>\n");
-            hasDependencies = true;
-        } else if (module.equals("service") && containsModule(allModules, "mapper")) {
-            dependenciesXml.append("        <dependency>\n")
-                    .append("            <groupId>").append(groupId).append("</groupId>\n")
-                    .append("            <artifactId>").append(parentArtifactId).append("-mapper</artifactId>\n")
-                    .append("        </dependency>\n");
-            hasDependencies = true;
-        } else if (module.equals("mapper") && containsModule(allModules, "pojo")) {
-            dependenciesXml.append("        <dependency>\n")
-                    .append("            <groupId>").append(groupId).append("</groupId>\n")
-                    .append("            <artifactId>").append(parentArtifactId).append("-pojo</artifactId>\n")
-                    .append("        </dependency>\n");
-            hasDependencies = true;
-        } else if (module.equals("pojo") && containsModule(allModules, "common")) {
-            dependenciesXml.append("        <dependency>\n")
-                    .append("            <groupId>").append(groupId).append("</groupId>\n")
-                    .append("            <artifactId>").append(parentArtifactId).append("-common</artifactId>\n")
-                    .append("        </dependency>\n");
-            hasDependencies = true;
-        }
+        List<Map<String, Object>> moduleDependencies = moduleDependencies(parentArtifactId, graph, module);
         
         // 在common模块中添加常用依赖（如果用户选择了添加依赖）
-        if (addDependencies && module.equals("common")) {
-            dependenciesXml.append("        <!-- 代码简化与工具依赖 -->\n")
-                    .append("        <dependency>\n")
-                    .append("            <groupId>org.projectlombok</groupId>\n")
-                    .append("            <artifactId>lombok</artifactId>\n")
-                    .append("            <scope>provided</scope>\n")
-                    .append("        </dependency>\n")
-                    .append("        <dependency>\n")
-                    .append("            <groupId>cn.hutool</groupId>\n")
-                    .append("            <artifactId>hutool-all</artifactId>\n")
-                    .append("        </dependency>\n")
-                    .append("        <!-- 日志体系依赖 -->\n")
-                    .append("        <!-- SLF4J API - 日志门面接口 -->\n")
-                    .append("        <dependency>\n")
-                    .append("            <groupId>org.slf4j</groupId>\n")
-                    .append("            <artifactId>slf4j-api</artifactId>\n")
-                    .append("        </dependency>\n")
-                    .append("        <!-- Logback - SLF4J 的具体实现 -->\n")
-                    .append("        <dependency>\n")
-                    .append("            <groupId>ch.qos.logback</groupId>\n")
-                    .append("            <artifactId>logback-classic</artifactId>\n")
-                    .append("        </dependency>\n")
-                    .append("        <!-- Swagger - API文档生成工具 -->\n")
-                    .append("        <dependency>\n")
-                    .append("            <groupId>io.springfox</groupId>\n")
-                    .append("            <artifactId>springfox-boot-starter</artifactId>\n")
-                    .append("        </dependency>\n")
-                    .append("        <!-- JUnit - 单元测试框架 -->\n")
-                    .append("        <dependency>\n")
-                    .append("            <groupId>org.junit.jupiter</groupId>\n")
-                    .append("            <artifactId>junit-jupiter-api</artifactId>\n")
-                    .append("            <scope>test</scope>\n")
-                    .append("        </dependency>\n")
-                    .append("        <dependency>\n")
-                    .append("            <groupId>org.junit.jupiter</groupId>\n")
-                    .append("            <artifactId>junit-jupiter-engine</artifactId>\n")
-                    .append("            <scope>test</scope>\n")
-                    .append("        </dependency>\n");
-            hasDependencies = true;
-        }
-        
-        // 只在有依赖时添加闭合标签
-        if (hasDependencies) {
-            dependenciesXml.append("    </dependencies>\n");
-        } else {
-            // 如果没有依赖，清空dependenciesXml
-            dependenciesXml = new StringBuilder();
-        }
+        boolean commonDependencies = addDependencies && module.equals(COMMON_MODULE);
+        boolean highPerformance = highPerformanceCommon && module.equals(COMMON_MODULE);
+        boolean metrics = observability && module.equals(COMMON_MODULE);
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("groupId", groupId);
+        context.put("parentArtifactId", parentArtifactId);
+        context.put("version", version);
+        context.put("moduleName", moduleName);
+        context.put("moduleDependencies", moduleDependencies);
+        context.put("commonDependencies", commonDependencies);
+        context.put("highPerformanceCommon", highPerformance);
+        context.put("observability", metrics);
+        // 只在有依赖时生成 dependencies 节点
+        context.put("hasDependencies", !moduleDependencies.isEmpty() || commonDependencies || highPerformance || metrics);
+        writeToFile(modulePath.resolve("pom.xml"), templates.render(TemplateEngine.MODULE_POM, context));
+    }
 
-        String content = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
-                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"\n" +
-                "         xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n" +
-                "         xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n" +
-                "    <modelVersion>4.0.0</modelVersion>\n" +
-                "    <parent>\n" +
-                "        <groupId>" + groupId + "</groupId>\n" +
-                "        <artifactId>" + parentArtifactId + "</artifactId>\n" +
-                "        <version>" + version + "</version>\n" +
-                "    </parent>\n" +
-                "    <artifactId>" + moduleName + "</artifactId>\n" +
-                "    <packaging>jar</packaging>\n" +
-                dependenciesXml.toString() +
-                "</project>";
-
-        writeToFile(modulePath.resolve("pom.xml"), content);
-    }
-
-    private void writeParentPom(Path projectPath, String groupId, String artifactId, String version, String[] modules, String javaVersion) {
-        StringBuilder moduleXml = new StringBuilder();
-        for (String module : modules) {
-            // 使用父项目名-子模块名的格式
-            String moduleName = artifactId + "-" + module;
-            moduleXml.append("        <module>").append(moduleName).append("</module>\n");
+    /**
+     * 模块在依赖图中的直接依赖，转换为模板使用的 artifactId 列表
+     */
+    private List<Map<String, Object>> moduleDependencies(String parentArtifactId, ModuleGraph graph, String module) {
+        List<Map<String, Object>> moduleDependencies = new ArrayList<>();
+        for (String dependency : graph.getDependencies(module)) {
+            moduleDependencies.add(Collections.singletonMap("artifactId", parentArtifactId + "-" + dependency));
         }
+        return moduleDependencies;
+    }
 
-        StringBuilder dependencyManagementXml = new StringBuilder();
+    /**
+     * 模板中的模块列表，每项包含模块名、完整模块名（父项目名-子模块名）和说明
+     */
+    private List<Map<String, Object>> moduleEntries(String artifactId, String[] modules) {
+        List<Map<String, Object>> entries = new ArrayList<>(modules.length);
         for (String module : modules) {
-            dependencyManagementXml.append("            <dependency>\n")
-                    .append("                <groupId>").append(groupId).append("</groupId>\n")
-                    .append("                <artifactId>").append(artifactId).append("-").append(module).append("</artifactId>\n") // 使用正确的 artifactId
-                    .append("                <version>${project.version}</version>\n")
-                    .append("            </dependency>\n");
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("module", module);
+            entry.put("moduleName", artifactId + "-" + module);
+            entry.put("description", moduleDescription(module));
+            entries.add(entry);
         }
+        return entries;
+    }
 
-        String content = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
-                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"\n" +
-                "         xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n" +
-                "         xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n" +
-                "    <modelVersion>4.0.0</modelVersion>\n" +
-                "\n" +
-                "    <groupId>" + groupId + "</groupId>\n" +
-                "    <artifactId>" + artifactId + "</artifactId>\n" +
-                "    <version>" + version + "</version>\n" +
-                "    <packaging>pom</packaging>\n" +
-                "\n" +
-                "    <modules>\n" +
-                moduleXml.toString() +
-                "    </modules>\n" +
-                "\n" +
-                "    <properties>\n" +
-                "        <maven.compiler.source>" + javaVersion + "</maven.compiler.source>\n" +
-                "        <maven.compiler.target>" + javaVersion + "</maven.compiler.target>\n" +
-                "        <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n" +
-                "    </properties>\n" +
-                "\n" +
-                "    <dependencyManagement>\n" +
-                "        <dependencies>\n" +
-                "            <!-- 项目内部模块依赖 -->\n" +
-                dependencyManagementXml.toString() +
-                "        </dependencies>\n" +
-                "    </dependencyManagement>\n" +
-                "</project>";
-
-        writeToFile(projectPath.resolve("pom.xml"), content);
-    }
-
-
-
-
-    private void writeReadme(Path projectPath, String projectName, String[] modules) {
-        StringBuilder modulesDescription = new StringBuilder();
-        for (String module : modules) {
-            modulesDescription.append("- `").append(module).append("`: ");
-
-            // 根据模块名称添加描述
-            if (module.equals("api")) {
-                modulesDescription.append("对外暴露的API接口模块\n");
-            } else if (module.equals("common")) {
-                modulesDescription.append("公共工具类和通用组件模块\n");
-            } else if (module.equals("mapper")) {
-                modulesDescription.append("数据访问层模块\n");
-            } else if (module.equals("pojo")) {
-                modulesDescription.append("实体类模块\n");
-            } else if (module.equals("service")) {
-                modulesDescription.append("业务逻辑模块\n");
-            } else {
-                modulesDescription.append("自定义模块\n");
-            }
+    /**
+     * 根据模块名称生成描述
+     */
+    private String moduleDescription(String module) {
+        if (module.equals("api")) {
+            return "对外暴露的API接口模块";
+        } else if (module.equals("common")) {
+            return "公共工具类和通用组件模块";
+        } else if (module.equals("mapper")) {
+            return "数据访问层模块";
+        } else if (module.equals("pojo")) {
+            return "实体类模块";
+        } else if (module.equals("service")) {
+            return "业务逻辑模块";
+        } else if (module.equals(BENCHMARK_MODULE)) {
+            return "JMH基准测试模块（mvn -Pbenchmark package 启用）";
         }
+        return "自定义模块";
+    }
 
-        String content = "# " + projectName + " Maven聚合项目\n\n" +
-                "这是一个多模块Maven项目模板，通过模块化设计组织Java应用程序。\n\n" +
-                "## 项目结构\n\n" +
-                "```\n" +
-                projectName + "/\n";
+    private void writeReadme(Path projectPath, String groupId, String projectName, String[] modules, boolean cachingRepository) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("artifactId", projectName);
+        context.put("modules", moduleEntries(projectName, modules));
+        context.put("cachingRepository", cachingRepository);
+        context.put("cachePackage", mapperCachePackage(groupId));
+        context.put("highPerformanceCommon", highPerformanceCommon && Arrays.asList(modules).contains(COMMON_MODULE));
+        context.put("bufferPackage", bufferPackage(groupId));
+        context.put("observability", observability && Arrays.asList(modules).contains(COMMON_MODULE));
+        context.put("metricsPackage", commonMetricsPackage(groupId));
+        writeToFile(projectPath.resolve("README.md"), templates.render(TemplateEngine.README_MULTI_MODULE, context));
+    }
 
-        // 添加模块目录结构
-        for (String module : modules) {
-            content += "├── " + module + "/\n";
+    /**
+     * 写入 .mvn 下的快速构建配置：-T 1C 并行构建、构建JVM参数、Maven构建缓存扩展及其配置
+     * 缓存的输入目录取自本次生成的模块目录布局（如 src/main/java），各模块布局相同，只需一份全局配置
+     */
+    private void writeFastBuildConfig(Path projectPath) {
+        Path mvnPath = projectPath.resolve(".mvn");
+        createDirectoryStructure(mvnPath);
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("buildCacheVersion", BUILD_CACHE_EXTENSION_VERSION);
+        context.put("inputDirectories", new ArrayList<>(sourceDirectories()));
+        writeToFile(mvnPath.resolve("maven.config"), templates.render(TemplateEngine.MAVEN_CONFIG, context));
+        writeToFile(mvnPath.resolve("jvm.config"), templates.render(TemplateEngine.JVM_CONFIG, context));
+        writeToFile(mvnPath.resolve("extensions.xml"), templates.render(TemplateEngine.MAVEN_EXTENSIONS, context));
+        writeToFile(mvnPath.resolve("maven-build-cache-config.xml"), templates.render(TemplateEngine.BUILD_CACHE_CONFIG, context));
+    }
+
+    /**
+     * 已生成目录中相对模块根目录的源码目录（src/main/java 等），按字典序去重
+     */
+    private Set<String> sourceDirectories() {
+        Set<String> sourceDirectories = new TreeSet<>();
+        for (String dir : fileSet.getDirectories()) {
+            String[] segments = dir.split("/");
+            for (int i = 0; i + 2 < segments.length; i++) {
+                if (segments[i].equals("src")) {
+                    sourceDirectories.add("src/" + segments[i + 1] + "/" + segments[i + 2]);
+                    break;
+                }
+            }
         }
+        return sourceDirectories;
+    }
 
-        content += "```\n\n" +
-                "## 模块说明\n\n" +
-                modulesDescription.toString() + "\n" +
-                "## 开始使用\n\n" +
-                "1. 根据需要修改各模块的`pom.xml`文件\n" +
-                "2. 在相应模块中添加源代码\n" +
-                "3. 使用以下命令构建项目：\n\n" +
-                "```bash\n" +
-                "mvn clean install\n" +
-                "```\n";
+    private void writeGitignore(Path projectPath) {
+        writeToFile(projectPath.resolve(".gitignore"), templates.render(TemplateEngine.GITIGNORE, Collections.emptyMap()));
+    }
 
-        writeToFile(projectPath.resolve("README.md"), content);
+    /**
+     * 在父POM原文中插入新模块的 &lt;module&gt; 和 dependencyManagement 条目
+     */
+    private void addModuleToParentPom(Path projectPath, ParentPom parentPom, String moduleArtifactId) {
+        writeToFile(projectPath.resolve("pom.xml"), parentPom.withModule(moduleArtifactId));
     }
 
-    private void writeGitignore(Path projectPath) {
-        String content = "# Maven\n" +
-                "target/\n" +
-                "pom.xml.tag\n" +
-                "pom.xml.releaseBackup\n" +
-                "pom.xml.versionsBackup\n" +
-                "pom.xml.next\n" +
-                "release.properties\n" +
-                "dependency-reduced-pom.xml\n" +
-                "buildNumber.properties\n" +
-                ".mvn/timing.properties\n" +
-                ".mvn/wrapper/maven-wrapper.jar\n\n" +
-                "# IntelliJ IDEA\n" +
-                ".idea/\n" +
-                "*.iws\n" +
-                "*.iml\n" +
-                "*.ipr\n\n" +
-                "# Eclipse\n" +
-                ".classpath\n" +
-                ".project\n" +
-                ".settings/\n\n" +
-                "# Mac\n" +
-                ".DS_Store\n";
-
-        writeToFile(projectPath.resolve(".gitignore"), content);
-    }
-    private void writeModulePom(Path modulePath, String groupId, String parentArtifactId, String version, String projectName) {
-        // 获取模块名称
-        String moduleName = modulePath.getFileName().toString();
-
-        // 新的 artifactId: 父项目名称-子模块名
-        //String newArtifactId = parentArtifactId + "-" + moduleName;
-        String newArtifactId = moduleName;
-
-        // 构建 pom.xml 内容
-        String content = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
-                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"\n" +
-                "         xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n" +
-                "         xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n" +
-                "    <modelVersion>4.0.0</modelVersion>\n" +
-                "    <parent>\n" +
-                "        <groupId>" + groupId + "</groupId>\n" +
-                "        <artifactId>" + parentArtifactId + "</artifactId>\n" +
-                "        <version>" + version + "</version>\n" +
-                "    </parent>\n" +
-                "    <artifactId>" + newArtifactId + "</artifactId>\n" +
-                "    <packaging>jar</packaging>\n" +
-                "</project>";
-
-        // 写入文件
-        writeToFile(modulePath.resolve("pom.xml"), content);
-
-        // 可选：手动验证 pom.xml 内容
-        LOG.info("Generated pom.xml content for module " + moduleName + ":\n" + content);
-    }
-
-    private void addModuleDependencies(Path projectPath, String groupId, String version, String parentArtifactId, String[] modules) {
-        // 这个方法已被优化，依赖关系现在在writeModulePomWithDependencies中直接生成
-        // 保留此方法以保持向后兼容性，但不再使用
-        LOG.info("模块间依赖关系已在POM生成时自动配置");
-    }
-
-    private void addDependencyToModule(Path modulePath, String groupId, String parentArtifactId, String moduleName, String version) {
-        // 这个方法已被优化，不再需要动态修改POM文件
-        // 依赖关系现在在POM生成时直接包含
-        LOG.debug("依赖关系已在POM生成时自动配置，无需动态添加");
-    }
-
-
-
-
-
-
-    private void writeToFile(Path path, String content) {
-        try {
-            // 创建父目录（如果不存在）
-            Files.createDirectories(path.getParent());
 
-            // 写入文件内容
-            try (BufferedWriter writer = Files.newBufferedWriter(path)) {
-                writer.write(content);
-            }
-        } catch (IOException e) {
-            LOG.warn("Failed to write file: " + path, e);
-        }
+
+
+
+
+    /**
+     * 开始新的内存文件集，之后的渲染结果都记录在其中
+     * 包级可见，供 src/jmh 中的基准测试单独驱动各渲染步骤
+     */
+    GeneratedFileSet beginFileSet(Path projectPath) {
+        fileSet = new GeneratedFileSet(projectPath);
+        return fileSet;
     }
 
-    private void createDirectoryStructure(Path path) {
-        try {
-            Files.createDirectories(path);
-        } catch (IOException e) {
-            LOG.warn("Failed to create directory: " + path, e);
+    private List<Path> writtenFiles(GeneratedFileSet fileSet) {
+        List<Path> written = new ArrayList<>(fileSet.getFileCount());
+        for (String relativePath : fileSet.getFiles().keySet()) {
+            written.add(fileSet.resolve(relativePath));
         }
+        return written;
+    }
+
+    void writeToFile(Path path, String content) {
+        // 只加入内存文件集，由 fileWriter 统一写出
+        fileSet.addFile(path, content);
+    }
+
+    void createDirectoryStructure(Path path) {
+        fileSet.addDirectory(path);
     }
 
 
 
 
 
-    private boolean containsModule(String[] modules, String moduleName) {
-        for (String module : modules) {
-            if (module.equals(moduleName)) {
-                return true;
-            }
-        }
-        return false;
-    }
 
 
 
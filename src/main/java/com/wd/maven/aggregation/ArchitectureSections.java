@@ -0,0 +1,58 @@
+package com.wd.maven.aggregation;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 按架构类型延迟构建的界面区域
+ * 每种架构的专属选项（DDD 的领域名称、多模块的模块选择等）只在第一次切换到该架构时创建，
+ * 之后缓存复用；同一时间只有当前架构的区域在布局中，隐藏的区域不参与布局计算
+ */
+public class ArchitectureSections extends JPanel {
+
+    private final Map<ArchitectureType, Supplier<JComponent>> factories = new EnumMap<>(ArchitectureType.class);
+    private final Map<ArchitectureType, JComponent> sections = new EnumMap<>(ArchitectureType.class);
+    private ArchitectureType current;
+
+    public ArchitectureSections() {
+        super(new BorderLayout());
+    }
+
+    /**
+     * 注册某种架构的区域构建方法，没有注册的架构显示为空
+     */
+    public void register(ArchitectureType type, Supplier<JComponent> factory) {
+        factories.put(type, factory);
+    }
+
+    /**
+     * 显示指定架构的区域，第一次显示时构建
+     */
+    public void show(ArchitectureType type) {
+        if (type == current) {
+            return;
+        }
+        current = type;
+        removeAll();
+        JComponent section = sections.get(type);
+        if (section == null && factories.containsKey(type)) {
+            section = factories.get(type).get();
+            sections.put(type, section);
+        }
+        if (section != null) {
+            add(section, BorderLayout.CENTER);
+        }
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * 区域是否已经构建过（构建前其中的字段都为null）
+     */
+    public boolean isBuilt(ArchitectureType type) {
+        return sections.containsKey(type);
+    }
+}
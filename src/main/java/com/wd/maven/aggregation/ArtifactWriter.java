@@ -0,0 +1,152 @@
+package com.wd.maven.aggregation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 生成文件的底层写入器，每次写出创建一个实例
+ * <ul>
+ *   <li>缓存本次已确认存在的目录，不再为每个文件重复检查和创建父目录；
+ *       父目录是本次新建的时，子目录只需一次 mkdir，文件也无需检查是否已存在</li>
+ *   <li>内容按 UTF-8 编码到每个线程复用的直接缓冲区，通过 {@link FileChannel} 写出，
+ *       不再为每个小文件创建 BufferedWriter 及其字符缓冲区</li>
+ * </ul>
+ * 新建的目录和文件都记录到 {@link GenerationJournal}，取消时可以回滚
+ */
+public class ArtifactWriter {
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    // 超过此大小的缓冲区只临时使用，不在线程中常驻
+    private static final int MAX_CACHED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE));
+    private static final ThreadLocal<CharsetEncoder> ENCODER = ThreadLocal.withInitial(() -> StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE));
+
+    private static final Set<OpenOption> NEW_FILE = Collections.unmodifiableSet(
+            EnumSet.of(StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW));
+    private static final Set<OpenOption> EXISTING_FILE = Collections.unmodifiableSet(
+            EnumSet.of(StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING));
+
+    private final GenerationJournal journal;
+    // 已确认存在的目录 → 是否为本次新建
+    private final Map<Path, Boolean> knownDirectories = new ConcurrentHashMap<>();
+
+    public ArtifactWriter(GenerationJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * 创建目录（含不存在的父目录）
+     */
+    public void createDirectories(Path dir) throws IOException {
+        ensureDirectory(dir);
+    }
+
+    /**
+     * 以 UTF-8 写出文件，父目录不存在时先创建
+     * @return 写出的字节数
+     */
+    public int write(Path file, String content) throws IOException {
+        Path parent = file.getParent();
+        boolean newFile = parent != null && ensureDirectory(parent);
+        if (newFile) {
+            journal.recordNewFile(file);
+        } else {
+            journal.beforeWrite(file);
+        }
+
+        ByteBuffer buffer = encode(content);
+        int size = buffer.remaining();
+        try (FileChannel channel = FileChannel.open(file, newFile ? NEW_FILE : EXISTING_FILE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 确保目录存在
+     * @return 目录是否为本次新建（其中不可能有已存在的文件）
+     */
+    private boolean ensureDirectory(Path dir) throws IOException {
+        Boolean known = knownDirectories.get(dir);
+        if (known != null) {
+            return known;
+        }
+        Path parent = dir.getParent();
+        if (parent != null && Boolean.TRUE.equals(knownDirectories.get(parent))) {
+            // 父目录是本次新建的，只需创建这一级；回滚时随父目录一起删除，无需记录
+            try {
+                Files.createDirectory(dir);
+            } catch (FileAlreadyExistsException e) {
+                // 其他写入线程刚刚创建了同一目录，它同样是本次新建的
+                if (!Files.isDirectory(dir)) {
+                    throw e;
+                }
+            }
+            knownDirectories.put(dir, true);
+            return true;
+        }
+
+        Path firstMissing = journal.createDirectories(dir);
+        // 记录 dir 及其上级目录，firstMissing 及以下的目录是本次新建的
+        boolean created = firstMissing != null;
+        for (Path current = dir; current != null && !knownDirectories.containsKey(current); current = current.getParent()) {
+            knownDirectories.put(current, created);
+            if (current.equals(firstMissing)) {
+                created = false;
+            }
+        }
+        return firstMissing != null;
+    }
+
+    /**
+     * 编码到当前线程的直接缓冲区，返回的缓冲区已 flip，可直接写出
+     */
+    private static ByteBuffer encode(String content) throws IOException {
+        CharsetEncoder encoder = ENCODER.get();
+        // 按最坏情况预留空间，一次编码完成，无需处理缓冲区溢出
+        long maxBytes = (long) Math.ceil(content.length() * (double) encoder.maxBytesPerChar());
+        if (maxBytes > Integer.MAX_VALUE) {
+            throw new IOException("Generated file is too large: " + content.length() + " chars");
+        }
+        ByteBuffer buffer = BUFFER.get();
+        if (buffer.capacity() < maxBytes) {
+            buffer = ByteBuffer.allocateDirect(Math.max((int) maxBytes, buffer.capacity() * 2));
+            if (buffer.capacity() <= MAX_CACHED_BUFFER_SIZE) {
+                BUFFER.set(buffer);
+            }
+        }
+
+        buffer.clear();
+        encoder.reset();
+        CoderResult result = encoder.encode(CharBuffer.wrap(content), buffer, true);
+        if (result.isUnderflow()) {
+            result = encoder.flush(buffer);
+        }
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,200 @@
+package com.wd.maven.aggregation;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按清单批量生成项目
+ * 清单为JSON：可以是项目数组，也可以是 {"outputRoot": "...", "projects": [...]} 对象。
+ * 每个项目的字段与 {@link MavenAggregationSettings} 一致，另加 outputDir 指定生成目录
+ * （相对路径按 outputRoot 或清单所在目录解析，缺省为 artifactId）。
+ * 各项目在有界线程池上并发生成，单个项目内部串行写出，避免线程数成倍增长
+ */
+public class BatchGenerationRunner {
+
+    private final ParallelGenerationEngine engine;
+
+    public BatchGenerationRunner(ParallelGenerationEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * 清单中的单个项目
+     */
+    public static class Entry {
+        private final Path outputDir;
+        private final MavenAggregationSettings settings;
+
+        public Entry(Path outputDir, MavenAggregationSettings settings) {
+            this.outputDir = outputDir;
+            this.settings = settings;
+        }
+
+        public Path getOutputDir() {
+            return outputDir;
+        }
+
+        public MavenAggregationSettings getSettings() {
+            return settings;
+        }
+    }
+
+    /**
+     * 批量生成的汇总结果
+     */
+    public static class Summary {
+        private final GenerationReport report;
+        private final List<GenerationReport> projectReports;
+        private final long durationMillis;
+        private final int parallelism;
+
+        Summary(GenerationReport report, List<GenerationReport> projectReports, long durationMillis, int parallelism) {
+            this.report = report;
+            this.projectReports = projectReports;
+            this.durationMillis = durationMillis;
+            this.parallelism = parallelism;
+        }
+
+        public boolean isSuccess() {
+            if (!report.isSuccess()) {
+                return false;
+            }
+            for (GenerationReport projectReport : projectReports) {
+                if (!projectReport.isSuccess()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public int getProjectCount() {
+            return projectReports.size();
+        }
+
+        public int getFileCount() {
+            int files = 0;
+            for (GenerationReport projectReport : projectReports) {
+                files += projectReport.getFileCount();
+            }
+            return files;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public List<GenerationReport> getProjectReports() {
+            return Collections.unmodifiableList(projectReports);
+        }
+
+        /**
+         * 吞吐量摘要：项目数/秒、文件数/秒
+         */
+        public String format() {
+            double seconds = Math.max(durationMillis, 1) / 1000.0;
+            StringBuilder out = new StringBuilder();
+            for (GenerationReport projectReport : projectReports) {
+                out.append(projectReport.getSummary()).append('\n');
+            }
+            for (GenerationReport.UnitResult failure : report.getFailures()) {
+                out.append("项目 ").append(failure.getUnit()).append(" 生成失败: ").append(failure.getErrorMessage()).append('\n');
+            }
+            out.append(String.format("共 %d 个项目, %d 个文件, 耗时 %.2fs, %.1f projects/sec, %.1f files/sec, 并行度 %d",
+                    getProjectCount(), getFileCount(), seconds,
+                    getProjectCount() / seconds, getFileCount() / seconds, parallelism));
+            return out.toString();
+        }
+    }
+
+    /**
+     * 并发生成清单中的所有项目，按清单顺序汇总结果
+     */
+    public Summary run(List<Entry> entries) {
+        long startTime = System.currentTimeMillis();
+        List<String> keys = new ArrayList<>(entries.size());
+        Map<String, Entry> entriesByKey = new ConcurrentHashMap<>();
+        Map<String, GenerationReport> reportsByKey = new ConcurrentHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            String key = i + ":" + entries.get(i).getSettings().getArtifactId();
+            keys.add(key);
+            entriesByKey.put(key, entries.get(i));
+        }
+
+        GenerationReport report = engine.execute("batch", keys, key -> {
+            Entry entry = entriesByKey.get(key);
+            // 项目之间已经并行，单个项目内部使用单线程引擎
+            ParallelGenerationEngine projectEngine = new ParallelGenerationEngine(1);
+            GeneratedFileWriter writer = entry.getSettings().isStaged()
+                    ? new StagedGeneratedFileWriter(projectEngine, false)
+                    : new NioGeneratedFileWriter(projectEngine, false);
+            AggregationProjectGenerator generator = new AggregationProjectGenerator(projectEngine, writer);
+            Files.createDirectories(entry.getOutputDir());
+            reportsByKey.put(key, generator.generateProject(entry.getOutputDir(), entry.getSettings(), null));
+        });
+
+        List<GenerationReport> projectReports = new ArrayList<>();
+        for (String key : keys) {
+            GenerationReport projectReport = reportsByKey.get(key);
+            if (projectReport != null) {
+                projectReports.add(projectReport);
+            }
+        }
+        return new Summary(report, projectReports, System.currentTimeMillis() - startTime, engine.getParallelism());
+    }
+
+    /**
+     * 解析清单文件
+     */
+    public static List<Entry> readManifest(Path manifest) throws IOException {
+        JsonElement root;
+        try (Reader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            root = JsonParser.parseReader(reader);
+        }
+
+        Path baseDir = manifest.toAbsolutePath().getParent();
+        JsonArray projects;
+        if (root.isJsonArray()) {
+            projects = root.getAsJsonArray();
+        } else if (root.isJsonObject() && root.getAsJsonObject().has("projects")) {
+            JsonObject object = root.getAsJsonObject();
+            if (object.has("outputRoot")) {
+                baseDir = baseDir.resolve(object.get("outputRoot").getAsString());
+            }
+            projects = object.getAsJsonArray("projects");
+        } else {
+            throw new IOException("Manifest must be a JSON array or an object with a \"projects\" array: " + manifest);
+        }
+
+        Gson gson = new Gson();
+        List<Entry> entries = new ArrayList<>(projects.size());
+        for (JsonElement element : projects) {
+            JsonObject project = element.getAsJsonObject();
+            MavenAggregationSettings settings = gson.fromJson(project, MavenAggregationSettings.class);
+            if (settings.getArchitectureType() == null) {
+                // Gson 遇到未知的枚举名会静默置为 null
+                throw new IOException("Unknown architectureType in manifest: " + project.get("architectureType"));
+            }
+            if (settings.getModules() == null || settings.getModuleDependencies() == null) {
+                // 显式的 null 会覆盖字段默认值
+                throw new IOException("modules and moduleDependencies must not be null in manifest project " + settings.getArtifactId());
+            }
+            String outputDir = project.has("outputDir") ? project.get("outputDir").getAsString() : settings.getArtifactId();
+            entries.add(new Entry(baseDir.resolve(outputDir), settings));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,264 @@
+package com.wd.maven.aggregation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译后的模板渲染树
+ * 支持 Mustache 语法的子集：变量 {{name}}、当前元素 {{.}}、区块 {{#name}}...{{/name}}、
+ * 反向区块 {{^name}}...{{/name}} 和注释 {{! ...}}。
+ * 单独占一行的区块标签和注释会连同换行一起移除，模板可以按目标文件的缩进书写。
+ * 渲染树不可变，可以在多个线程之间共享
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    private final List<Node> nodes;
+    private final int staticLength;
+
+    // 上一次渲染的输出长度，用于预估下一次渲染的缓冲区大小
+    private volatile int lastRenderedLength;
+
+    private CompiledTemplate(String name, List<Node> nodes) {
+        this.name = name;
+        this.nodes = nodes;
+        this.staticLength = staticLength(nodes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 渲染模板，缓冲区按模板静态文本长度和上一次输出长度预先分配
+     */
+    public String render(Map<String, ?> context) {
+        StringBuilder out = new StringBuilder(Math.max(staticLength, lastRenderedLength) + 64);
+        renderTo(out, context);
+        lastRenderedLength = out.length();
+        return out.toString();
+    }
+
+    /**
+     * 渲染到调用方提供的缓冲区
+     */
+    public void renderTo(StringBuilder out, Map<String, ?> context) {
+        Deque<Object> scopes = new ArrayDeque<>();
+        scopes.push(context);
+        renderNodes(nodes, out, scopes);
+    }
+
+    /**
+     * 将模板源码编译为渲染树
+     * @throws IllegalArgumentException 模板语法错误（标签未闭合、区块不匹配）时抛出
+     */
+    public static CompiledTemplate compile(String name, String source) {
+        List<Node> root = new ArrayList<>();
+        Deque<SectionNode> openSections = new ArrayDeque<>();
+        List<Node> current = root;
+
+        int position = 0;
+        while (position < source.length()) {
+            int tagStart = source.indexOf(OPEN, position);
+            if (tagStart < 0) {
+                current.add(new TextNode(source.substring(position)));
+                break;
+            }
+            int tagEnd = source.indexOf(CLOSE, tagStart + OPEN.length());
+            if (tagEnd < 0) {
+                throw new IllegalArgumentException(name + ": unclosed tag at offset " + tagStart);
+            }
+            String tag = source.substring(tagStart + OPEN.length(), tagEnd).trim();
+            int afterTag = tagEnd + CLOSE.length();
+            char kind = tag.isEmpty() ? ' ' : tag.charAt(0);
+            boolean structural = kind == '#' || kind == '^' || kind == '/' || kind == '!';
+
+            // 单独占一行的结构性标签：去掉该行的前导空白和结尾换行
+            int textEnd = tagStart;
+            if (structural) {
+                int lineStart = source.lastIndexOf('\n', tagStart - 1) + 1;
+                int lineEnd = lineEndAfter(source, afterTag);
+                if (lineEnd >= 0 && isBlank(source, lineStart, tagStart) && lineStart >= position) {
+                    textEnd = lineStart;
+                    afterTag = lineEnd;
+                }
+            }
+            if (textEnd > position) {
+                current.add(new TextNode(source.substring(position, textEnd)));
+            }
+
+            if (kind == '#' || kind == '^') {
+                SectionNode section = new SectionNode(tag.substring(1).trim(), kind == '^');
+                current.add(section);
+                openSections.push(section);
+                current = section.children;
+            } else if (kind == '/') {
+                String sectionName = tag.substring(1).trim();
+                if (openSections.isEmpty() || !openSections.peek().key.equals(sectionName)) {
+                    throw new IllegalArgumentException(name + ": unexpected closing tag {{/" + sectionName + "}}");
+                }
+                openSections.pop();
+                current = openSections.isEmpty() ? root : openSections.peek().children;
+            } else if (kind != '!') {
+                current.add(new VariableNode(tag));
+            }
+            position = afterTag;
+        }
+
+        if (!openSections.isEmpty()) {
+            throw new IllegalArgumentException(name + ": unclosed section {{#" + openSections.peek().key + "}}");
+        }
+        return new CompiledTemplate(name, root);
+    }
+
+    private static int lineEndAfter(String source, int from) {
+        int index = from;
+        while (index < source.length() && (source.charAt(index) == ' ' || source.charAt(index) == '\t' || source.charAt(index) == '\r')) {
+            index++;
+        }
+        if (index == source.length()) {
+            return index;
+        }
+        return source.charAt(index) == '\n' ? index + 1 : -1;
+    }
+
+    private static boolean isBlank(String source, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            if (c != ' ' && c != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int staticLength(List<Node> nodes) {
+        int length = 0;
+        for (Node node : nodes) {
+            if (node instanceof TextNode) {
+                length += ((TextNode) node).text.length();
+            } else if (node instanceof SectionNode) {
+                length += staticLength(((SectionNode) node).children);
+            }
+        }
+        return length;
+    }
+
+    private static void renderNodes(List<Node> nodes, StringBuilder out, Deque<Object> scopes) {
+        for (Node node : nodes) {
+            node.render(out, scopes);
+        }
+    }
+
+    /**
+     * 从内到外依次在作用域中查找变量
+     */
+    private static Object lookup(String key, Deque<Object> scopes) {
+        if (".".equals(key)) {
+            return scopes.peek();
+        }
+        Iterator<Object> iterator = scopes.iterator();
+        while (iterator.hasNext()) {
+            Object scope = iterator.next();
+            if (scope instanceof Map && ((Map<?, ?>) scope).containsKey(key)) {
+                return ((Map<?, ?>) scope).get(key);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isTruthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Collection) {
+            return !((Collection<?>) value).isEmpty();
+        }
+        if (value instanceof String) {
+            return !((String) value).isEmpty();
+        }
+        return true;
+    }
+
+    private interface Node {
+        void render(StringBuilder out, Deque<Object> scopes);
+    }
+
+    private static final class TextNode implements Node {
+        private final String text;
+
+        TextNode(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(StringBuilder out, Deque<Object> scopes) {
+            out.append(text);
+        }
+    }
+
+    private static final class VariableNode implements Node {
+        private final String key;
+
+        VariableNode(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void render(StringBuilder out, Deque<Object> scopes) {
+            Object value = lookup(key, scopes);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+    }
+
+    private static final class SectionNode implements Node {
+        private final String key;
+        private final boolean inverted;
+        private final List<Node> children = new ArrayList<>();
+
+        SectionNode(String key, boolean inverted) {
+            this.key = key;
+            this.inverted = inverted;
+        }
+
+        @Override
+        public void render(StringBuilder out, Deque<Object> scopes) {
+            Object value = lookup(key, scopes);
+            if (inverted) {
+                if (!isTruthy(value)) {
+                    renderNodes(children, out, scopes);
+                }
+                return;
+            }
+            if (!isTruthy(value)) {
+                return;
+            }
+            if (value instanceof Collection) {
+                for (Object item : (Collection<?>) value) {
+                    scopes.push(item);
+                    renderNodes(children, out, scopes);
+                    scopes.pop();
+                }
+            } else if (value instanceof Map) {
+                scopes.push(value);
+                renderNodes(children, out, scopes);
+                scopes.pop();
+            } else {
+                renderNodes(children, out, scopes);
+            }
+        }
+    }
+}
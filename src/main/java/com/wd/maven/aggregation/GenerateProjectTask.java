@@ -0,0 +1,105 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationAction;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 在后台线程中生成项目，避免阻塞EDT
+ * 进度条按阶段显示（目录、父POM、子模块POM、README/.gitignore），支持取消并回滚已写入的文件
+ */
+public class GenerateProjectTask extends Task.Backgroundable {
+
+    public static final String NOTIFICATION_GROUP = "Maven Aggregation Quickstart";
+    private static final Logger LOG = Logger.getInstance(GenerateProjectTask.class);
+
+    private final MavenAggregationSettings settings;
+    private final GeneratedFileSet previewFileSet;
+    private final String presetName;
+    private GenerationReport report;
+
+    public GenerateProjectTask(@NotNull Project project, @NotNull MavenAggregationSettings settings) {
+        this(project, settings, null, null);
+    }
+
+    /**
+     * @param previewFileSet 预览时已渲染的文件集，不为null时直接写出，不再重新渲染
+     * @param presetName 打开对话框时选择的预设，生成成功后排到最前
+     */
+    public GenerateProjectTask(@NotNull Project project, @NotNull MavenAggregationSettings settings,
+                               @Nullable GeneratedFileSet previewFileSet, @Nullable String presetName) {
+        super(project, "生成Maven聚合项目: " + settings.getArtifactId(), true);
+        this.settings = settings;
+        this.previewFileSet = previewFileSet;
+        this.presetName = presetName;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+        // 默认所有文件在一次VFS写操作中写出，VFS已感知新文件，无需再刷新项目根目录；
+        // 暂存模式先写入临时目录，全部成功后再移入项目并刷新一次
+        ParallelGenerationEngine engine = new ParallelGenerationEngine();
+        GeneratedFileWriter writer = settings.isStaged() ? new StagedGeneratedFileWriter(engine, true) : new VfsGeneratedFileWriter();
+        AggregationProjectGenerator generator = new AggregationProjectGenerator(engine, writer);
+        report = previewFileSet != null
+                ? generator.writeFileSet(previewFileSet, settings.getArtifactId(), indicator)
+                : generator.generateProject(getProject(), settings, indicator);
+    }
+
+    @Override
+    public void onSuccess() {
+        if (report == null) {
+            return;
+        }
+        if (!report.isSuccess()) {
+            notify(report.getSummary(), NotificationType.ERROR);
+            return;
+        }
+        // 只记住生成成功的设置，下次打开对话框直接回显
+        GenerationPresetStore.getInstance().markUsed(settings, presetName);
+        notifyMetrics(getProject(), report);
+        // 只把实际写出的POM交给Maven，未变化的模块无需重新导入
+        GeneratedPomListener.firePomsWritten(getProject(), report);
+    }
+
+    @Override
+    public void onCancel() {
+        notify("项目 " + settings.getArtifactId() + " 的生成已取消，已写入的文件已回滚", NotificationType.WARNING);
+    }
+
+    private void notify(String content, NotificationType type) {
+        Notifications.Bus.notify(new Notification(NOTIFICATION_GROUP, "Maven聚合项目", content, type), getProject());
+    }
+
+    /**
+     * 显示生成摘要和各阶段耗时，并提供导出JSON的操作
+     */
+    static void notifyMetrics(Project project, GenerationReport report) {
+        Notification notification = new Notification(NOTIFICATION_GROUP, "Maven聚合项目",
+                report.getSummary() + "<br>" + report.getMetrics().format(), NotificationType.INFORMATION);
+        notification.addAction(NotificationAction.createSimple("导出度量 (JSON)", () -> {
+            try {
+                Path exported = GenerationMetricsExporter.export(report);
+                Notifications.Bus.notify(new Notification(NOTIFICATION_GROUP, "Maven聚合项目",
+                        "生成度量已导出到 " + exported, NotificationType.INFORMATION), project);
+            } catch (IOException e) {
+                LOG.warn("导出生成度量失败", e);
+                Notifications.Bus.notify(new Notification(NOTIFICATION_GROUP, "Maven聚合项目",
+                        "导出生成度量失败: " + e.getMessage(), NotificationType.ERROR), project);
+            }
+            notification.expire();
+        }));
+        Notifications.Bus.notify(notification, project);
+    }
+}
@@ -0,0 +1,88 @@
+package com.wd.maven.aggregation;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 内存中的生成结果：项目根目录下需要创建的目录和文件
+ * 生成器先把完整的文件集渲染到内存，再由 {@link GeneratedFileWriter} 一次性写出。
+ * 路径统一为相对根目录、以 '/' 分隔的字符串并按字典序排列，保证父目录排在子路径之前，
+ * 且并行渲染时写出顺序与线程调度无关
+ */
+public class GeneratedFileSet {
+
+    private final Path root;
+    private final ConcurrentSkipListSet<String> directories = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListMap<String, String> files = new ConcurrentSkipListMap<>();
+
+    public GeneratedFileSet(Path root) {
+        this.root = root;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public void addDirectory(Path dir) {
+        directories.add(toRelative(dir));
+    }
+
+    public void addFile(Path file, String content) {
+        files.put(toRelative(file), content);
+    }
+
+    /**
+     * 相对根目录的目录列表（不含文件所在的隐式父目录）
+     */
+    public NavigableSet<String> getDirectories() {
+        return Collections.unmodifiableNavigableSet(directories);
+    }
+
+    /**
+     * 相对路径到文件内容的映射
+     */
+    public NavigableMap<String, String> getFiles() {
+        return Collections.unmodifiableNavigableMap(files);
+    }
+
+    public int getDirectoryCount() {
+        return directories.size();
+    }
+
+    public int getFileCount() {
+        return files.size();
+    }
+
+    /**
+     * 本次生成涉及的顶层路径（根目录的直接子项），刷新VFS时只需要刷新这些路径
+     */
+    public Set<String> getTopLevelPaths() {
+        Set<String> topLevel = new LinkedHashSet<>();
+        for (String dir : directories) {
+            topLevel.add(firstSegment(dir));
+        }
+        for (String file : files.keySet()) {
+            topLevel.add(firstSegment(file));
+        }
+        return topLevel;
+    }
+
+    public Path resolve(String relativePath) {
+        return root.resolve(relativePath);
+    }
+
+    private String toRelative(Path path) {
+        return root.relativize(path).toString().replace('\\', '/');
+    }
+
+    private static String firstSegment(String relativePath) {
+        int slash = relativePath.indexOf('/');
+        return slash < 0 ? relativePath : relativePath.substring(0, slash);
+    }
+}
@@ -0,0 +1,20 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+
+import java.io.IOException;
+
+/**
+ * 将内存中的生成结果写出到目标位置
+ */
+public interface GeneratedFileWriter {
+
+    /**
+     * 写出文件集中的所有目录和文件
+     * @param fileSet 生成结果
+     * @param indicator 进度指示器
+     * @return 写出报告，按文件路径记录成功/失败
+     * @throws IOException 写出过程无法继续时抛出
+     */
+    GenerationReport write(GeneratedFileSet fileSet, ProgressIndicator indicator) throws IOException;
+}
@@ -0,0 +1,32 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.extensions.ExtensionPointName;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 生成完成后接收本次实际写出的 pom.xml
+ * Maven 插件可用时由 {@link MavenReimportListener} 实现（见 maven-support.xml），只重新导入变化的模块
+ */
+public interface GeneratedPomListener {
+
+    ExtensionPointName<GeneratedPomListener> EP_NAME = ExtensionPointName.create("com.wd.maven-aggregation.generatedPomListener");
+
+    void pomsWritten(@NotNull Project project, @NotNull List<Path> poms);
+
+    /**
+     * 把生成报告中实际写出的POM通知给所有监听器
+     */
+    static void firePomsWritten(@NotNull Project project, @NotNull GenerationReport report) {
+        List<Path> touchedPoms = report.getTouchedPoms();
+        if (touchedPoms.isEmpty()) {
+            return;
+        }
+        for (GeneratedPomListener listener : EP_NAME.getExtensionList()) {
+            listener.pomsWritten(project, touchedPoms);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 生成过程的回滚日志
+ * 记录本次生成新建的目录、新建的文件以及被覆盖文件的原始内容，
+ * 用户取消生成时按相反顺序撤销，使项目目录恢复到生成前的状态
+ */
+public class GenerationJournal {
+
+    private static final Logger LOG = Logger.getInstance(GenerationJournal.class);
+
+    private final List<Entry> entries = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * 创建目录（含不存在的父目录），只记录本次新建的最外层目录
+     * @return 本次新建的最外层目录，目录已存在时返回null
+     */
+    public Path createDirectories(Path dir) throws IOException {
+        Path firstMissing = null;
+        for (Path current = dir; current != null && !Files.exists(current); current = current.getParent()) {
+            firstMissing = current;
+        }
+        Files.createDirectories(dir);
+        if (firstMissing != null) {
+            entries.add(new Entry(firstMissing, true, null));
+        }
+        return firstMissing;
+    }
+
+    /**
+     * 在写入可能已存在的文件之前调用，记录文件是新建的还是被覆盖的；父目录需已存在
+     */
+    public void beforeWrite(Path file) throws IOException {
+        byte[] original = Files.exists(file) ? Files.readAllBytes(file) : null;
+        entries.add(new Entry(file, false, original));
+    }
+
+    /**
+     * 记录一个确定不存在的新文件（如位于本次新建的目录中），省去检查原文件的开销
+     */
+    public void recordNewFile(Path file) {
+        entries.add(new Entry(file, false, null));
+    }
+
+    /**
+     * 按记录的相反顺序撤销所有修改
+     */
+    public void rollback() {
+        List<Entry> snapshot;
+        synchronized (entries) {
+            snapshot = new ArrayList<>(entries);
+            entries.clear();
+        }
+        Collections.reverse(snapshot);
+        for (Entry entry : snapshot) {
+            try {
+                if (entry.directory) {
+                    deleteRecursively(entry.path);
+                } else if (entry.originalContent != null) {
+                    Files.write(entry.path, entry.originalContent);
+                } else {
+                    Files.deleteIfExists(entry.path);
+                }
+            } catch (IOException e) {
+                LOG.warn("Failed to roll back: " + entry.path, e);
+            }
+        }
+        LOG.info("已回滚 " + snapshot.size() + " 项生成内容");
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        if (Files.isDirectory(path)) {
+            List<Path> children = new ArrayList<>();
+            try (Stream<Path> stream = Files.list(path)) {
+                stream.forEach(children::add);
+            }
+            for (Path child : children) {
+                deleteRecursively(child);
+            }
+        }
+        Files.deleteIfExists(path);
+    }
+
+    private static class Entry {
+        private final Path path;
+        private final boolean directory;
+        private final byte[] originalContent;
+
+        Entry(Path path, boolean directory, byte[] originalContent) {
+            this.path = path;
+            this.directory = directory;
+            this.originalContent = originalContent;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.wd.maven.aggregation;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.intellij.ide.plugins.PluginManagerCore;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.extensions.PluginId;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 把生成报告中的度量导出为JSON，便于跨插件版本对比生成耗时
+ * 默认导出到 ~/.maven-aggregation/metrics，每次生成一个文件
+ */
+public final class GenerationMetricsExporter {
+
+    private static final String PLUGIN_ID = "com.wd.maven-aggregation";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private GenerationMetricsExporter() {
+    }
+
+    /**
+     * 单个项目的度量
+     */
+    public static JsonObject toJson(GenerationReport report) {
+        GenerationMetrics metrics = report.getMetrics();
+        JsonObject json = new JsonObject();
+        json.addProperty("artifactId", report.getArtifactId());
+        json.addProperty("pluginVersion", pluginVersion());
+        json.addProperty("success", report.isSuccess());
+        json.addProperty("durationMillis", report.getDurationMillis());
+
+        JsonObject phases = new JsonObject();
+        for (Map.Entry<GenerationMetrics.Phase, Long> entry : metrics.getPhaseNanos().entrySet()) {
+            // 保留小数，快的阶段往往不到1ms
+            phases.addProperty(entry.getKey().getKey(), entry.getValue() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        json.add("phaseMillis", phases);
+
+        json.addProperty("directories", metrics.getDirectoryCount());
+        json.addProperty("files", report.getFileCount());
+        json.addProperty("bytes", metrics.getByteCount());
+        json.addProperty("mergedFiles", report.getMergedFileCount());
+        json.addProperty("skippedFiles", report.getSkippedFileCount());
+        return json;
+    }
+
+    /**
+     * 写出多个项目的度量（JSON数组），供批量生成使用
+     */
+    public static void write(List<GenerationReport> reports, Path target) throws IOException {
+        JsonArray array = new JsonArray();
+        for (GenerationReport report : reports) {
+            array.add(toJson(report));
+        }
+        writeJson(GSON.toJson(array), target);
+    }
+
+    /**
+     * 导出到默认目录，文件名为 artifactId-时间戳.json
+     * @return 导出的文件
+     */
+    public static Path export(GenerationReport report) throws IOException {
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        Path target = defaultExportDir().resolve(report.getArtifactId() + "-" + timestamp + ".json");
+        writeJson(GSON.toJson(toJson(report)), target);
+        return target;
+    }
+
+    private static void writeJson(String json, Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(target, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path defaultExportDir() {
+        return Paths.get(System.getProperty("user.home"), ".maven-aggregation", "metrics");
+    }
+
+    /**
+     * 当前插件版本，不在IDE中运行时（如单独驱动生成器）为 "unknown"
+     */
+    private static String pluginVersion() {
+        if (ApplicationManager.getApplication() == null) {
+            return "unknown";
+        }
+        IdeaPluginDescriptor plugin = PluginManagerCore.getPlugin(PluginId.getId(PLUGIN_ID));
+        return plugin != null ? plugin.getVersion() : "unknown";
+    }
+}
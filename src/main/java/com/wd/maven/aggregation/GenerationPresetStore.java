@@ -0,0 +1,212 @@
+package com.wd.maven.aggregation;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 生成设置的预设（应用级，跨项目共享）
+ * 保存命名预设和上一次生成使用的设置，按最近使用排序。
+ * 状态只在IDE启动时由平台加载一次，之后都从内存中的缓存读取，打开对话框不会重新解析XML；
+ * 返回给调用方的都是副本，修改副本不影响已保存的预设。
+ * 导入导出使用JSON数组，每个元素是带 name 字段的设置，字段与批量生成清单中的项目相同
+ */
+@State(name = "MavenAggregationPresets", storages = @Storage("mavenAggregationPresets.xml"))
+public class GenerationPresetStore implements PersistentStateComponent<GenerationPresetStore.PresetState> {
+
+    /**
+     * 最多保留的预设数，超过时淘汰最久未使用的
+     */
+    public static final int MAX_PRESETS = 30;
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final String NAME = "name";
+
+    /**
+     * 持久化的状态，由平台序列化为XML
+     */
+    public static class PresetState {
+        public List<Preset> presets = new ArrayList<>();
+        public MavenAggregationSettings lastUsed;
+    }
+
+    /**
+     * 一个命名预设
+     */
+    public static class Preset {
+        public String name;
+        public long lastUsedAt;
+        public MavenAggregationSettings settings;
+    }
+
+    // 按最近使用排序，最近使用的在前
+    private final Map<String, Preset> presets = new LinkedHashMap<>();
+    private MavenAggregationSettings lastUsed;
+
+    public static GenerationPresetStore getInstance() {
+        return ApplicationManager.getApplication().getService(GenerationPresetStore.class);
+    }
+
+    @Override
+    public synchronized PresetState getState() {
+        PresetState state = new PresetState();
+        state.presets.addAll(presets.values());
+        state.lastUsed = lastUsed;
+        return state;
+    }
+
+    @Override
+    public synchronized void loadState(@NotNull PresetState state) {
+        presets.clear();
+        List<Preset> sorted = new ArrayList<>(state.presets);
+        sorted.sort(Comparator.comparingLong((Preset preset) -> preset.lastUsedAt).reversed());
+        for (Preset preset : sorted) {
+            if (preset.name != null && preset.settings != null) {
+                presets.put(preset.name, preset);
+            }
+        }
+        lastUsed = state.lastUsed;
+    }
+
+    /**
+     * 预设名，最近使用的在前
+     */
+    public synchronized List<String> getPresetNames() {
+        return new ArrayList<>(presets.keySet());
+    }
+
+    /**
+     * 预设的副本，不存在时返回null
+     */
+    @Nullable
+    public synchronized MavenAggregationSettings get(String name) {
+        Preset preset = presets.get(name);
+        return preset != null ? preset.settings.copy() : null;
+    }
+
+    /**
+     * 打开对话框和向导时使用的初始设置：上一次生成使用的设置，没有时为默认设置
+     */
+    public synchronized MavenAggregationSettings getInitialSettings() {
+        return lastUsed != null ? lastUsed.copy() : new MavenAggregationSettings();
+    }
+
+    /**
+     * 保存为命名预设，同名时覆盖，并排到最前
+     */
+    public synchronized void save(String name, MavenAggregationSettings settings) {
+        Preset preset = new Preset();
+        preset.name = name;
+        preset.settings = settings.copy();
+        put(preset);
+    }
+
+    public synchronized void remove(String name) {
+        presets.remove(name);
+    }
+
+    /**
+     * 记录一次生成使用的设置；从预设打开时同时把该预设排到最前
+     */
+    public synchronized void markUsed(MavenAggregationSettings settings, @Nullable String presetName) {
+        lastUsed = settings.copy();
+        Preset preset = presetName != null ? presets.get(presetName) : null;
+        if (preset != null) {
+            put(preset);
+        }
+    }
+
+    /**
+     * 导出全部预设
+     */
+    public void exportTo(Path target) throws IOException {
+        JsonArray array = new JsonArray();
+        synchronized (this) {
+            for (Preset preset : presets.values()) {
+                JsonObject json = GSON.toJsonTree(preset.settings).getAsJsonObject();
+                json.addProperty(NAME, preset.name);
+                array.add(json);
+            }
+        }
+        Files.write(target, GSON.toJson(array).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 导入预设，同名的覆盖已有预设；文件有任何一项无效时不导入
+     * @return 导入的预设数
+     */
+    public int importFrom(Path source) throws IOException {
+        JsonElement root;
+        try {
+            root = JsonParser.parseString(new String(Files.readAllBytes(source), StandardCharsets.UTF_8));
+        } catch (JsonParseException e) {
+            throw new IOException("Invalid preset file: " + source + ": " + e.getMessage(), e);
+        }
+        if (!root.isJsonArray()) {
+            throw new IOException("Preset file must be a JSON array: " + source);
+        }
+
+        List<Preset> imported = new ArrayList<>();
+        for (JsonElement element : root.getAsJsonArray()) {
+            JsonObject json = element.getAsJsonObject();
+            if (!json.has(NAME)) {
+                throw new IOException("Preset without a name in " + source);
+            }
+            Preset preset = new Preset();
+            preset.name = json.get(NAME).getAsString();
+            preset.settings = GSON.fromJson(json, MavenAggregationSettings.class);
+            if (preset.settings.getArchitectureType() == null) {
+                // Gson 遇到未知的枚举名会静默置为 null
+                throw new IOException("Unknown architectureType in preset " + preset.name + ": " + json.get("architectureType"));
+            }
+            if (preset.settings.getModules() == null || preset.settings.getModuleDependencies() == null) {
+                // 显式的 null 会覆盖字段默认值
+                throw new IOException("modules and moduleDependencies must not be null in preset " + preset.name);
+            }
+            imported.add(preset);
+        }
+        synchronized (this) {
+            // 倒序插入，导入后保持文件中的顺序
+            for (int i = imported.size() - 1; i >= 0; i--) {
+                put(imported.get(i));
+            }
+        }
+        return imported.size();
+    }
+
+    private void put(Preset preset) {
+        preset.lastUsedAt = System.currentTimeMillis();
+        presets.remove(preset.name);
+        // 重新插入到最前
+        Map<String, Preset> reordered = new LinkedHashMap<>();
+        reordered.put(preset.name, preset);
+        for (Preset other : presets.values()) {
+            if (reordered.size() >= MAX_PRESETS) {
+                break;
+            }
+            reordered.put(other.name, other);
+        }
+        presets.clear();
+        presets.putAll(reordered);
+    }
+}
@@ -0,0 +1,101 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 生成预览：只在内存中渲染，不写磁盘、不刷新VFS
+ * 渲染结果与实际生成完全相同（增量模式下已与磁盘上的POM合并），确认后把同一个文件集交给写出器一次写出
+ */
+public class GenerationPreview {
+
+    private final GeneratedFileSet fileSet;
+    private final GenerationReport report;
+    // 将被覆盖的已有文件的当前内容，用于显示差异
+    private final Map<String, String> existingContents;
+
+    private GenerationPreview(GeneratedFileSet fileSet, GenerationReport report, Map<String, String> existingContents) {
+        this.fileSet = fileSet;
+        this.report = report;
+        this.existingContents = existingContents;
+    }
+
+    /**
+     * 按设置渲染项目但不写出
+     * @throws IOException 渲染失败时抛出，消息为报告摘要
+     */
+    public static GenerationPreview render(Path projectPath, MavenAggregationSettings settings, @Nullable ProgressIndicator indicator) throws IOException {
+        CapturingWriter writer = new CapturingWriter();
+        AggregationProjectGenerator generator = new AggregationProjectGenerator(new ParallelGenerationEngine(), writer);
+        GenerationReport report = generator.generateProject(projectPath, settings, indicator);
+        if (!report.isSuccess() || writer.fileSet == null) {
+            throw new IOException(report.getSummary());
+        }
+
+        Map<String, String> existing = new HashMap<>();
+        for (String relativePath : writer.fileSet.getFiles().keySet()) {
+            Path path = writer.fileSet.resolve(relativePath);
+            if (Files.isRegularFile(path)) {
+                existing.put(relativePath, new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            }
+        }
+        return new GenerationPreview(writer.fileSet, report, existing);
+    }
+
+    /**
+     * 将要写出的文件集，确认后交给 {@link AggregationProjectGenerator#writeFileSet}
+     */
+    public GeneratedFileSet getFileSet() {
+        return fileSet;
+    }
+
+    public GenerationReport getReport() {
+        return report;
+    }
+
+    /**
+     * 文件是否会覆盖磁盘上已有的文件
+     */
+    public boolean isModified(String relativePath) {
+        return existingContents.containsKey(relativePath);
+    }
+
+    public int getModifiedFileCount() {
+        return existingContents.size();
+    }
+
+    public int getNewFileCount() {
+        return fileSet.getFileCount() - existingContents.size();
+    }
+
+    /**
+     * 已有文件与生成内容的差异；新文件返回null
+     */
+    public String getDiff(String relativePath) {
+        String existing = existingContents.get(relativePath);
+        if (existing == null) {
+            return null;
+        }
+        return LineDiff.unified(existing, fileSet.getFiles().get(relativePath));
+    }
+
+    /**
+     * 只记录文件集、不写出的写出器
+     */
+    private static class CapturingWriter implements GeneratedFileWriter {
+        private GeneratedFileSet fileSet;
+
+        @Override
+        public GenerationReport write(GeneratedFileSet fileSet, ProgressIndicator indicator) {
+            this.fileSet = fileSet;
+            return new GenerationReport(fileSet.getRoot().toString());
+        }
+    }
+}
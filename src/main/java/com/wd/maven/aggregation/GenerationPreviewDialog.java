@@ -0,0 +1,124 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreePath;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 显示生成预览：左侧为将要写出的目录树，右侧为选中文件的内容，覆盖已有文件时显示差异
+ * 点击“写入”后由调用方把预览的文件集写出
+ */
+public class GenerationPreviewDialog extends DialogWrapper {
+
+    private final GenerationPreview preview;
+    private JTextArea contentArea;
+
+    public GenerationPreviewDialog(Project project, GenerationPreview preview) {
+        super(project);
+        this.preview = preview;
+        setTitle("预览生成结果");
+        setOKButtonText("写入");
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel panel = new JPanel(new BorderLayout(0, 5));
+        GeneratedFileSet fileSet = preview.getFileSet();
+        panel.add(new JBLabel(String.format("将写出 %d 个文件（新增 %d，修改 %d），创建 %d 个目录",
+                fileSet.getFileCount(), preview.getNewFileCount(), preview.getModifiedFileCount(),
+                fileSet.getDirectoryCount())), BorderLayout.NORTH);
+
+        JTree tree = new JTree(buildTree(fileSet));
+        tree.setRootVisible(true);
+        tree.addTreeSelectionListener(e -> showSelected(e.getPath()));
+        for (int row = 0; row < tree.getRowCount() && row < 2; row++) {
+            tree.expandRow(row);
+        }
+
+        contentArea = new JTextArea();
+        contentArea.setEditable(false);
+        contentArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, contentArea.getFont().getSize()));
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, new JBScrollPane(tree), new JBScrollPane(contentArea));
+        splitPane.setDividerLocation(280);
+        splitPane.setPreferredSize(new Dimension(900, 560));
+        panel.add(splitPane, BorderLayout.CENTER);
+        return panel;
+    }
+
+    /**
+     * 按路径分段构建目录树，文件节点保存相对路径
+     */
+    private DefaultMutableTreeNode buildTree(GeneratedFileSet fileSet) {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode(fileSet.getRoot().getFileName() + "/");
+        Map<String, DefaultMutableTreeNode> directories = new HashMap<>();
+        directories.put("", root);
+        for (String dir : fileSet.getDirectories()) {
+            directoryNode(dir, directories);
+        }
+        for (String file : fileSet.getFiles().keySet()) {
+            int slash = file.lastIndexOf('/');
+            DefaultMutableTreeNode parent = slash < 0 ? root : directoryNode(file.substring(0, slash), directories);
+            parent.add(new DefaultMutableTreeNode(new FileEntry(file, preview.isModified(file))));
+        }
+        return root;
+    }
+
+    private DefaultMutableTreeNode directoryNode(String dir, Map<String, DefaultMutableTreeNode> directories) {
+        DefaultMutableTreeNode node = directories.get(dir);
+        if (node != null) {
+            return node;
+        }
+        int slash = dir.lastIndexOf('/');
+        DefaultMutableTreeNode parent = slash < 0 ? directories.get("") : directoryNode(dir.substring(0, slash), directories);
+        node = new DefaultMutableTreeNode(dir.substring(slash + 1) + "/");
+        parent.add(node);
+        directories.put(dir, node);
+        return node;
+    }
+
+    private void showSelected(TreePath path) {
+        Object value = ((DefaultMutableTreeNode) path.getLastPathComponent()).getUserObject();
+        if (!(value instanceof FileEntry)) {
+            contentArea.setText("");
+            return;
+        }
+        String relativePath = ((FileEntry) value).relativePath;
+        String diff = preview.getDiff(relativePath);
+        if (diff == null) {
+            contentArea.setText(preview.getFileSet().getFiles().get(relativePath));
+        } else {
+            contentArea.setText(diff.isEmpty() ? "(内容与已有文件相同)" : diff);
+        }
+        contentArea.setCaretPosition(0);
+    }
+
+    /**
+     * 树中的文件节点
+     */
+    private static class FileEntry {
+        private final String relativePath;
+        private final boolean modified;
+
+        FileEntry(String relativePath, boolean modified) {
+            this.relativePath = relativePath;
+            this.modified = modified;
+        }
+
+        @Override
+        public String toString() {
+            String name = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+            return name + (modified ? "  [修改]" : "  [新增]");
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.wd.maven.aggregation;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 项目生成结果汇总，按提交顺序记录每个生成单元（模块、父POM、辅助文件等）的成功/失败情况
+ */
+public class GenerationReport {
+
+    private final String artifactId;
+    private final List<UnitResult> results = new ArrayList<>();
+    private long durationMillis;
+    private int fileCount;
+    private int skippedFileCount;
+    private int mergedFileCount;
+    private List<Path> writtenFiles = Collections.emptyList();
+    private final GenerationMetrics metrics = new GenerationMetrics();
+
+    public GenerationReport(String artifactId) {
+        this.artifactId = artifactId;
+    }
+
+    public void addSuccess(String unit) {
+        results.add(new UnitResult(unit, null));
+    }
+
+    public void addFailure(String unit, Throwable error) {
+        results.add(new UnitResult(unit, error));
+    }
+
+    /**
+     * 按顺序合并另一份报告的结果，度量一并累加
+     */
+    public void merge(GenerationReport other) {
+        results.addAll(other.results);
+        metrics.merge(other.metrics);
+    }
+
+    public boolean isSuccess() {
+        for (UnitResult result : results) {
+            if (!result.isSuccess()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<UnitResult> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    public List<UnitResult> getFailures() {
+        List<UnitResult> failures = new ArrayList<>();
+        for (UnitResult result : results) {
+            if (!result.isSuccess()) {
+                failures.add(result);
+            }
+        }
+        return failures;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 本次写出的文件数
+     */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public void setFileCount(int fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    /**
+     * 增量生成时内容未变化、没有写出的文件数
+     */
+    public int getSkippedFileCount() {
+        return skippedFileCount;
+    }
+
+    public void setSkippedFileCount(int skippedFileCount) {
+        this.skippedFileCount = skippedFileCount;
+    }
+
+    /**
+     * 增量生成时合并到已有POM的文件数
+     */
+    public int getMergedFileCount() {
+        return mergedFileCount;
+    }
+
+    public void setMergedFileCount(int mergedFileCount) {
+        this.mergedFileCount = mergedFileCount;
+    }
+
+    /**
+     * 本次实际写出的文件
+     */
+    public List<Path> getWrittenFiles() {
+        return writtenFiles;
+    }
+
+    public void setWrittenFiles(List<Path> writtenFiles) {
+        this.writtenFiles = Collections.unmodifiableList(new ArrayList<>(writtenFiles));
+    }
+
+    /**
+     * 各阶段耗时和目录/字节计数
+     */
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 本次写出的 pom.xml，只有这些模块需要重新导入Maven
+     */
+    public List<Path> getTouchedPoms() {
+        List<Path> poms = new ArrayList<>();
+        for (Path file : writtenFiles) {
+            if ("pom.xml".equals(file.getFileName().toString())) {
+                poms.add(file);
+            }
+        }
+        return poms;
+    }
+
+    /**
+     * 生成一行摘要，供日志和通知使用
+     */
+    public String getSummary() {
+        List<UnitResult> failures = getFailures();
+        if (failures.isEmpty()) {
+            String summary = "项目 " + artifactId + " 生成成功: " + results.size() + " 个单元, 耗时 " + durationMillis + "ms";
+            if (skippedFileCount > 0 || mergedFileCount > 0) {
+                summary += ", 合并 " + mergedFileCount + " 个POM, 跳过 " + skippedFileCount + " 个未变化的文件";
+            }
+            return summary;
+        }
+        StringBuilder summary = new StringBuilder();
+        summary.append("项目 ").append(artifactId).append(" 生成失败: ")
+               .append(failures.size()).append("/").append(results.size()).append(" 个单元出错");
+        for (UnitResult failure : failures) {
+            summary.append("\n  - ").append(failure.getUnit()).append(": ").append(failure.getErrorMessage());
+        }
+        return summary.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+
+    /**
+     * 单个生成单元的结果
+     */
+    public static class UnitResult {
+        private final String unit;
+        private final Throwable error;
+
+        UnitResult(String unit, Throwable error) {
+            this.unit = unit;
+            this.error = error;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        public String getErrorMessage() {
+            if (error == null) {
+                return "";
+            }
+            return error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.application.ApplicationStarter;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * 无界面批量生成入口，供CI使用，无需打开项目：
+ * <pre>
+ * idea.sh mavenAggregation manifest.json [--threads=N] [--metrics=metrics.json]
+ * </pre>
+ * 清单格式见 {@link BatchGenerationRunner}。指定 --metrics 时把每个项目的阶段耗时和文件计数导出为JSON数组。
+ * 全部成功时退出码为0，否则为1
+ */
+public class HeadlessGenerationStarter implements ApplicationStarter {
+
+    private static final String COMMAND = "mavenAggregation";
+    private static final String THREADS_OPTION = "--threads=";
+    private static final String METRICS_OPTION = "--metrics=";
+
+    @Override
+    public String getCommandName() {
+        return COMMAND;
+    }
+
+    @Override
+    public void main(@NotNull List<String> args) {
+        System.exit(run(args));
+    }
+
+    private int run(List<String> args) {
+        // args[0] 为命令名本身
+        Path manifest = null;
+        Path metricsFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String arg : args.subList(1, args.size())) {
+            if (arg.startsWith(THREADS_OPTION)) {
+                threads = parseThreads(arg.substring(THREADS_OPTION.length()));
+                if (threads < 1) {
+                    System.err.println("Invalid thread count: " + arg);
+                    return usage();
+                }
+            } else if (arg.startsWith(METRICS_OPTION)) {
+                metricsFile = Paths.get(arg.substring(METRICS_OPTION.length()));
+            } else {
+                manifest = Paths.get(arg);
+            }
+        }
+        if (manifest == null) {
+            return usage();
+        }
+
+        try {
+            List<BatchGenerationRunner.Entry> entries = BatchGenerationRunner.readManifest(manifest);
+            BatchGenerationRunner runner = new BatchGenerationRunner(new ParallelGenerationEngine(threads));
+            BatchGenerationRunner.Summary summary = runner.run(entries);
+            System.out.println(summary.format());
+            if (metricsFile != null) {
+                GenerationMetricsExporter.write(summary.getProjectReports(), metricsFile);
+                System.out.println("度量已导出到 " + metricsFile.toAbsolutePath());
+            }
+            return summary.isSuccess() ? 0 : 1;
+        } catch (Exception e) {
+            System.err.println("批量生成失败: " + e.getMessage());
+            e.printStackTrace();
+            return 1;
+        }
+    }
+
+    /**
+     * 解析线程数，格式错误时返回0
+     */
+    private static int parseThreads(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static int usage() {
+        System.err.println("Usage: " + COMMAND + " <manifest.json> [" + THREADS_OPTION + "N] [" + METRICS_OPTION + "file]");
+        return 2;
+    }
+}
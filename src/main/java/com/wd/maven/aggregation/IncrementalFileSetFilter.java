@@ -0,0 +1,75 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 增量生成：对比磁盘上已有的内容，只保留需要写出的目录和文件
+ * <ul>
+ *   <li>不存在的文件和目录：照常生成</li>
+ *   <li>已有的 pom.xml：把生成器负责的片段（模块、依赖管理、依赖、插件、profile）合并进去（见 {@link PomSectionMerger}），
+ *       合并结果与原文件相同则跳过；无法识别的POM直接报错，不会在依赖缺失的情况下继续写出源码</li>
+ *   <li>已有的其他文件（README、.gitignore、源码）：视为用户所有，保持不变</li>
+ * </ul>
+ * 这样重复执行生成不会覆盖手工修改，也只有真正变化的POM会触发Maven重新导入
+ */
+public class IncrementalFileSetFilter {
+
+    private static final Logger LOG = Logger.getInstance(IncrementalFileSetFilter.class);
+    private static final String POM_FILE = "pom.xml";
+
+    /**
+     * 过滤生成结果，跳过和合并的文件数记录到报告中
+     * @return 只包含新目录、新文件和有变化的POM的文件集
+     * @throws IOException 读取失败，或已有的POM无法合并
+     */
+    public GeneratedFileSet filter(GeneratedFileSet generated, GenerationReport report) throws IOException {
+        GeneratedFileSet changed = new GeneratedFileSet(generated.getRoot());
+        for (String dir : generated.getDirectories()) {
+            Path path = generated.resolve(dir);
+            if (!Files.isDirectory(path)) {
+                changed.addDirectory(path);
+            }
+        }
+
+        int skipped = 0;
+        int merged = 0;
+        for (Map.Entry<String, String> entry : generated.getFiles().entrySet()) {
+            Path path = generated.resolve(entry.getKey());
+            if (!Files.isRegularFile(path)) {
+                changed.addFile(path, entry.getValue());
+                continue;
+            }
+            if (!path.getFileName().toString().equals(POM_FILE)) {
+                skipped++;
+                continue;
+            }
+
+            byte[] existing = Files.readAllBytes(path);
+            String content;
+            try {
+                content = PomSectionMerger.merge(new String(existing, StandardCharsets.UTF_8), entry.getValue());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("无法合并已有的POM: " + path + ": " + e.getMessage(), e);
+            }
+            // 两边内容都已在内存中，直接比较字节比计算摘要更省
+            if (Arrays.equals(existing, content.getBytes(StandardCharsets.UTF_8))) {
+                skipped++;
+            } else {
+                changed.addFile(path, content);
+                merged++;
+            }
+        }
+
+        report.setSkippedFileCount(skipped);
+        report.setMergedFileCount(merged);
+        LOG.info("增量生成: " + changed.getFileCount() + " 个文件需要写出（合并 " + merged + " 个POM），跳过 " + skipped + " 个未变化的文件");
+        return changed;
+    }
+}
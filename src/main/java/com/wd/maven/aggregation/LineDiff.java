@@ -0,0 +1,126 @@
+package com.wd.maven.aggregation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按行比较两段文本，输出 unified diff 格式，用于预览生成结果与已有文件的差异
+ * 先去掉相同的首尾行，再对中间部分做最长公共子序列；POM 文件通常只有少量改动，中间部分很小
+ */
+public final class LineDiff {
+
+    private static final int CONTEXT_LINES = 3;
+
+    private LineDiff() {
+    }
+
+    /**
+     * @return unified diff 文本，两边相同时返回空字符串
+     */
+    public static String unified(String before, String after) {
+        String[] a = before.split("\r?\n", -1);
+        String[] b = after.split("\r?\n", -1);
+        List<Line> lines = diff(a, b);
+
+        StringBuilder out = new StringBuilder();
+        int i = 0;
+        while (i < lines.size()) {
+            // 找到下一处改动，连同前后几行上下文组成一个片段
+            int change = i;
+            while (change < lines.size() && lines.get(change).type == ' ') {
+                change++;
+            }
+            if (change == lines.size()) {
+                break;
+            }
+            int start = Math.max(i, change - CONTEXT_LINES);
+            int end = change;
+            int unchanged = 0;
+            while (end < lines.size() && unchanged <= 2 * CONTEXT_LINES) {
+                unchanged = lines.get(end).type == ' ' ? unchanged + 1 : 0;
+                end++;
+            }
+            end -= Math.max(0, unchanged - CONTEXT_LINES);
+            appendHunk(out, lines.subList(start, end));
+            i = end;
+        }
+        return out.toString();
+    }
+
+    private static void appendHunk(StringBuilder out, List<Line> hunk) {
+        Line first = hunk.get(0);
+        int beforeCount = 0;
+        int afterCount = 0;
+        for (Line line : hunk) {
+            beforeCount += line.type != '+' ? 1 : 0;
+            afterCount += line.type != '-' ? 1 : 0;
+        }
+        out.append("@@ -").append(first.beforeLine).append(',').append(beforeCount)
+           .append(" +").append(first.afterLine).append(',').append(afterCount).append(" @@\n");
+        for (Line line : hunk) {
+            out.append(line.type).append(' ').append(line.text).append('\n');
+        }
+    }
+
+    private static List<Line> diff(String[] a, String[] b) {
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix].equals(b[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix].equals(b[b.length - 1 - suffix])) {
+            suffix++;
+        }
+
+        int n = a.length - prefix - suffix;
+        int m = b.length - prefix - suffix;
+        // lcs[i][j]：a 中间部分从 i、b 中间部分从 j 开始的最长公共子序列长度
+        int[][] lcs = new int[n + 1][m + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lcs[i][j] = a[prefix + i].equals(b[prefix + j])
+                        ? lcs[i + 1][j + 1] + 1
+                        : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+
+        List<Line> lines = new ArrayList<>(a.length + m);
+        for (int k = 0; k < prefix; k++) {
+            lines.add(new Line(' ', a[k], k + 1, k + 1));
+        }
+        int i = 0;
+        int j = 0;
+        while (i < n || j < m) {
+            if (i < n && j < m && a[prefix + i].equals(b[prefix + j])) {
+                lines.add(new Line(' ', a[prefix + i], prefix + i + 1, prefix + j + 1));
+                i++;
+                j++;
+            } else if (j < m && (i == n || lcs[i][j + 1] >= lcs[i + 1][j])) {
+                lines.add(new Line('+', b[prefix + j], prefix + i + 1, prefix + j + 1));
+                j++;
+            } else {
+                lines.add(new Line('-', a[prefix + i], prefix + i + 1, prefix + j + 1));
+                i++;
+            }
+        }
+        for (int k = 0; k < suffix; k++) {
+            lines.add(new Line(' ', a[prefix + n + k], prefix + n + k + 1, prefix + m + k + 1));
+        }
+        return lines;
+    }
+
+    private static class Line {
+        private final char type;
+        private final String text;
+        private final int beforeLine;
+        private final int afterLine;
+
+        Line(char type, String text, int beforeLine, int afterLine) {
+            this.type = type;
+            this.text = text;
+            this.beforeLine = beforeLine;
+            this.afterLine = afterLine;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.wd.maven.aggregation;
 
 import com.intellij.ide.util.projectWizard.WebProjectTemplate;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.ui.UIUtil;
 import com.wd.maven.aggregation.AggregationProjectGenerator;
 import com.wd.maven.aggregation.ArchitectureType;
 import com.wd.maven.aggregation.MavenAggregationSettings;
@@ -15,6 +19,8 @@ import javax.swing.*;
 
 public class MavenAggregationProjectGenerator extends WebProjectTemplate<MavenAggregationSettings> {
 
+    private MavenAggregationSettingsPanel settingsPanel;
+
     @NotNull
     @Override
     public String getName() {
@@ -34,28 +40,35 @@ public class MavenAggregationProjectGenerator extends WebProjectTemplate<MavenAg
 
     @NotNull
     public MavenAggregationSettings createSettings() {
-        return new MavenAggregationSettings();
+        // 从预设缓存回显上一次生成的设置
+        return GenerationPresetStore.getInstance().getInitialSettings();
     }
 
     @Nullable
     public JComponent getSettingsPanel(MavenAggregationSettings settings) {
-        return new MavenAggregationSettingsPanel(settings).getPanel();
+        settingsPanel = new MavenAggregationSettingsPanel(settings);
+        return settingsPanel.getPanel();
     }
 
     @Override
     public void generateProject(@NotNull Project project, @NotNull VirtualFile baseDir, @NotNull MavenAggregationSettings settings, @NotNull Module module) {
-        AggregationProjectGenerator generator = new AggregationProjectGenerator();
-        generator.generateProject(
-                project,
-                settings.getGroupId(),
-                settings.getArtifactId(),
-                settings.getVersion(),
-                settings.getModules(),
-                settings.getJavaVersion(),
-                settings.isAddDependencies(),
-                settings.getArchitectureType(),
-                settings.getDomainName()
-        );
+        // 设置面板停止输入一段时间后才写回设置，生成前把还没写回的修改立即写回
+        if (settingsPanel != null) {
+            UIUtil.invokeAndWaitIfNeeded((Runnable) settingsPanel::flush);
+        }
+        // 直接传入完整设置，保留快速构建、模块依赖等只在设置中存在的选项
+        ParallelGenerationEngine engine = new ParallelGenerationEngine();
+        GeneratedFileWriter writer = settings.isStaged() ? new StagedGeneratedFileWriter(engine, true) : new NioGeneratedFileWriter(engine);
+        AggregationProjectGenerator generator = new AggregationProjectGenerator(engine, writer);
+        GenerationReport report = generator.generateProject(project, settings, null);
+        if (!report.isSuccess()) {
+            Notifications.Bus.notify(new Notification(GenerateProjectTask.NOTIFICATION_GROUP, "Maven聚合项目",
+                    report.getSummary(), NotificationType.ERROR), project);
+            return;
+        }
+        // 只记住生成成功的设置
+        GenerationPresetStore.getInstance().markUsed(settings, null);
+        GenerateProjectTask.notifyMetrics(project, report);
     }
     
     /**
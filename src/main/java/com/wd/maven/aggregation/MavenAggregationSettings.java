@@ -6,10 +6,19 @@ public class MavenAggregationSettings {
     private String version = "1.0-SNAPSHOT";
     private String javaVersion = "8";
     private String[] modules = {"api", "common", "mapper", "pojo", "service"};
+    private String[] moduleDependencies = {}; // 用户声明的模块依赖，如 "web->service"
     private boolean addDependencies = true; // 默认添加依赖
 
     private ArchitectureType architectureType = ArchitectureType.MULTI_MODULE;
     private String domainName = "order";
+    private boolean incremental = true; // 默认增量生成，保留已有文件中的修改
+    private boolean fastBuild = false; // 生成 .mvn 下的并行构建与构建缓存配置
+    private boolean staged = false; // 先写入临时目录，全部成功后再原子移入项目目录
+    private boolean localRepositoryVersions = false; // 常用依赖使用本地Maven仓库中同一版本线的最新版本
+    private boolean eventBus = false; // DDD：生成基于环形缓冲区的领域事件总线
+    private boolean cachingRepository = false; // 在 mapper 模块（多模块）或 infrastructure.persistence（DDD）中生成缓存仓储层
+    private boolean highPerformanceCommon = false; // 多模块：原始类型集合的依赖管理和 common 模块中的堆外缓冲区工具
+    private boolean observability = false; // Micrometer/Prometheus 指标和分层耗时拦截器
 
     public String getGroupId() {
         return groupId;
@@ -51,6 +60,17 @@ public class MavenAggregationSettings {
         this.modules = modules;
     }
     
+    /**
+     * 用户声明的模块依赖（在预定义依赖之外），格式见 {@link ModuleGraph#parseEdges(String)}
+     */
+    public String[] getModuleDependencies() {
+        return moduleDependencies;
+    }
+
+    public void setModuleDependencies(String[] moduleDependencies) {
+        this.moduleDependencies = moduleDependencies;
+    }
+
     public boolean isAddDependencies() {
         return addDependencies;
     }
@@ -75,6 +95,110 @@ public class MavenAggregationSettings {
         this.domainName = domainName;
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public boolean isFastBuild() {
+        return fastBuild;
+    }
+
+    public void setFastBuild(boolean fastBuild) {
+        this.fastBuild = fastBuild;
+    }
+
+    public boolean isStaged() {
+        return staged;
+    }
+
+    public void setStaged(boolean staged) {
+        this.staged = staged;
+    }
+
+    /**
+     * 常用依赖是否在版本目录的基础上，使用本地Maven仓库中同一版本线的最新版本，见 {@link VersionCatalog}
+     */
+    public boolean isLocalRepositoryVersions() {
+        return localRepositoryVersions;
+    }
+
+    public void setLocalRepositoryVersions(boolean localRepositoryVersions) {
+        this.localRepositoryVersions = localRepositoryVersions;
+    }
+
+    /**
+     * DDD架构是否生成领域事件总线（发布/订阅接口、环形缓冲区实现和JMH基准测试）
+     */
+    public boolean isEventBus() {
+        return eventBus;
+    }
+
+    public void setEventBus(boolean eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * 是否生成缓存仓储层（缓存抽象、有界缓存实现、读穿透和旁路缓存装饰器）
+     */
+    public boolean isCachingRepository() {
+        return cachingRepository;
+    }
+
+    public void setCachingRepository(boolean cachingRepository) {
+        this.cachingRepository = cachingRepository;
+    }
+
+    /**
+     * 多模块架构是否生成高性能 common 包（fastutil、Eclipse Collections、HPPC 的依赖管理和堆外缓冲区工具）
+     */
+    public boolean isHighPerformanceCommon() {
+        return highPerformanceCommon;
+    }
+
+    public void setHighPerformanceCommon(boolean highPerformanceCommon) {
+        this.highPerformanceCommon = highPerformanceCommon;
+    }
+
+    /**
+     * 是否生成可观测性支持（Micrometer 和 Prometheus 注册表的依赖、指标入口和分层耗时拦截器）
+     */
+    public boolean isObservability() {
+        return observability;
+    }
+
+    public void setObservability(boolean observability) {
+        this.observability = observability;
+    }
+
     public MavenAggregationSettings() { }
+
+    /**
+     * 深拷贝，用于预设的保存和读取
+     */
+    public MavenAggregationSettings copy() {
+        MavenAggregationSettings copy = new MavenAggregationSettings();
+        copy.groupId = groupId;
+        copy.artifactId = artifactId;
+        copy.version = version;
+        copy.javaVersion = javaVersion;
+        copy.modules = modules == null ? null : modules.clone();
+        copy.moduleDependencies = moduleDependencies == null ? null : moduleDependencies.clone();
+        copy.addDependencies = addDependencies;
+        copy.architectureType = architectureType;
+        copy.domainName = domainName;
+        copy.incremental = incremental;
+        copy.fastBuild = fastBuild;
+        copy.staged = staged;
+        copy.localRepositoryVersions = localRepositoryVersions;
+        copy.eventBus = eventBus;
+        copy.cachingRepository = cachingRepository;
+        copy.highPerformanceCommon = highPerformanceCommon;
+        copy.observability = observability;
+        return copy;
+    }
 }
 
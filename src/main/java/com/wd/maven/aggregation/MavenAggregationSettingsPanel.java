@@ -1,5 +1,6 @@
 package com.wd.maven.aggregation;
 
+import com.intellij.ui.JBColor;
 import com.intellij.ui.components.JBCheckBox;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.JBTextField;
@@ -7,6 +8,7 @@ import com.intellij.util.ui.UIUtil;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -23,15 +25,16 @@ public class MavenAggregationSettingsPanel {
     private JRadioButton singleDddRadioButton;
     private JRadioButton singleMvcRadioButton;
     
-    // 领域名称
+    // 各架构专属的选项区域，切换到对应架构时才构建，之前其中的字段都为null
+    private ArchitectureSections architectureSections;
+
+    // 领域名称、事件总线（DDD专用）
     private JBTextField domainNameField;
-    private JBLabel domainNameLabel;
+    private JBCheckBox eventBusCheckBox;
     
-    // 模块选择相关组件（用于显示/隐藏）
-    private JBLabel predefinedModulesLabel;
-    private JPanel predefinedModulesPanel;
-    private JBLabel customModulesLabel;
+    // 模块选择（多模块专用）
     private JBTextField modulesField; // 自定义模块输入框
+    private JBTextField moduleDependenciesField; // 自定义模块依赖，如 web->service
 
     // 预定义模块复选框
     private JBCheckBox apiCheckBox;
@@ -39,11 +42,19 @@ public class MavenAggregationSettingsPanel {
     private JBCheckBox mapperCheckBox;
     private JBCheckBox pojoCheckBox;
     private JBCheckBox serviceCheckBox;
+    private JBCheckBox benchmarkCheckBox; // JMH基准测试模块，默认不选
+    private JBCheckBox highPerformanceCommonCheckBox;
     
     private JBCheckBox addDependenciesCheckBox;
+    private JBCheckBox fastBuildCheckBox;
+    private JBCheckBox cachingRepositoryCheckBox;
+    private JBCheckBox observabilityCheckBox;
     private JComboBox<String> javaVersionComboBox;
+    private JBLabel validationLabel;
     
     private final MavenAggregationSettings settings;
+    // 所有输入共用一个防抖定时器，停止输入后统一写回设置并校验一次
+    private final SettingsUpdatePipeline updatePipeline = new SettingsUpdatePipeline(this::updateSettings, this::validateSettings);
     
     public MavenAggregationSettingsPanel(MavenAggregationSettings settings) {
         this.settings = settings;
@@ -106,80 +117,161 @@ public class MavenAggregationSettingsPanel {
         c.gridx = 1; c.weightx = 1.0;
         mainPanel.add(typePanel, c);
 
-        // 6. 领域名称 (DDD专用)
-        c.gridx = 0; c.gridy = 5; c.weightx = 0.0;
-        domainNameLabel = new JBLabel("领域名称:");
-        mainPanel.add(domainNameLabel, c);
+        // 6. 架构专属选项：DDD 的领域名称、多模块的模块选择（MVC 没有专属选项），占满两列
+        architectureSections = new ArchitectureSections();
+        architectureSections.register(ArchitectureType.SINGLE_MODULE_DDD, this::createDddSection);
+        architectureSections.register(ArchitectureType.MULTI_MODULE, this::createModulesSection);
+        c.gridx = 0; c.gridy = 5; c.weightx = 1.0; c.gridwidth = 2;
+        mainPanel.add(architectureSections, c);
+        c.gridwidth = 1;
+
+        // 10. 添加常用依赖选项
+        c.gridx = 0; c.gridy = 9; c.weightx = 0.0;
+        mainPanel.add(new JBLabel("添加常用依赖:"), c);
+        
+        c.gridx = 1; c.weightx = 1.0;
+        addDependenciesCheckBox = new JBCheckBox("是");
+        mainPanel.add(addDependenciesCheckBox, c);
+
+        // 11. 快速构建选项
+        c.gridx = 0; c.gridy = 10; c.weightx = 0.0;
+        mainPanel.add(new JBLabel("快速构建:"), c);
+
+        c.gridx = 1; c.weightx = 1.0;
+        fastBuildCheckBox = new JBCheckBox("并行构建 (-T 1C) + 构建缓存");
+        mainPanel.add(fastBuildCheckBox, c);
+
+        // 12. 缓存仓储层选项
+        c.gridx = 0; c.gridy = 11; c.weightx = 0.0;
+        mainPanel.add(new JBLabel("缓存仓储层:"), c);
+
+        c.gridx = 1; c.weightx = 1.0;
+        cachingRepositoryCheckBox = new JBCheckBox("mapper模块 / infrastructure.persistence");
+        mainPanel.add(cachingRepositoryCheckBox, c);
+
+        // 13. 可观测性选项
+        c.gridx = 0; c.gridy = 12; c.weightx = 0.0;
+        mainPanel.add(new JBLabel("可观测性:"), c);
+
+        c.gridx = 1; c.weightx = 1.0;
+        observabilityCheckBox = new JBCheckBox("Micrometer指标和分层耗时拦截器");
+        mainPanel.add(observabilityCheckBox, c);
+
+        // 14. 校验提示
+        c.gridx = 0; c.gridy = 13; c.weightx = 1.0; c.gridwidth = 2;
+        validationLabel = new JBLabel(" ");
+        validationLabel.setForeground(JBColor.RED);
+        mainPanel.add(validationLabel, c);
+        c.gridwidth = 1;
         
+        // 添加基础监听器
+        setupBasicListeners();
+        
+        // 添加架构切换监听器，只处理新选中的按钮：取消选中旧按钮时还没有任何按钮被选中
+        ItemListener typeListener = e -> {
+            if (e.getStateChange() == ItemEvent.SELECTED) {
+                updateVisibility();
+            }
+        };
+        multiModuleRadioButton.addItemListener(typeListener);
+        singleDddRadioButton.addItemListener(typeListener);
+        singleMvcRadioButton.addItemListener(typeListener);
+    }
+
+    /**
+     * DDD专属区域：领域名称，创建时回显设置中的值
+     */
+    private JComponent createDddSection() {
+        JPanel dddPanel = new JPanel(new GridBagLayout());
+        GridBagConstraints c = new GridBagConstraints();
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.insets = new Insets(0, 0, 0, 5);
+
+        c.gridx = 0; c.gridy = 0; c.weightx = 0.0;
+        dddPanel.add(new JBLabel("领域名称:"), c);
         c.gridx = 1; c.weightx = 1.0;
-        domainNameField = new JBTextField();
-        mainPanel.add(domainNameField, c);
+        domainNameField = new JBTextField(settings.getDomainName());
+        dddPanel.add(domainNameField, c);
+
+        c.gridx = 0; c.gridy = 1; c.weightx = 0.0;
+        dddPanel.add(new JBLabel("领域事件总线:"), c);
+        c.gridx = 1; c.weightx = 1.0;
+        eventBusCheckBox = new JBCheckBox("生成基于环形缓冲区的事件总线（含JMH基准测试）", settings.isEventBus());
+        dddPanel.add(eventBusCheckBox, c);
+
+        updatePipeline.watch(domainNameField);
+        updatePipeline.watch(eventBusCheckBox);
+        return dddPanel;
+    }
+
+    /**
+     * 多模块专属区域：预定义模块、自定义模块和模块依赖，创建时回显设置中的值
+     */
+    private JComponent createModulesSection() {
+        JPanel modulesPanel = new JPanel(new GridBagLayout());
+        GridBagConstraints c = new GridBagConstraints();
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.insets = new Insets(0, 0, 5, 5);
 
-        // 7. 预定义模块 (多模块专用)
-        c.gridx = 0; c.gridy = 6; c.weightx = 0.0;
-        predefinedModulesLabel = new JBLabel("预定义模块:");
-        mainPanel.add(predefinedModulesLabel, c);
+        // 预定义模块
+        c.gridx = 0; c.gridy = 0; c.weightx = 0.0;
+        modulesPanel.add(new JBLabel("预定义模块:"), c);
         
-        predefinedModulesPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
-        apiCheckBox = new JBCheckBox("api", true);
-        commonCheckBox = new JBCheckBox("common", true);
-        mapperCheckBox = new JBCheckBox("mapper", true);
-        pojoCheckBox = new JBCheckBox("pojo", true);
-        serviceCheckBox = new JBCheckBox("service", true);
+        JPanel predefinedModulesPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        apiCheckBox = new JBCheckBox("api");
+        commonCheckBox = new JBCheckBox("common");
+        mapperCheckBox = new JBCheckBox("mapper");
+        pojoCheckBox = new JBCheckBox("pojo");
+        serviceCheckBox = new JBCheckBox("service");
+        benchmarkCheckBox = new JBCheckBox("benchmark"); // JMH基准测试模块，默认不选
         
         predefinedModulesPanel.add(apiCheckBox);
         predefinedModulesPanel.add(commonCheckBox);
         predefinedModulesPanel.add(mapperCheckBox);
         predefinedModulesPanel.add(pojoCheckBox);
         predefinedModulesPanel.add(serviceCheckBox);
+        predefinedModulesPanel.add(benchmarkCheckBox);
         
         c.gridx = 1; c.weightx = 1.0;
-        mainPanel.add(predefinedModulesPanel, c);
+        modulesPanel.add(predefinedModulesPanel, c);
 
-        // 8. 自定义模块 (多模块专用)
-        c.gridx = 0; c.gridy = 7; c.weightx = 0.0;
-        customModulesLabel = new JBLabel("自定义模块 (逗号分隔):");
-        mainPanel.add(customModulesLabel, c);
+        // 自定义模块
+        c.gridx = 0; c.gridy = 1; c.weightx = 0.0;
+        modulesPanel.add(new JBLabel("自定义模块 (逗号分隔):"), c);
         
         c.gridx = 1; c.weightx = 1.0;
         modulesField = new JBTextField();
-        mainPanel.add(modulesField, c);
-        
-        // 9. 添加常用依赖选项
-        c.gridx = 0; c.gridy = 8; c.weightx = 0.0;
-        mainPanel.add(new JBLabel("添加常用依赖:"), c);
+        modulesPanel.add(modulesField, c);
         
+        // 自定义模块依赖
+        c.gridx = 0; c.gridy = 2; c.weightx = 0.0;
+        modulesPanel.add(new JBLabel("模块依赖 (如 web->service):"), c);
+
         c.gridx = 1; c.weightx = 1.0;
-        addDependenciesCheckBox = new JBCheckBox("是");
-        mainPanel.add(addDependenciesCheckBox, c);
-        
-        // 添加基础监听器
-        setupBasicListeners();
-        
-        // 添加架构切换监听器
-        ItemListener typeListener = e -> updateVisibility();
-        multiModuleRadioButton.addItemListener(typeListener);
-        singleDddRadioButton.addItemListener(typeListener);
-        singleMvcRadioButton.addItemListener(typeListener);
-        
-        // 添加领域名称监听器
-        domainNameField.getDocument().addDocumentListener(new DebounceDocumentListener(() -> {
-            settings.setDomainName(domainNameField.getText().trim());
-        }, 300));
+        moduleDependenciesField = new JBTextField();
+        modulesPanel.add(moduleDependenciesField, c);
+
+        // 高性能common包
+        c.gridx = 0; c.gridy = 3; c.weightx = 0.0;
+        modulesPanel.add(new JBLabel("高性能common:"), c);
+
+        c.gridx = 1; c.weightx = 1.0;
+        highPerformanceCommonCheckBox = new JBCheckBox("原始类型集合 + 堆外缓冲区工具");
+        modulesPanel.add(highPerformanceCommonCheckBox, c);
+
+        // 先回显设置再添加监听器，避免回显触发写回
+        initModuleValues();
+
+        updatePipeline.watch(modulesField, moduleDependenciesField);
+        updatePipeline.watch(apiCheckBox, commonCheckBox, mapperCheckBox, pojoCheckBox, serviceCheckBox, benchmarkCheckBox);
+        updatePipeline.watch(highPerformanceCommonCheckBox);
+        return modulesPanel;
     }
     
     private void setupBasicListeners() {
-        groupIdField.getDocument().addDocumentListener(new DebounceDocumentListener(() -> {
-            settings.setGroupId(groupIdField.getText().trim());
-        }, 300));
-
-        artifactIdField.getDocument().addDocumentListener(new DebounceDocumentListener(() -> {
-            settings.setArtifactId(artifactIdField.getText().trim());
-        }, 300));
-
-        versionField.getDocument().addDocumentListener(new DebounceDocumentListener(() -> {
-            settings.setVersion(versionField.getText().trim());
-        }, 300));
+        updatePipeline.watch(groupIdField, artifactIdField, versionField);
+        updatePipeline.watch(addDependenciesCheckBox, fastBuildCheckBox, cachingRepositoryCheckBox, observabilityCheckBox);
+        updatePipeline.addListener(error -> validationLabel.setText(error != null ? error : " "));
 
         javaVersionComboBox.addActionListener(e -> {
             String selectedVersion = (String) javaVersionComboBox.getSelectedItem();
@@ -196,16 +288,6 @@ public class MavenAggregationSettingsPanel {
                 });
             }
         });
-
-        modulesField.getDocument().addDocumentListener(new DebounceDocumentListener(this::updateModules, 300));
-        addDependenciesCheckBox.addActionListener(e -> settings.setAddDependencies(addDependenciesCheckBox.isSelected()));
-
-        ItemListener moduleListener = e -> updateModules();
-        apiCheckBox.addItemListener(moduleListener);
-        commonCheckBox.addItemListener(moduleListener);
-        mapperCheckBox.addItemListener(moduleListener);
-        pojoCheckBox.addItemListener(moduleListener);
-        serviceCheckBox.addItemListener(moduleListener);
     }
     
     private void updateVisibility() {
@@ -214,23 +296,17 @@ public class MavenAggregationSettingsPanel {
             type = ArchitectureType.SINGLE_MODULE_DDD;
         } else if (singleMvcRadioButton.isSelected()) {
             type = ArchitectureType.SINGLE_MODULE_MVC;
-        } else {
+        } else if (multiModuleRadioButton.isSelected()) {
             type = ArchitectureType.MULTI_MODULE;
+        } else {
+            return;
         }
         settings.setArchitectureType(type);
         
-        boolean isMulti = type == ArchitectureType.MULTI_MODULE;
-        boolean isDdd = type == ArchitectureType.SINGLE_MODULE_DDD;
-        
-        // 控制领域名称显示
-        domainNameLabel.setVisible(isDdd);
-        domainNameField.setVisible(isDdd);
-        
-        // 控制模块选择显示
-        predefinedModulesLabel.setVisible(isMulti);
-        predefinedModulesPanel.setVisible(isMulti);
-        customModulesLabel.setVisible(isMulti);
-        modulesField.setVisible(isMulti);
+        // 只构建和布局当前架构的区域，已构建的区域直接复用
+        architectureSections.show(type);
+        // 切换架构会改变需要校验的字段
+        updatePipeline.requestUpdate();
     }
 
     private boolean isValidJavaVersion(String version) {
@@ -243,7 +319,9 @@ public class MavenAggregationSettingsPanel {
         versionField.setText(settings.getVersion());
         javaVersionComboBox.setSelectedItem(settings.getJavaVersion());
         addDependenciesCheckBox.setSelected(settings.isAddDependencies());
-        domainNameField.setText(settings.getDomainName());
+        fastBuildCheckBox.setSelected(settings.isFastBuild());
+        cachingRepositoryCheckBox.setSelected(settings.isCachingRepository());
+        observabilityCheckBox.setSelected(settings.isObservability());
         
         // 架构类型回显
         switch (settings.getArchitectureType()) {
@@ -258,26 +336,95 @@ public class MavenAggregationSettingsPanel {
                 break;
         }
         
-        // 触发一次可见性更新
+        // 触发一次可见性更新，同时构建当前架构的区域
         updateVisibility();
-        
-        // 设置模块选择状态
-        String[] modules = settings.getModules();
-        for (String module : modules) {
+    }
+
+    /**
+     * 回显模块选择和模块依赖
+     */
+    private void initModuleValues() {
+        List<String> custom = new ArrayList<>();
+        for (String module : settings.getModules()) {
             switch (module) {
                 case "api": apiCheckBox.setSelected(true); break;
                 case "common": commonCheckBox.setSelected(true); break;
                 case "mapper": mapperCheckBox.setSelected(true); break;
                 case "pojo": pojoCheckBox.setSelected(true); break;
                 case "service": serviceCheckBox.setSelected(true); break;
-                default:
-                    if (modulesField.getText().isEmpty()) {
-                        modulesField.setText(module);
-                    } else {
-                        modulesField.setText(modulesField.getText() + ", " + module);
-                    }
+                case "benchmark": benchmarkCheckBox.setSelected(true); break;
+                default: custom.add(module);
             }
         }
+        modulesField.setText(String.join(", ", custom));
+        moduleDependenciesField.setText(String.join(", ", settings.getModuleDependencies()));
+        highPerformanceCommonCheckBox.setSelected(settings.isHighPerformanceCommon());
+    }
+    
+    /**
+     * 把界面上的值一次性写回设置，只处理已经构建的架构区域
+     */
+    private void updateSettings() {
+        settings.setGroupId(groupIdField.getText().trim());
+        settings.setArtifactId(artifactIdField.getText().trim());
+        settings.setVersion(versionField.getText().trim());
+        settings.setAddDependencies(addDependenciesCheckBox.isSelected());
+        settings.setFastBuild(fastBuildCheckBox.isSelected());
+        settings.setCachingRepository(cachingRepositoryCheckBox.isSelected());
+        settings.setObservability(observabilityCheckBox.isSelected());
+        if (domainNameField != null) {
+            settings.setDomainName(domainNameField.getText().trim());
+            settings.setEventBus(eventBusCheckBox.isSelected());
+        }
+        if (modulesField != null) {
+            updateModules();
+            settings.setModuleDependencies(ModuleGraph.parseEdges(moduleDependenciesField.getText()));
+            settings.setHighPerformanceCommon(highPerformanceCommonCheckBox.isSelected());
+        }
+    }
+
+    /**
+     * 校验当前设置
+     * @return 错误提示，通过时返回null
+     */
+    private String validateSettings() {
+        if (settings.getGroupId().isEmpty()) {
+            return "Group ID不能为空";
+        }
+        if (settings.getArtifactId().isEmpty()) {
+            return "Artifact ID不能为空";
+        }
+        if (settings.getVersion().isEmpty()) {
+            return "Version不能为空";
+        }
+        switch (settings.getArchitectureType()) {
+            case SINGLE_MODULE_DDD:
+                return settings.getDomainName().isEmpty() ? "领域名称不能为空" : null;
+            case MULTI_MODULE:
+                try {
+                    List<String> cycle = ModuleGraph.of(settings.getModules(), settings.getModuleDependencies()).findCycle();
+                    return cycle.isEmpty() ? null : "模块依赖存在循环: " + String.join(" " + ModuleGraph.EDGE_SEPARATOR + " ", cycle);
+                } catch (IllegalArgumentException e) {
+                    return e.getMessage();
+                }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 设置变化监听器，停止输入后设置已写回并校验完成时调用，可用于预览
+     */
+    public void addSettingsListener(SettingsUpdatePipeline.Listener listener) {
+        updatePipeline.addListener(listener);
+    }
+
+    /**
+     * 立即写回未处理的修改，在读取设置生成项目之前调用
+     * @return 校验失败的提示，通过时为null
+     */
+    public String flush() {
+        return updatePipeline.flushIfPending();
     }
     
     private void updateModules() {
@@ -288,6 +435,7 @@ public class MavenAggregationSettingsPanel {
         if (mapperCheckBox.isSelected()) modulesList.add("mapper");
         if (pojoCheckBox.isSelected()) modulesList.add("pojo");
         if (serviceCheckBox.isSelected()) modulesList.add("service");
+        if (benchmarkCheckBox.isSelected()) modulesList.add("benchmark");
         
         String customModules = modulesField.getText().trim();
         if (!customModules.isEmpty()) {
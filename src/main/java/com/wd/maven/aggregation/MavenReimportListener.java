@@ -0,0 +1,43 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.idea.maven.project.MavenProject;
+import org.jetbrains.idea.maven.project.MavenProjectsManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 只让Maven重新读取本次写出的POM对应的模块，而不是重新导入整个项目
+ * 新增模块不在这里单独注册：父POM的 modules 发生变化时会一并写出，重新读取父POM即可发现它们
+ */
+public class MavenReimportListener implements GeneratedPomListener {
+
+    private static final Logger LOG = Logger.getInstance(MavenReimportListener.class);
+
+    @Override
+    public void pomsWritten(@NotNull Project project, @NotNull List<Path> poms) {
+        MavenProjectsManager manager = MavenProjectsManager.getInstance(project);
+        if (!manager.isMavenizedProject()) {
+            return;
+        }
+
+        List<MavenProject> touched = new ArrayList<>();
+        for (Path pom : poms) {
+            VirtualFile file = LocalFileSystem.getInstance().findFileByIoFile(pom.toFile());
+            MavenProject mavenProject = file != null ? manager.findProject(file) : null;
+            if (mavenProject != null) {
+                touched.add(mavenProject);
+            }
+        }
+        if (!touched.isEmpty()) {
+            LOG.info("重新导入 " + touched.size() + " 个变化的Maven模块");
+            manager.forceUpdateProjects(touched);
+        }
+    }
+}
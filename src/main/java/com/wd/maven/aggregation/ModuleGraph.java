@@ -0,0 +1,278 @@
+package com.wd.maven.aggregation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 多模块项目的模块依赖图
+ * 以邻接表保存“模块 → 它依赖的模块”，提供环检测、拓扑排序和按层分组。
+ * 模块名为不带 artifactId 前缀的短名（api、service 等），与生成对话框中的模块名一致
+ */
+public class ModuleGraph {
+
+    /**
+     * 用户声明依赖的分隔符，如 web->service
+     */
+    public static final String EDGE_SEPARATOR = "->";
+
+    // 预定义模块之间的默认依赖：api→service→mapper→pojo→common，benchmark 依赖 service 和 common
+    private static final String[][] STANDARD_EDGES = {
+            {"api", "service"},
+            {"service", "mapper"},
+            {"mapper", "pojo"},
+            {"pojo", "common"},
+            {AggregationProjectGenerator.BENCHMARK_MODULE, "service"},
+            {AggregationProjectGenerator.BENCHMARK_MODULE, "common"},
+    };
+
+    private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+
+    /**
+     * 按预定义规则和用户声明的依赖构建模块图，只连接两端都存在的默认依赖
+     * @param modules 模块列表
+     * @param declaredEdges 用户声明的依赖，格式为 "模块->被依赖模块"
+     * @throws IllegalArgumentException 声明的依赖格式错误或引用了不存在的模块
+     */
+    public static ModuleGraph of(String[] modules, String[] declaredEdges) {
+        ModuleGraph graph = new ModuleGraph();
+        for (String module : modules) {
+            graph.addModule(module);
+        }
+        for (String[] edge : STANDARD_EDGES) {
+            if (graph.contains(edge[0]) && graph.contains(edge[1])) {
+                graph.addDependency(edge[0], edge[1]);
+            }
+        }
+        if (declaredEdges != null) {
+            for (String declared : declaredEdges) {
+                String[] edge = parseEdge(declared);
+                graph.addDependency(edge[0], edge[1]);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * 解析 "web->service, job->common" 形式的依赖声明
+     */
+    public static String[] parseEdges(String text) {
+        List<String> edges = new ArrayList<>();
+        for (String edge : text.split(",")) {
+            if (!edge.trim().isEmpty()) {
+                edges.add(edge.trim());
+            }
+        }
+        return edges.toArray(new String[0]);
+    }
+
+    private static String[] parseEdge(String declared) {
+        int separator = declared.indexOf(EDGE_SEPARATOR);
+        if (separator <= 0 || separator + EDGE_SEPARATOR.length() >= declared.length()) {
+            throw new IllegalArgumentException("依赖格式应为 模块" + EDGE_SEPARATOR + "被依赖模块: " + declared);
+        }
+        return new String[]{
+                declared.substring(0, separator).trim(),
+                declared.substring(separator + EDGE_SEPARATOR.length()).trim()
+        };
+    }
+
+    public void addModule(String module) {
+        dependencies.computeIfAbsent(module, key -> new LinkedHashSet<>());
+        dependents.computeIfAbsent(module, key -> new LinkedHashSet<>());
+    }
+
+    /**
+     * 添加依赖边：from 依赖 to
+     */
+    public void addDependency(String from, String to) {
+        if (!contains(from) || !contains(to)) {
+            throw new IllegalArgumentException("依赖引用了不存在的模块: " + from + EDGE_SEPARATOR + to);
+        }
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("模块不能依赖自身: " + from);
+        }
+        dependencies.get(from).add(to);
+        dependents.get(to).add(from);
+    }
+
+    public boolean contains(String module) {
+        return dependencies.containsKey(module);
+    }
+
+    public Set<String> getModules() {
+        return Collections.unmodifiableSet(dependencies.keySet());
+    }
+
+    public int size() {
+        return dependencies.size();
+    }
+
+    /**
+     * 模块直接依赖的模块，按添加顺序
+     */
+    public Set<String> getDependencies(String module) {
+        Set<String> result = dependencies.get(module);
+        return result != null ? Collections.unmodifiableSet(result) : Collections.emptySet();
+    }
+
+    /**
+     * 直接依赖该模块的模块
+     */
+    public Set<String> getDependents(String module) {
+        Set<String> result = dependents.get(module);
+        return result != null ? Collections.unmodifiableSet(result) : Collections.emptySet();
+    }
+
+    /**
+     * 查找一个依赖环
+     * @return 环上的模块（首尾相同，如 [a, b, a]），没有环时返回空列表
+     */
+    public List<String> findCycle() {
+        Map<String, Integer> state = new HashMap<>(); // 缺省=未访问，1=访问中，2=已完成
+        for (String start : dependencies.keySet()) {
+            if (state.containsKey(start)) {
+                continue;
+            }
+            // 迭代式DFS，避免模块很多时栈溢出
+            Deque<String> path = new ArrayDeque<>();
+            Deque<Iterator<String>> stack = new ArrayDeque<>();
+            path.addLast(start);
+            stack.push(dependencies.get(start).iterator());
+            state.put(start, 1);
+            while (!stack.isEmpty()) {
+                Iterator<String> top = stack.peek();
+                if (!top.hasNext()) {
+                    stack.pop();
+                    state.put(path.removeLast(), 2);
+                    continue;
+                }
+                String next = top.next();
+                Integer nextState = state.get(next);
+                if (nextState == null) {
+                    path.addLast(next);
+                    stack.push(dependencies.get(next).iterator());
+                    state.put(next, 1);
+                } else if (nextState == 1) {
+                    List<String> cycle = new ArrayList<>();
+                    boolean inCycle = false;
+                    for (String module : path) {
+                        inCycle |= module.equals(next);
+                        if (inCycle) {
+                            cycle.add(module);
+                        }
+                    }
+                    cycle.add(next);
+                    return cycle;
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * 拓扑序：被依赖的模块排在前面
+     * 同时就绪的模块中，下游依赖链最长的优先，这也是 mvn -T 并行构建时最先应该开始的模块
+     * @throws IllegalStateException 存在依赖环
+     */
+    public List<String> topologicalOrder() {
+        assertAcyclic();
+        Map<String, Integer> height = heights();
+        Map<String, Integer> position = new HashMap<>();
+        for (String module : dependencies.keySet()) {
+            position.put(module, position.size());
+        }
+
+        Map<String, Integer> remaining = new HashMap<>();
+        PriorityQueue<String> ready = new PriorityQueue<>((a, b) -> {
+            int byHeight = Integer.compare(height.get(b), height.get(a));
+            return byHeight != 0 ? byHeight : Integer.compare(position.get(a), position.get(b));
+        });
+        for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+            remaining.put(entry.getKey(), entry.getValue().size());
+            if (entry.getValue().isEmpty()) {
+                ready.add(entry.getKey());
+            }
+        }
+
+        List<String> order = new ArrayList<>(dependencies.size());
+        while (!ready.isEmpty()) {
+            String module = ready.poll();
+            order.add(module);
+            for (String dependent : dependents.get(module)) {
+                if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * 按层分组：第0层不依赖其他模块，第n层只依赖前n层的模块；同一层的模块可以并行构建
+     * @throws IllegalStateException 存在依赖环
+     */
+    public List<List<String>> levels() {
+        List<List<String>> levels = new ArrayList<>();
+        Map<String, Integer> depth = new HashMap<>();
+        for (String module : topologicalOrder()) {
+            int level = 0;
+            for (String dependency : dependencies.get(module)) {
+                level = Math.max(level, depth.get(dependency) + 1);
+            }
+            depth.put(module, level);
+            while (levels.size() <= level) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(level).add(module);
+        }
+        return levels;
+    }
+
+    private void assertAcyclic() {
+        List<String> cycle = findCycle();
+        if (!cycle.isEmpty()) {
+            throw new IllegalStateException("模块依赖存在循环: " + String.join(" " + EDGE_SEPARATOR + " ", cycle));
+        }
+    }
+
+    /**
+     * 每个模块到最远下游模块的路径长度（模块数），叶子下游为1
+     */
+    private Map<String, Integer> heights() {
+        Map<String, Integer> height = new HashMap<>();
+        // 从没有下游的模块开始，逆拓扑序计算（Kahn算法，沿 dependencies 方向）
+        Map<String, Integer> remaining = new HashMap<>();
+        Deque<String> ready = new ArrayDeque<>();
+        for (String module : dependencies.keySet()) {
+            remaining.put(module, dependents.get(module).size());
+            if (dependents.get(module).isEmpty()) {
+                ready.add(module);
+            }
+        }
+        while (!ready.isEmpty()) {
+            String module = ready.poll();
+            int h = 1;
+            for (String dependent : dependents.get(module)) {
+                h = Math.max(h, height.get(dependent) + 1);
+            }
+            height.put(module, h);
+            for (String dependency : dependencies.get(module)) {
+                if (remaining.merge(dependency, -1, Integer::sum) == 0) {
+                    ready.add(dependency);
+                }
+            }
+        }
+        return height;
+    }
+}
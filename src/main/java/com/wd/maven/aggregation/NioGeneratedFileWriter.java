@@ -0,0 +1,84 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.vfs.LocalFileSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 通过 java.nio 并行写出生成结果，底层写入见 {@link ArtifactWriter}
+ * 用于没有EDT/写操作可用的场景（新建项目向导、无界面模式），
+ * 写完后只对本次涉及的顶层路径做一次异步VFS刷新
+ */
+public class NioGeneratedFileWriter implements GeneratedFileWriter {
+
+    private static final Logger LOG = Logger.getInstance(NioGeneratedFileWriter.class);
+
+    private final ParallelGenerationEngine engine;
+    private final boolean refreshVfs;
+
+    public NioGeneratedFileWriter(ParallelGenerationEngine engine) {
+        this(engine, true);
+    }
+
+    /**
+     * @param engine 并行写出使用的引擎
+     * @param refreshVfs 写完后是否刷新VFS，无界面批量生成的目录不属于任何打开的项目，无需刷新
+     */
+    public NioGeneratedFileWriter(ParallelGenerationEngine engine, boolean refreshVfs) {
+        this.engine = engine;
+        this.refreshVfs = refreshVfs;
+    }
+
+    @Override
+    public GenerationReport write(GeneratedFileSet fileSet, ProgressIndicator indicator) throws IOException {
+        GenerationJournal journal = new GenerationJournal();
+        try {
+            long writeStart = System.nanoTime();
+            ArtifactWriter writer = new ArtifactWriter(journal);
+            // 目录按字典序排列，父目录先于子目录创建
+            for (String dir : fileSet.getDirectories()) {
+                writer.createDirectories(fileSet.resolve(dir));
+            }
+
+            List<String> paths = new ArrayList<>(fileSet.getFiles().keySet());
+            AtomicLong bytes = new AtomicLong();
+            GenerationReport report = engine.execute(fileSet.getRoot().toString(), paths, relativePath ->
+                    bytes.addAndGet(writer.write(fileSet.resolve(relativePath), fileSet.getFiles().get(relativePath))), indicator);
+            GenerationMetrics metrics = report.getMetrics();
+            metrics.record(GenerationMetrics.Phase.WRITE, System.nanoTime() - writeStart);
+            metrics.addBytes(bytes.get());
+
+            long refreshStart = System.nanoTime();
+            refreshGeneratedPaths(fileSet);
+            metrics.record(GenerationMetrics.Phase.VFS_REFRESH, System.nanoTime() - refreshStart);
+            return report;
+        } catch (ProcessCanceledException e) {
+            // 用户取消：撤销已写入的内容，保持项目目录干净
+            journal.rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * 只刷新本次生成涉及的顶层路径，避免对整个项目根目录做递归刷新
+     */
+    private void refreshGeneratedPaths(GeneratedFileSet fileSet) {
+        if (!refreshVfs || ApplicationManager.getApplication() == null) {
+            return;
+        }
+        List<File> generated = new ArrayList<>();
+        for (String topLevel : fileSet.getTopLevelPaths()) {
+            generated.add(fileSet.resolve(topLevel).toFile());
+        }
+        LOG.debug("Refreshing generated paths: " + generated);
+        LocalFileSystem.getInstance().refreshIoFiles(generated, true, true, null);
+    }
+}
@@ -0,0 +1,167 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 多模块并行生成引擎
+ * 在有界线程池上并行执行各模块的生成任务（目录创建、POM写入），
+ * 并按模块的输入顺序合并结果，保证报告内容与执行调度无关
+ */
+public class ParallelGenerationEngine {
+
+    private static final Logger LOG = Logger.getInstance(ParallelGenerationEngine.class);
+
+    // 文件生成以IO为主，线程数上限避免在网络文件系统上造成过多并发请求
+    private static final int MAX_PARALLELISM = 8;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final int parallelism;
+
+    public ParallelGenerationEngine() {
+        this(Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARALLELISM));
+    }
+
+    public ParallelGenerationEngine(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 单个模块的生成任务
+     */
+    public interface ModuleTask {
+        void generate(String module) throws Exception;
+    }
+
+    /**
+     * 并行执行所有模块的生成任务
+     * @param artifactId 项目ID（用于报告）
+     * @param modules 模块列表
+     * @param task 模块生成任务
+     * @return 按模块顺序合并的生成报告
+     */
+    public GenerationReport execute(String artifactId, List<String> modules, ModuleTask task) {
+        return execute(artifactId, modules, task, new EmptyProgressIndicator());
+    }
+
+    /**
+     * 并行执行所有模块的生成任务，每个任务开始前检查取消状态
+     * @param artifactId 项目ID（用于报告）
+     * @param modules 模块列表
+     * @param task 模块生成任务
+     * @param indicator 进度指示器
+     * @return 按模块顺序合并的生成报告
+     * @throws ProcessCanceledException 用户取消时抛出，此时所有工作线程均已停止
+     */
+    public GenerationReport execute(String artifactId, List<String> modules, ModuleTask task, ProgressIndicator indicator) {
+        GenerationReport report = new GenerationReport(artifactId);
+        if (modules.isEmpty()) {
+            return report;
+        }
+
+        // 模块数较少或并行度为1时直接在调用线程执行，省去线程池开销
+        int threads = Math.min(parallelism, modules.size());
+        if (threads == 1) {
+            for (int i = 0; i < modules.size(); i++) {
+                String module = modules.get(i);
+                indicator.checkCanceled();
+                runTask(report, module, task);
+                reportProgress(indicator, i, modules);
+            }
+            return report;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new GenerationThreadFactory());
+        try {
+            List<Future<?>> futures = new ArrayList<>(modules.size());
+            for (String module : modules) {
+                futures.add(executor.submit(() -> {
+                    indicator.checkCanceled();
+                    task.generate(module);
+                    return null;
+                }));
+            }
+
+            // 按提交顺序收集结果，保证合并结果的确定性
+            for (int i = 0; i < futures.size(); i++) {
+                String module = modules.get(i);
+                try {
+                    futures.get(i).get();
+                    report.addSuccess(module);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof ProcessCanceledException) {
+                        throw (ProcessCanceledException) cause;
+                    }
+                    LOG.warn("模块生成失败: " + module, cause);
+                    report.addFailure(module, cause);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ProcessCanceledException(e);
+                }
+                reportProgress(indicator, i, modules);
+            }
+        } finally {
+            shutdownAndWait(executor);
+        }
+        return report;
+    }
+
+    private void reportProgress(ProgressIndicator indicator, int index, List<String> modules) {
+        indicator.setText2("模块 " + (index + 1) + "/" + modules.size() + ": " + modules.get(index));
+    }
+
+    /**
+     * 停止线程池并等待正在执行的任务结束，避免取消回滚时仍有线程在写文件
+     */
+    private void shutdownAndWait(ExecutorService executor) {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("生成线程未能在 " + SHUTDOWN_TIMEOUT_SECONDS + " 秒内结束");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runTask(GenerationReport report, String module, ModuleTask task) {
+        try {
+            task.generate(module);
+            report.addSuccess(module);
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.warn("模块生成失败: " + module, e);
+            report.addFailure(module, e);
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    private static class GenerationThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "maven-aggregation-generator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.wd.maven.aggregation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 已有聚合项目的父POM：读取坐标和模块列表，并在原文中插入新模块
+ * 只读取顶层坐标（忽略 &lt;parent&gt; 中的同名元素），不解析整个POM
+ */
+public final class ParentPom {
+
+    private static final Pattern PARENT_SECTION = Pattern.compile("(?s)<parent>.*?</parent>");
+    private static final Pattern SECTION_TO_SKIP = Pattern.compile("(?s)<(modules|properties|dependencyManagement|dependencies|build|profiles)>.*?</\\1>");
+    private static final Pattern PACKAGING_POM = Pattern.compile("<packaging>\\s*pom\\s*</packaging>");
+    private static final Pattern MODULES_SECTION = Pattern.compile("(?s)<modules>(.*?)</modules>");
+    private static final Pattern MODULE = Pattern.compile("<module>\\s*(.*?)\\s*</module>");
+
+    private final String content;
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final List<String> modules;
+
+    private ParentPom(String content, String groupId, String artifactId, String version, List<String> modules) {
+        this.content = content;
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.modules = modules;
+    }
+
+    /**
+     * 解析父POM，不是聚合POM（packaging 不为 pom）时抛出异常
+     */
+    public static ParentPom parse(String content) {
+        if (!PACKAGING_POM.matcher(content).find()) {
+            throw new IllegalArgumentException("Not an aggregation POM: <packaging>pom</packaging> is missing");
+        }
+        // 顶层坐标：去掉 <parent> 和各个子段后再查找，避免匹配到依赖或插件中的同名元素
+        String parentSection = find(PARENT_SECTION, content, 0);
+        String header = SECTION_TO_SKIP.matcher(PARENT_SECTION.matcher(content).replaceFirst("")).replaceAll("");
+        String groupId = element(header, "groupId");
+        String version = element(header, "version");
+        if (parentSection != null) {
+            // groupId 和 version 可以从 <parent> 继承
+            groupId = groupId != null ? groupId : element(parentSection, "groupId");
+            version = version != null ? version : element(parentSection, "version");
+        }
+        String artifactId = element(header, "artifactId");
+        if (groupId == null || artifactId == null || version == null) {
+            throw new IllegalArgumentException("Parent POM must declare groupId, artifactId and version");
+        }
+
+        List<String> modules = new ArrayList<>();
+        Matcher section = MODULES_SECTION.matcher(content);
+        if (section.find()) {
+            Matcher module = MODULE.matcher(section.group(1));
+            while (module.find()) {
+                modules.add(module.group(1));
+            }
+        }
+        return new ParentPom(content, groupId, artifactId, version, Collections.unmodifiableList(modules));
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * &lt;modules&gt; 中声明的模块目录名
+     */
+    public List<String> getModules() {
+        return modules;
+    }
+
+    /**
+     * 去掉 artifactId 前缀后的模块名（与生成对话框中的模块名一致）
+     */
+    public List<String> getModuleNames() {
+        String prefix = artifactId + "-";
+        List<String> names = new ArrayList<>(modules.size());
+        for (String module : modules) {
+            names.add(module.startsWith(prefix) ? module.substring(prefix.length()) : module);
+        }
+        return names;
+    }
+
+    /**
+     * 父POM是否管理了常用依赖（生成时勾选了“添加常用依赖”）
+     */
+    public boolean hasCommonDependencies() {
+        return content.contains("<artifactId>lombok</artifactId>");
+    }
+
+    /**
+     * 在原文中插入一个 &lt;module&gt; 和对应的 dependencyManagement 条目，其余内容保持不变
+     */
+    public String withModule(String moduleArtifactId) {
+        String fragment = "    <modules>\n"
+                + "        <module>" + moduleArtifactId + "</module>\n"
+                + "    </modules>\n"
+                + "    <dependencyManagement>\n"
+                + "        <dependencies>\n"
+                + "            <dependency>\n"
+                + "                <groupId>" + groupId + "</groupId>\n"
+                + "                <artifactId>" + moduleArtifactId + "</artifactId>\n"
+                + "                <version>${project.version}</version>\n"
+                + "            </dependency>\n"
+                + "        </dependencies>\n"
+                + "    </dependencyManagement>";
+        return PomSectionMerger.merge(content, fragment);
+    }
+
+    /**
+     * 与完整生成时一样插入基准测试模块：模块放在 benchmark profile 中，不参与默认构建，
+     * dependencyManagement 中管理 JMH 的版本；其余内容保持不变
+     */
+    public String withBenchmarkModule(String moduleArtifactId, String jmhVersion) {
+        String fragment = "    <dependencyManagement>\n"
+                + "        <dependencies>\n"
+                + "            <dependency>\n"
+                + "                <groupId>org.openjdk.jmh</groupId>\n"
+                + "                <artifactId>jmh-core</artifactId>\n"
+                + "                <version>" + jmhVersion + "</version>\n"
+                + "            </dependency>\n"
+                + "            <dependency>\n"
+                + "                <groupId>org.openjdk.jmh</groupId>\n"
+                + "                <artifactId>jmh-generator-annprocess</artifactId>\n"
+                + "                <version>" + jmhVersion + "</version>\n"
+                + "            </dependency>\n"
+                + "        </dependencies>\n"
+                + "    </dependencyManagement>\n"
+                + "    <profiles>\n"
+                + "        <!-- 基准测试模块不参与默认构建：mvn -Pbenchmark package 后运行 java -jar " + moduleArtifactId + "/target/benchmarks.jar -->\n"
+                + "        <profile>\n"
+                + "            <id>benchmark</id>\n"
+                + "            <modules>\n"
+                + "                <module>" + moduleArtifactId + "</module>\n"
+                + "            </modules>\n"
+                + "        </profile>\n"
+                + "    </profiles>";
+        return PomSectionMerger.merge(content, fragment);
+    }
+
+    private static String element(String text, String name) {
+        return find(Pattern.compile("<" + name + ">\\s*(.*?)\\s*</" + name + ">"), text, 1);
+    }
+
+    private static String find(Pattern pattern, String text, int group) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.group(group) : null;
+    }
+}
@@ -0,0 +1,320 @@
+package com.wd.maven.aggregation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 把生成器负责的POM片段合并到已有POM中
+ * 生成器负责的片段（都是 &lt;project&gt; 的直接子元素）：
+ * <ul>
+ *   <li>&lt;modules&gt;：按模块名追加</li>
+ *   <li>&lt;dependencyManagement&gt; 和子模块的 &lt;dependencies&gt;：按 groupId:artifactId 追加</li>
+ *   <li>&lt;build&gt; 中的 &lt;plugins&gt; 和 &lt;pluginManagement&gt;：按插件坐标追加</li>
+ *   <li>&lt;profiles&gt;：按 id 追加</li>
+ * </ul>
+ * 已有条目（包括用户修改过的版本号和配置）保持原样，只追加缺少的条目；已有POM缺少整段时插入整段。
+ * 这样重新生成时新勾选的选项（如可观测性、高性能 common）带来的依赖和插件也会进入已有POM，
+ * 不会出现源码已生成而依赖缺失的情况。POM的其余部分不做任何改动。
+ * 按文本合并而不是解析成DOM再序列化，以保留原文件的格式、注释和换行符；
+ * 元素按层级定位，不会把 &lt;profile&gt; 或插件中的同名元素当成顶层段
+ */
+public final class PomSectionMerger {
+
+    private static final String PROJECT = "project";
+    private static final String DEFAULT_PLUGIN_GROUP_ID = "org.apache.maven.plugins";
+    /**
+     * 顶层段在POM中的惯用顺序，已有POM缺少某段时插入到它后面第一个已有段之前
+     */
+    private static final String[] TOP_LEVEL_ORDER = {
+            "modules", "properties", "dependencyManagement", "dependencies", "build", "profiles"
+    };
+    private static final Pattern TAG_NAME = Pattern.compile("[^\\s/>]+");
+
+    private PomSectionMerger() {
+    }
+
+    /**
+     * 合并生成的POM到已有POM，返回合并后的内容；没有需要追加的内容时原样返回已有POM
+     * @param generated 生成的完整POM，或只包含若干顶层段的片段
+     * @throws IllegalArgumentException 已有POM没有 &lt;project&gt; 根元素，无法安全合并
+     */
+    public static String merge(String existing, String generated) {
+        if (child(existing, 0, existing.length(), PROJECT) == null) {
+            throw new IllegalArgumentException("Cannot merge into a POM without a <project> root element");
+        }
+        String lineSeparator = existing.contains("\r\n") ? "\r\n" : "\n";
+        String merged = existing;
+        merged = mergeChildren(merged, generated, lineSeparator, PomSectionMerger::textKey, "modules", "module");
+        merged = mergeChildren(merged, generated, lineSeparator, PomSectionMerger::dependencyKey, "dependencyManagement", "dependencies", "dependency");
+        merged = mergeChildren(merged, generated, lineSeparator, PomSectionMerger::dependencyKey, "dependencies", "dependency");
+        merged = mergeChildren(merged, generated, lineSeparator, PomSectionMerger::pluginKey, "build", "pluginManagement", "plugins", "plugin");
+        merged = mergeChildren(merged, generated, lineSeparator, PomSectionMerger::pluginKey, "build", "plugins", "plugin");
+        return mergeChildren(merged, generated, lineSeparator, PomSectionMerger::profileKey, "profiles", "profile");
+    }
+
+    /**
+     * 按路径定位容器元素，把生成的POM中已有POM缺少的子元素追加进去
+     * @param path 从顶层段到容器元素的路径，最后一项是条目的元素名
+     * @param key 条目的标识，标识相同的条目视为同一条目
+     */
+    private static String mergeChildren(String existing, String generated, String lineSeparator,
+                                        BiFunction<String, Element, String> key, String... path) {
+        String entryName = path[path.length - 1];
+        Element generatedContainer = root(generated);
+        Element existingContainer = root(existing);
+        for (int i = 0; i < path.length - 1; i++) {
+            generatedContainer = child(generated, generatedContainer, path[i]);
+            if (generatedContainer == null) {
+                return existing;
+            }
+            Element existingChild = child(existing, existingContainer, path[i]);
+            if (existingChild == null) {
+                // 已有POM缺少这一级：插入生成的整段
+                String block = block(generated, generatedContainer);
+                if (i == 0) {
+                    return insertTopLevel(existing, existingContainer, path[0], block, lineSeparator);
+                }
+                String indent = childIndent(existing, existingContainer,
+                        children(existing, existingContainer.contentStart, existingContainer.contentEnd));
+                return insertBeforeClosingTag(existing, existingContainer.contentEnd, reindent(block, lineSeparator, indent) + lineSeparator);
+            }
+            existingContainer = existingChild;
+        }
+
+        Set<String> existingKeys = new LinkedHashSet<>();
+        List<Element> existingEntries = children(existing, existingContainer.contentStart, existingContainer.contentEnd);
+        for (Element entry : existingEntries) {
+            if (entry.name.equals(entryName)) {
+                existingKeys.add(key.apply(existing, entry));
+            }
+        }
+
+        String indent = childIndent(existing, existingContainer, existingEntries);
+        StringBuilder missing = new StringBuilder();
+        for (Element entry : children(generated, generatedContainer.contentStart, generatedContainer.contentEnd)) {
+            if (entry.name.equals(entryName) && existingKeys.add(key.apply(generated, entry))) {
+                missing.append(reindent(block(generated, entry), lineSeparator, indent)).append(lineSeparator);
+            }
+        }
+        return insertBeforeClosingTag(existing, existingContainer.contentEnd, missing.toString());
+    }
+
+    /**
+     * 插入缺少的顶层段：放在按惯用顺序排在它后面的第一个已有段之前，没有时放在 &lt;/project&gt; 之前
+     */
+    private static String insertTopLevel(String existing, Element project, String name, String block, String lineSeparator) {
+        String section = block.replace("\n", lineSeparator);
+        boolean after = false;
+        for (String candidate : TOP_LEVEL_ORDER) {
+            if (candidate.equals(name)) {
+                after = true;
+            } else if (after) {
+                Element next = child(existing, project, candidate);
+                if (next != null) {
+                    int lineStart = lineStart(existing, next.start);
+                    return existing.substring(0, lineStart) + section + lineSeparator + lineSeparator + existing.substring(lineStart);
+                }
+            }
+        }
+        return insertBeforeClosingTag(existing, project.contentEnd, lineSeparator + section + lineSeparator);
+    }
+
+    private static String textKey(String text, Element element) {
+        return text.substring(element.contentStart, element.contentEnd).trim();
+    }
+
+    private static String dependencyKey(String text, Element element) {
+        return childText(text, element, "groupId", "") + ":" + childText(text, element, "artifactId", "");
+    }
+
+    private static String pluginKey(String text, Element element) {
+        return childText(text, element, "groupId", DEFAULT_PLUGIN_GROUP_ID) + ":" + childText(text, element, "artifactId", "");
+    }
+
+    private static String profileKey(String text, Element element) {
+        return childText(text, element, "id", "");
+    }
+
+    private static String childText(String text, Element parent, String name, String defaultValue) {
+        Element child = child(text, parent, name);
+        return child != null ? textKey(text, child) : defaultValue;
+    }
+
+    /**
+     * 合并的起点：完整POM为 &lt;project&gt; 元素，片段为整个文本
+     */
+    private static Element root(String text) {
+        Element project = child(text, 0, text.length(), PROJECT);
+        return project != null ? project : new Element(PROJECT, 0, 0, text.length(), text.length());
+    }
+
+    private static Element child(String text, Element parent, String name) {
+        return child(text, parent.contentStart, parent.contentEnd, name);
+    }
+
+    private static Element child(String text, int from, int to, String name) {
+        for (Element element : children(text, from, to)) {
+            if (element.name.equals(name)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * [from, to) 范围内的直接子元素，跳过注释、CDATA 和处理指令
+     */
+    private static List<Element> children(String text, int from, int to) {
+        List<Element> children = new ArrayList<>();
+        int depth = 0;
+        int pos = from;
+        String openName = null;
+        int openStart = 0;
+        int openContentStart = 0;
+        while (true) {
+            int lt = text.indexOf('<', pos);
+            if (lt < 0 || lt >= to) {
+                break;
+            }
+            if (text.startsWith("<!--", lt)) {
+                pos = skipPast(text, lt, "-->");
+                continue;
+            }
+            if (text.startsWith("<![CDATA[", lt)) {
+                pos = skipPast(text, lt, "]]>");
+                continue;
+            }
+            int gt = text.indexOf('>', lt);
+            if (gt < 0) {
+                break;
+            }
+            pos = gt + 1;
+            if (text.startsWith("<?", lt) || text.startsWith("<!", lt)) {
+                continue;
+            }
+            boolean closing = text.charAt(lt + 1) == '/';
+            if (closing) {
+                depth--;
+                if (depth == 0 && openName != null) {
+                    children.add(new Element(openName, openStart, openContentStart, lt, gt + 1));
+                    openName = null;
+                } else if (depth < 0) {
+                    break;
+                }
+                continue;
+            }
+            Matcher name = TAG_NAME.matcher(text).region(lt + 1, gt);
+            String tagName = name.lookingAt() ? name.group() : "";
+            if (text.charAt(gt - 1) == '/') {
+                if (depth == 0) {
+                    children.add(new Element(tagName, lt, gt + 1, gt + 1, gt + 1));
+                }
+            } else {
+                if (depth == 0) {
+                    openName = tagName;
+                    openStart = lt;
+                    openContentStart = gt + 1;
+                }
+                depth++;
+            }
+        }
+        return children;
+    }
+
+    private static int skipPast(String text, int from, String terminator) {
+        int end = text.indexOf(terminator, from);
+        return end < 0 ? text.length() : end + terminator.length();
+    }
+
+    /**
+     * 元素的原文，包括起始标签所在行的缩进
+     */
+    private static String block(String text, Element element) {
+        int lineStart = lineStart(text, element.start);
+        int start = text.substring(lineStart, element.start).trim().isEmpty() ? lineStart : element.start;
+        return text.substring(start, element.end);
+    }
+
+    /**
+     * 把块的缩进从第一行的缩进换成 indent，并统一换行符
+     */
+    private static String reindent(String block, String lineSeparator, String indent) {
+        String normalized = block.replace("\r\n", "\n");
+        String original = normalized.substring(0, normalized.length() - normalized.replaceAll("^[ \\t]+", "").length());
+        if (!original.equals(indent)) {
+            StringBuilder reindented = new StringBuilder();
+            for (String line : normalized.split("\n", -1)) {
+                if (reindented.length() > 0) {
+                    reindented.append('\n');
+                }
+                reindented.append(line.startsWith(original) ? indent + line.substring(original.length()) : line);
+            }
+            normalized = reindented.toString();
+        }
+        return normalized.replace("\n", lineSeparator);
+    }
+
+    /**
+     * 在闭合标签所在行之前插入内容
+     */
+    private static String insertBeforeClosingTag(String text, int closingTagStart, String content) {
+        if (content.isEmpty()) {
+            return text;
+        }
+        int lineStart = lineStart(text, closingTagStart);
+        String beforeTag = text.substring(lineStart, closingTagStart);
+        if (beforeTag.trim().isEmpty()) {
+            return text.substring(0, lineStart) + content + text.substring(lineStart);
+        }
+        // 闭合标签与其他内容同行（如 <modules></modules>）：换行后插入，再把闭合标签放回原缩进
+        String lineSeparator = content.endsWith("\r\n") ? "\r\n" : "\n";
+        String indent = beforeTag.substring(0, beforeTag.length() - beforeTag.replaceAll("^[ \\t]+", "").length());
+        return text.substring(0, closingTagStart) + lineSeparator + content + indent + text.substring(closingTagStart);
+    }
+
+    private static int lineStart(String text, int index) {
+        return text.lastIndexOf('\n', index - 1) + 1;
+    }
+
+    /**
+     * 子元素的缩进：沿用容器内第一个子元素的缩进，容器为空时比起始标签多缩进4个空格
+     */
+    private static String childIndent(String text, Element container, List<Element> children) {
+        if (!children.isEmpty()) {
+            Element first = children.get(0);
+            String beforeFirst = text.substring(lineStart(text, first.start), first.start);
+            if (beforeFirst.trim().isEmpty()) {
+                return beforeFirst;
+            }
+        }
+        return text.substring(lineStart(text, container.start), container.start).replaceAll("\\S", "") + "    ";
+    }
+
+    /**
+     * 元素在文本中的位置
+     */
+    private static final class Element {
+        final String name;
+        // 起始标签的 '<'
+        final int start;
+        // 起始标签之后
+        final int contentStart;
+        // 闭合标签的 '<'
+        final int contentEnd;
+        // 闭合标签之后
+        final int end;
+
+        Element(String name, int start, int contentStart, int contentEnd, int end) {
+            this.name = name;
+            this.start = start;
+            this.contentStart = contentStart;
+            this.contentEnd = contentEnd;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.wd.maven.aggregation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 估算模块依赖图在 Maven reactor 中的构建并行度
+ * 假设每个模块的构建耗时相同（1个单位），计算关键路径、每层宽度，
+ * 并按 mvn -T 的调度方式（依赖就绪的模块按拓扑优先级分配给空闲线程）模拟不同线程数下的加速比
+ */
+public class ReactorAnalysis {
+
+    /**
+     * 加速比低于此值时认为构建基本是串行的
+     */
+    static final double SERIAL_SPEEDUP_THRESHOLD = 1.5;
+
+    private static final int[] THREAD_COUNTS = {2, 4, 8};
+
+    private final int moduleCount;
+    private final List<String> criticalPath;
+    private final List<Integer> levelWidths;
+    private final Map<Integer, Double> speedups = new LinkedHashMap<>();
+
+    private ReactorAnalysis(int moduleCount, List<String> criticalPath, List<Integer> levelWidths) {
+        this.moduleCount = moduleCount;
+        this.criticalPath = criticalPath;
+        this.levelWidths = levelWidths;
+    }
+
+    /**
+     * 分析模块依赖图
+     * @throws IllegalStateException 存在依赖环
+     */
+    public static ReactorAnalysis analyze(ModuleGraph graph) {
+        List<String> order = graph.topologicalOrder();
+        List<Integer> levelWidths = new ArrayList<>();
+        for (List<String> level : graph.levels()) {
+            levelWidths.add(level.size());
+        }
+
+        ReactorAnalysis analysis = new ReactorAnalysis(order.size(), criticalPath(graph, order), levelWidths);
+        for (int threads : THREAD_COUNTS) {
+            analysis.speedups.put(threads, speedup(graph, order, threads));
+        }
+        return analysis;
+    }
+
+    public int getModuleCount() {
+        return moduleCount;
+    }
+
+    /**
+     * 关键路径上的模块，从最底层依赖到最上层模块
+     */
+    public List<String> getCriticalPath() {
+        return Collections.unmodifiableList(criticalPath);
+    }
+
+    public int getCriticalPathLength() {
+        return criticalPath.size();
+    }
+
+    /**
+     * 每层可以同时构建的模块数
+     */
+    public List<Integer> getLevelWidths() {
+        return Collections.unmodifiableList(levelWidths);
+    }
+
+    public int getMaxWidth() {
+        int max = 0;
+        for (int width : levelWidths) {
+            max = Math.max(max, width);
+        }
+        return max;
+    }
+
+    /**
+     * 线程数不受限时的理论加速比：模块数 / 关键路径长度
+     */
+    public double getMaxSpeedup() {
+        return criticalPath.isEmpty() ? 1.0 : (double) moduleCount / criticalPath.size();
+    }
+
+    /**
+     * 各线程数（-T n）下模拟调度得到的加速比
+     */
+    public Map<Integer, Double> getSpeedups() {
+        return Collections.unmodifiableMap(speedups);
+    }
+
+    /**
+     * 构建是否基本串行：多于一个模块，但并行带来的加速不明显
+     */
+    public boolean isSerialized() {
+        return moduleCount > 1 && getMaxSpeedup() < SERIAL_SPEEDUP_THRESHOLD;
+    }
+
+    /**
+     * 最长依赖链：沿拓扑序做动态规划，记录每个模块所在最长链的前驱
+     */
+    private static List<String> criticalPath(ModuleGraph graph, List<String> order) {
+        Map<String, Integer> length = new HashMap<>();
+        Map<String, String> previous = new HashMap<>();
+        String end = null;
+        for (String module : order) {
+            int best = 0;
+            for (String dependency : graph.getDependencies(module)) {
+                if (length.get(dependency) > best) {
+                    best = length.get(dependency);
+                    previous.put(module, dependency);
+                }
+            }
+            length.put(module, best + 1);
+            if (end == null || length.get(module) > length.get(end)) {
+                end = module;
+            }
+        }
+
+        List<String> path = new ArrayList<>();
+        for (String module = end; module != null; module = previous.get(module)) {
+            path.add(module);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * 以单位耗时模拟 threads 个线程的构建，返回 模块数 / 总步数
+     */
+    private static double speedup(ModuleGraph graph, List<String> order, int threads) {
+        if (order.isEmpty()) {
+            return 1.0;
+        }
+        Map<String, Integer> priority = new HashMap<>();
+        Map<String, Integer> remaining = new HashMap<>();
+        PriorityQueue<String> ready = new PriorityQueue<>((a, b) -> Integer.compare(priority.get(a), priority.get(b)));
+        for (String module : order) {
+            priority.put(module, priority.size());
+            remaining.put(module, graph.getDependencies(module).size());
+            if (graph.getDependencies(module).isEmpty()) {
+                ready.add(module);
+            }
+        }
+
+        int steps = 0;
+        List<String> running = new ArrayList<>(threads);
+        while (!ready.isEmpty()) {
+            running.clear();
+            while (running.size() < threads && !ready.isEmpty()) {
+                running.add(ready.poll());
+            }
+            steps++;
+            for (String module : running) {
+                for (String dependent : graph.getDependents(module)) {
+                    if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+        }
+        return (double) order.size() / steps;
+    }
+}
@@ -0,0 +1,136 @@
+package com.wd.maven.aggregation;
+
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+import java.awt.event.ItemListener;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * 设置界面共用的更新管道
+ * 所有输入框和复选框的修改都只重启同一个定时器，停止输入一段时间后统一执行一次模型更新和一次校验，
+ * 再通知监听器（如预览、反应堆分析）。相比每个输入框各自防抖，连续修改多个字段也只会重建一次模块列表。
+ * 只在EDT上使用
+ */
+public class SettingsUpdatePipeline {
+
+    /**
+     * 默认的静默时间（毫秒）
+     */
+    public static final int DEFAULT_DELAY = 300;
+
+    /**
+     * 设置变化监听器，在模型更新和校验之后调用
+     */
+    public interface Listener {
+        /**
+         * @param validationError 校验失败的提示，校验通过时为null
+         */
+        void settingsChanged(@Nullable String validationError);
+    }
+
+    private final Runnable update;
+    private final Supplier<String> validation;
+    private final Timer timer;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final DocumentListener documentListener = new DocumentListener() {
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            requestUpdate();
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            requestUpdate();
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            requestUpdate();
+        }
+    };
+    private final ItemListener itemListener = e -> requestUpdate();
+
+    /**
+     * @param update 把界面上的值写入模型
+     * @param validation 校验模型，返回错误提示，通过时返回null
+     */
+    public SettingsUpdatePipeline(Runnable update, Supplier<String> validation) {
+        this(update, validation, DEFAULT_DELAY);
+    }
+
+    public SettingsUpdatePipeline(Runnable update, Supplier<String> validation, int delay) {
+        this.update = update;
+        this.validation = validation;
+        this.timer = new Timer(delay, e -> flush());
+        this.timer.setRepeats(false);
+    }
+
+    /**
+     * 监听输入框的修改
+     */
+    public void watch(JTextComponent... fields) {
+        for (JTextComponent field : fields) {
+            field.getDocument().addDocumentListener(documentListener);
+        }
+    }
+
+    /**
+     * 监听复选框、单选框的选中状态
+     */
+    public void watch(AbstractButton... buttons) {
+        for (AbstractButton button : buttons) {
+            button.addItemListener(itemListener);
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 标记有修改，静默时间内的多次修改合并为一次更新
+     */
+    public void requestUpdate() {
+        timer.restart();
+    }
+
+    /**
+     * 有未处理的修改时立即更新（如点击完成前），返回最新的校验结果
+     */
+    @Nullable
+    public String flushIfPending() {
+        return timer.isRunning() ? flush() : validation.get();
+    }
+
+    /**
+     * 立即执行一次模型更新、校验并通知监听器
+     * @return 校验失败的提示，通过时为null
+     */
+    @Nullable
+    public String flush() {
+        timer.stop();
+        update.run();
+        String error = validation.get();
+        for (Listener listener : listeners) {
+            listener.settingsChanged(error);
+        }
+        return error;
+    }
+
+    /**
+     * 停止定时器，丢弃未处理的修改
+     */
+    public void dispose() {
+        timer.stop();
+    }
+}
@@ -1,27 +0,0 @@
-package com.wd.maven.aggregation;
-
-import javax.swing.event.DocumentEvent;
-import javax.swing.event.DocumentListener;
-
-public class SimpleDocumentListener implements DocumentListener {
-    private final Runnable action;
-    
-    public SimpleDocumentListener(Runnable action) {
-        this.action = action;
-    }
-    
-    @Override
-    public void insertUpdate(DocumentEvent e) {
-        action.run();
-    }
-    
-    @Override
-    public void removeUpdate(DocumentEvent e) {
-        action.run();
-    }
-    
-    @Override
-    public void changedUpdate(DocumentEvent e) {
-        action.run();
-    }
-}
\ No newline at end of file
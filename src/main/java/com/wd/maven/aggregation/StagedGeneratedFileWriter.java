@@ -0,0 +1,209 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.vfs.LocalFileSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 暂存式写出：全部内容先写入同一文件系统上的临时目录，成功后再原子移动到项目目录
+ * <ul>
+ *   <li>写入或渲染中途失败、用户取消时只需删除临时目录，项目目录不会出现写了一半的POM</li>
+ *   <li>每个顶层路径（模块目录、pom.xml 等）只移动一次，文件监视器和Maven导入看到的是一批完整的变化，
+ *       而不是几百个中间文件</li>
+ *   <li>目标目录已存在时（增量生成）逐级合并，被替换的文件先移入临时目录备份；
+ *       任何一步移动失败都会撤销已完成的移动</li>
+ * </ul>
+ * 临时目录优先放在项目目录旁边（不在文件监视范围内），与项目不在同一文件系统时放在项目目录内
+ */
+public class StagedGeneratedFileWriter implements GeneratedFileWriter {
+
+    private static final Logger LOG = Logger.getInstance(StagedGeneratedFileWriter.class);
+    private static final String STAGING_PREFIX = ".maven-aggregation-staging-";
+
+    private final ParallelGenerationEngine engine;
+    private final boolean refreshVfs;
+
+    /**
+     * @param engine 并行写入临时目录使用的引擎
+     * @param refreshVfs 移入后是否刷新VFS，无界面批量生成时无需刷新
+     */
+    public StagedGeneratedFileWriter(ParallelGenerationEngine engine, boolean refreshVfs) {
+        this.engine = engine;
+        this.refreshVfs = refreshVfs;
+    }
+
+    @Override
+    public GenerationReport write(GeneratedFileSet fileSet, ProgressIndicator indicator) throws IOException {
+        Path root = fileSet.getRoot();
+        Path staging = createStagingDirectory(root);
+        try {
+            // 1. 写入临时目录，失败时项目目录保持原样
+            long writeStart = System.nanoTime();
+            ArtifactWriter writer = new ArtifactWriter(new GenerationJournal());
+            for (String dir : fileSet.getDirectories()) {
+                writer.createDirectories(staging.resolve(dir));
+            }
+            List<String> paths = new ArrayList<>(fileSet.getFiles().keySet());
+            AtomicLong bytes = new AtomicLong();
+            GenerationReport report = engine.execute(root.toString(), paths, relativePath ->
+                    bytes.addAndGet(writer.write(staging.resolve(relativePath), fileSet.getFiles().get(relativePath))), indicator);
+            GenerationMetrics metrics = report.getMetrics();
+            metrics.record(GenerationMetrics.Phase.WRITE, System.nanoTime() - writeStart);
+            metrics.addBytes(bytes.get());
+            if (!report.isSuccess()) {
+                LOG.warn("写入临时目录失败，项目目录未做任何修改: " + root);
+                return report;
+            }
+
+            // 2. 最后一次响应取消，之后的移动必须全部完成或全部撤销
+            indicator.checkCanceled();
+            long publishStart = System.nanoTime();
+            publish(staging, root, fileSet);
+            metrics.record(GenerationMetrics.Phase.PUBLISH, System.nanoTime() - publishStart);
+
+            long refreshStart = System.nanoTime();
+            refreshGeneratedPaths(fileSet);
+            metrics.record(GenerationMetrics.Phase.VFS_REFRESH, System.nanoTime() - refreshStart);
+            return report;
+        } finally {
+            deleteQuietly(staging);
+        }
+    }
+
+    /**
+     * 把临时目录中的顶层路径逐个移入项目目录，失败时按相反顺序撤销
+     */
+    private void publish(Path staging, Path root, GeneratedFileSet fileSet) throws IOException {
+        Path backup = Files.createDirectory(staging.resolve(STAGING_PREFIX + "backup"));
+        List<Move> moves = new ArrayList<>();
+        try {
+            for (String topLevel : fileSet.getTopLevelPaths()) {
+                moveIntoPlace(staging.resolve(topLevel), root.resolve(topLevel), backup.resolve(topLevel), moves);
+            }
+        } catch (IOException e) {
+            Collections.reverse(moves);
+            for (Move move : moves) {
+                move.undo();
+            }
+            throw e;
+        }
+    }
+
+    private void moveIntoPlace(Path source, Path target, Path backup, List<Move> moves) throws IOException {
+        if (Files.isDirectory(target) && Files.isDirectory(source)) {
+            // 目标目录已存在（增量生成），逐项合并
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(source)) {
+                for (Path child : children) {
+                    String name = child.getFileName().toString();
+                    moveIntoPlace(child, target.resolve(name), backup.resolve(name), moves);
+                }
+            }
+            return;
+        }
+        if (Files.isDirectory(target) || Files.isDirectory(source) && Files.exists(target)) {
+            throw new IOException("目标路径与生成内容类型不一致（文件/目录）: " + target);
+        }
+        Path replaced = null;
+        if (Files.exists(target)) {
+            // 被覆盖的文件先移走备份，撤销时放回原处
+            Files.createDirectories(backup.getParent());
+            Files.move(target, backup, StandardCopyOption.ATOMIC_MOVE);
+            replaced = backup;
+        }
+        Move move = new Move(target, replaced);
+        moves.add(move);
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        move.done = true;
+    }
+
+    /**
+     * 临时目录：优先放在项目目录的父目录中，要求与项目目录在同一文件系统上才能原子移动
+     */
+    private static Path createStagingDirectory(Path root) throws IOException {
+        Path parent = root.toAbsolutePath().getParent();
+        if (parent != null && Files.isWritable(parent)
+                && Files.getFileStore(parent).equals(Files.getFileStore(root))) {
+            return Files.createTempDirectory(parent, STAGING_PREFIX);
+        }
+        return Files.createTempDirectory(root, STAGING_PREFIX);
+    }
+
+    /**
+     * 移入后只刷新一次本次涉及的顶层路径
+     */
+    private void refreshGeneratedPaths(GeneratedFileSet fileSet) {
+        if (!refreshVfs || ApplicationManager.getApplication() == null) {
+            return;
+        }
+        List<File> generated = new ArrayList<>();
+        for (String topLevel : fileSet.getTopLevelPaths()) {
+            generated.add(fileSet.resolve(topLevel).toFile());
+        }
+        LocalFileSystem.getInstance().refreshIoFiles(generated, true, true, null);
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path directory, IOException e) throws IOException {
+                    Files.delete(directory);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOG.warn("Failed to delete staging directory: " + dir, e);
+        }
+    }
+
+    /**
+     * 一次移动，撤销时删除移入的内容并放回被替换的文件
+     */
+    private static class Move {
+        private final Path target;
+        private final Path replaced;
+        private boolean done;
+
+        Move(Path target, Path replaced) {
+            this.target = target;
+            this.replaced = replaced;
+        }
+
+        void undo() {
+            try {
+                if (done) {
+                    deleteQuietly(target);
+                }
+                if (replaced != null) {
+                    Files.move(replaced, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                LOG.warn("Failed to undo move: " + target, e);
+            }
+        }
+    }
+}
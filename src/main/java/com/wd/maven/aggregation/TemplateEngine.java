@@ -0,0 +1,169 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 生成文件模板的加载与缓存
+ * 模板在插件会话内只编译一次，之后所有生成器实例共享同一份渲染树。
+ * 用户可以在模板目录（默认 ~/.maven-aggregation/templates，可通过系统属性
+ * maven.aggregation.templates 指定）中放置同名文件覆盖内置模板，修改后按文件时间戳重新编译
+ */
+public final class TemplateEngine {
+
+    private static final Logger LOG = Logger.getInstance(TemplateEngine.class);
+
+    public static final String PARENT_POM = "parent-pom.xml";
+    public static final String MODULE_POM = "module-pom.xml";
+    public static final String SINGLE_MODULE_POM = "single-module-pom.xml";
+    public static final String BENCHMARK_POM = "benchmark-pom.xml";
+    public static final String SAMPLE_BENCHMARK = "SampleBenchmark.java";
+    public static final String README_MULTI_MODULE = "README-multi-module.md";
+    public static final String README_DDD = "README-ddd.md";
+    public static final String README_MVC = "README-mvc.md";
+    public static final String GITIGNORE = "gitignore";
+    public static final String MAVEN_CONFIG = "maven.config";
+    public static final String JVM_CONFIG = "jvm.config";
+    public static final String MAVEN_EXTENSIONS = "extensions.xml";
+    public static final String BUILD_CACHE_CONFIG = "maven-build-cache-config.xml";
+    public static final String DOMAIN_EVENT = "DomainEvent.java";
+    public static final String DOMAIN_EVENT_PUBLISHER = "DomainEventPublisher.java";
+    public static final String DOMAIN_EVENT_SUBSCRIBER = "DomainEventSubscriber.java";
+    public static final String RING_BUFFER_EVENT_BUS = "RingBufferEventBus.java";
+    public static final String EVENT_BUS_BENCHMARK = "EventBusBenchmark.java";
+    public static final String MVC_APPLICATION_CONFIG = "application-mvc.properties";
+    public static final String MVC_APPLICATION = "MvcApplication.java";
+    public static final String CONCURRENCY_CONFIG = "ConcurrencyConfig.java";
+    public static final String OVERVIEW_CONTROLLER = "OverviewController.java";
+    public static final String OVERVIEW_SERVICE = "OverviewService.java";
+    public static final String OVERVIEW_SERVICE_IMPL = "OverviewServiceImpl.java";
+    public static final String OVERVIEW_VO = "OverviewVO.java";
+    public static final String VIRTUAL_THREAD_LOAD_TEST = "VirtualThreadLoadTest.java";
+    public static final String CACHE = "Cache.java";
+    public static final String CACHE_STATS = "CacheStats.java";
+    public static final String FREQUENCY_SKETCH = "FrequencySketch.java";
+    public static final String BOUNDED_LOCAL_CACHE = "BoundedLocalCache.java";
+    public static final String CACHEABLE_REPOSITORY = "CacheableRepository.java";
+    public static final String READ_THROUGH_REPOSITORY = "ReadThroughRepository.java";
+    public static final String CACHE_ASIDE_REPOSITORY = "CacheAsideRepository.java";
+    public static final String BIT_UTIL = "BitUtil.java";
+    public static final String OFF_HEAP_BUFFER = "OffHeapBuffer.java";
+    public static final String LONG2LONG_OFF_HEAP_HASH_MAP = "Long2LongOffHeapHashMap.java";
+    public static final String OFF_HEAP_BUFFER_TEST = "OffHeapBufferTest.java";
+    public static final String LONG2LONG_OFF_HEAP_HASH_MAP_TEST = "Long2LongOffHeapHashMapTest.java";
+    public static final String OBSERVABILITY = "Observability.java";
+    public static final String TIMED_INTERCEPTOR = "TimedInterceptor.java";
+
+    private static final String BUILTIN_TEMPLATE_ROOT = "/templates/";
+    private static final String USER_TEMPLATE_DIR_PROPERTY = "maven.aggregation.templates";
+
+    private static final TemplateEngine INSTANCE = new TemplateEngine(defaultUserTemplateDir());
+
+    private final Path userTemplateDir;
+    private final Map<String, CachedTemplate> cache = new ConcurrentHashMap<>();
+
+    TemplateEngine(Path userTemplateDir) {
+        this.userTemplateDir = userTemplateDir;
+    }
+
+    public static TemplateEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 渲染指定模板
+     */
+    public String render(String templateName, Map<String, ?> context) {
+        return getTemplate(templateName).render(context);
+    }
+
+    /**
+     * 获取编译后的模板，用户模板优先于内置模板
+     */
+    public CompiledTemplate getTemplate(String templateName) {
+        Path userTemplate = userTemplateDir != null ? userTemplateDir.resolve(templateName) : null;
+        long userTimestamp = lastModified(userTemplate);
+
+        CachedTemplate cached = cache.get(templateName);
+        if (cached != null && cached.userTimestamp == userTimestamp) {
+            return cached.template;
+        }
+
+        CompiledTemplate template = CompiledTemplate.compile(templateName, loadSource(templateName, userTemplate, userTimestamp));
+        cache.put(templateName, new CachedTemplate(template, userTimestamp));
+        return template;
+    }
+
+    /**
+     * 清空缓存，下次使用时重新编译
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+
+    public Path getUserTemplateDir() {
+        return userTemplateDir;
+    }
+
+    private String loadSource(String templateName, Path userTemplate, long userTimestamp) {
+        try {
+            if (userTimestamp >= 0) {
+                LOG.info("使用自定义模板: " + userTemplate);
+                return new String(Files.readAllBytes(userTemplate), StandardCharsets.UTF_8);
+            }
+            try (InputStream in = TemplateEngine.class.getResourceAsStream(BUILTIN_TEMPLATE_ROOT + templateName)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("Template not found: " + templateName);
+                }
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                byte[] chunk = new byte[4096];
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    buffer.write(chunk, 0, read);
+                }
+                return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load template: " + templateName, e);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        if (path == null || !Files.isRegularFile(path)) {
+            return -1;
+        }
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static Path defaultUserTemplateDir() {
+        String configured = System.getProperty(USER_TEMPLATE_DIR_PROPERTY);
+        if (configured != null && !configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".maven-aggregation", "templates");
+    }
+
+    private static final class CachedTemplate {
+        private final CompiledTemplate template;
+        private final long userTimestamp;
+
+        CachedTemplate(CompiledTemplate template, long userTimestamp) {
+            this.template = template;
+            this.userTimestamp = userTimestamp;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 常用依赖的版本目录：(模板变量, Java版本范围) → 版本
+ * 内置目录为 /versions/catalog.properties，用户可以在 ~/.maven-aggregation/versions.properties
+ * （可通过系统属性 maven.aggregation.versions 指定）中覆盖条目，修改后按文件时间戳重新加载。
+ * 加载时为每个Java版本预先算好模板变量到版本的表，生成时按Java版本直接取表。
+ * 也可以从本地Maven仓库刷新：在内置版本的同一版本线（主版本.次版本相同）内取本地已知的最新正式版，
+ * 不跨版本线，以免引入不兼容的Java或API要求
+ */
+public final class VersionCatalog {
+
+    private static final Logger LOG = Logger.getInstance(VersionCatalog.class);
+
+    public static final int MIN_JAVA_VERSION = 8;
+    public static final int MAX_JAVA_VERSION = 30;
+
+    private static final String BUILTIN_CATALOG = "/versions/catalog.properties";
+    private static final String USER_CATALOG_PROPERTY = "maven.aggregation.versions";
+    private static final String LOCAL_REPOSITORY_PROPERTY = "maven.repo.local";
+    private static final String COORDINATES_SUFFIX = ".coordinates";
+    private static final Pattern ENTRY_KEY = Pattern.compile("(.+)\\.(\\d+)");
+    private static final Pattern RELEASE_VERSION = Pattern.compile("\\d+(\\.\\d+)*");
+    private static final Pattern METADATA_VERSION = Pattern.compile("<version>\\s*(.*?)\\s*</version>");
+
+    private static final Path USER_CATALOG = defaultUserCatalog();
+    private static volatile Loaded loaded;
+
+    // 模板变量 → groupId:artifactId
+    private final Map<String, String> coordinates;
+    // 模板变量 → (最低Java版本 → 版本)
+    private final Map<String, NavigableMap<Integer, String>> entries;
+    // 下标为 Java版本 - MIN_JAVA_VERSION
+    private final List<Map<String, String>> table;
+    // 本地仓库目录 → 刷新后的目录
+    private final Map<Path, Refreshed> refreshed = new ConcurrentHashMap<>();
+
+    private VersionCatalog(Map<String, String> coordinates, Map<String, NavigableMap<Integer, String>> entries) {
+        this.coordinates = coordinates;
+        this.entries = entries;
+        this.table = new ArrayList<>(MAX_JAVA_VERSION - MIN_JAVA_VERSION + 1);
+        for (int java = MIN_JAVA_VERSION; java <= MAX_JAVA_VERSION; java++) {
+            Map<String, String> versions = new HashMap<>();
+            for (Map.Entry<String, NavigableMap<Integer, String>> entry : entries.entrySet()) {
+                Map.Entry<Integer, String> range = entry.getValue().floorEntry(java);
+                if (range != null) {
+                    versions.put(entry.getKey(), range.getValue());
+                }
+            }
+            table.add(Collections.unmodifiableMap(versions));
+        }
+    }
+
+    /**
+     * 内置目录叠加用户目录，用户目录修改后重新加载
+     */
+    public static VersionCatalog getInstance() {
+        long userTimestamp = lastModified(USER_CATALOG);
+        Loaded current = loaded;
+        if (current == null || current.userTimestamp != userTimestamp) {
+            current = new Loaded(load(USER_CATALOG, userTimestamp), userTimestamp);
+            loaded = current;
+        }
+        return current.catalog;
+    }
+
+    /**
+     * 解析目录条目，格式见 /versions/catalog.properties
+     * @throws IllegalArgumentException 条目键格式错误
+     */
+    static VersionCatalog parse(Properties properties) {
+        Map<String, String> coordinates = new LinkedHashMap<>();
+        Map<String, NavigableMap<Integer, String>> entries = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            if (key.endsWith(COORDINATES_SUFFIX)) {
+                coordinates.put(key.substring(0, key.length() - COORDINATES_SUFFIX.length()), value);
+                continue;
+            }
+            Matcher matcher = ENTRY_KEY.matcher(key);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid version catalog key (expected <name>.<javaVersion>): " + key);
+            }
+            entries.computeIfAbsent(matcher.group(1), name -> new TreeMap<>())
+                    .put(Integer.parseInt(matcher.group(2)), value);
+        }
+        return new VersionCatalog(coordinates, entries);
+    }
+
+    /**
+     * 指定Java版本使用的全部版本，键为模板变量（如 lombokVersion）
+     * @throws IllegalArgumentException Java版本不是数字
+     */
+    public Map<String, String> versionsFor(String javaVersion) {
+        int java = Math.max(MIN_JAVA_VERSION, Math.min(MAX_JAVA_VERSION, parseJavaVersion(javaVersion)));
+        return table.get(java - MIN_JAVA_VERSION);
+    }
+
+    /**
+     * 用本地Maven仓库刷新后的目录；仓库中对应构件目录没有变化时复用上次的结果
+     */
+    public VersionCatalog withLocalRepository(Path repository) {
+        long stamp = repositoryStamp(repository);
+        Refreshed current = refreshed.get(repository);
+        if (current == null || current.stamp != stamp) {
+            current = new Refreshed(refresh(repository), stamp);
+            refreshed.put(repository, current);
+        }
+        return current.catalog;
+    }
+
+    /**
+     * 本地Maven仓库目录：系统属性 maven.repo.local，默认 ~/.m2/repository
+     * （不读取 settings.xml 中的 localRepository）
+     */
+    public static Path defaultLocalRepository() {
+        String property = System.getProperty(LOCAL_REPOSITORY_PROPERTY);
+        return property != null ? Paths.get(property) : Paths.get(System.getProperty("user.home"), ".m2", "repository");
+    }
+
+    private VersionCatalog refresh(Path repository) {
+        Map<String, NavigableMap<Integer, String>> updated = new LinkedHashMap<>();
+        for (Map.Entry<String, NavigableMap<Integer, String>> entry : entries.entrySet()) {
+            String artifact = coordinates.get(entry.getKey());
+            List<String> localVersions = artifact != null ? localVersions(repository, artifact) : Collections.emptyList();
+            NavigableMap<Integer, String> ranges = new TreeMap<>();
+            for (Map.Entry<Integer, String> range : entry.getValue().entrySet()) {
+                String newest = newestInLine(range.getValue(), localVersions);
+                if (!newest.equals(range.getValue())) {
+                    LOG.info("本地仓库中有更新的版本: " + artifact + " " + range.getValue() + " -> " + newest + " (Java " + range.getKey() + "+)");
+                }
+                ranges.put(range.getKey(), newest);
+            }
+            updated.put(entry.getKey(), ranges);
+        }
+        return new VersionCatalog(coordinates, updated);
+    }
+
+    /**
+     * 本地仓库中构件的全部正式版：已下载的版本目录加上 maven-metadata*.xml 中记录的版本
+     */
+    static List<String> localVersions(Path repository, String artifact) {
+        Path dir = artifactDir(repository, artifact);
+        List<String> versions = new ArrayList<>();
+        if (dir == null || !Files.isDirectory(dir)) {
+            return versions;
+        }
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(dir)) {
+            for (Path child : children) {
+                String name = child.getFileName().toString();
+                if (Files.isDirectory(child)) {
+                    versions.add(name);
+                } else if (name.startsWith("maven-metadata") && name.endsWith(".xml")) {
+                    Matcher version = METADATA_VERSION.matcher(new String(Files.readAllBytes(child), StandardCharsets.UTF_8));
+                    while (version.find()) {
+                        versions.add(version.group(1));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("读取本地仓库失败: " + dir, e);
+        }
+        versions.removeIf(version -> !RELEASE_VERSION.matcher(version).matches());
+        return versions;
+    }
+
+    /**
+     * 与 current 主版本.次版本相同、且不低于 current 的最新版本
+     */
+    static String newestInLine(String current, List<String> candidates) {
+        String line = versionLine(current);
+        String newest = current;
+        for (String candidate : candidates) {
+            if (versionLine(candidate).equals(line) && compareVersions(candidate, newest) > 0) {
+                newest = candidate;
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * 按数字逐段比较，缺少的段视为0（1.2 = 1.2.0）
+     */
+    static int compareVersions(String a, String b) {
+        String[] left = a.split("\\.");
+        String[] right = b.split("\\.");
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            long l = i < left.length && RELEASE_VERSION.matcher(left[i]).matches() ? Long.parseLong(left[i]) : 0;
+            long r = i < right.length && RELEASE_VERSION.matcher(right[i]).matches() ? Long.parseLong(right[i]) : 0;
+            if (l != r) {
+                return Long.compare(l, r);
+            }
+        }
+        return 0;
+    }
+
+    private static String versionLine(String version) {
+        String[] parts = version.split("\\.");
+        return parts.length >= 2 ? parts[0] + "." + parts[1] : version;
+    }
+
+    /**
+     * "8"、"17"，也接受旧写法 "1.8"
+     */
+    static int parseJavaVersion(String javaVersion) {
+        String value = javaVersion.trim();
+        if (value.startsWith("1.")) {
+            value = value.substring(2);
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid Java version: " + javaVersion, e);
+        }
+    }
+
+    private long repositoryStamp(Path repository) {
+        // 新版本下载后构件目录会多出一个版本子目录，目录时间戳随之变化
+        long stamp = 0;
+        for (String artifact : coordinates.values()) {
+            stamp = 31 * stamp + lastModified(artifactDir(repository, artifact));
+        }
+        return stamp;
+    }
+
+    private static Path artifactDir(Path repository, String artifact) {
+        int separator = artifact.indexOf(':');
+        if (separator <= 0) {
+            return null;
+        }
+        return repository.resolve(artifact.substring(0, separator).replace('.', '/')).resolve(artifact.substring(separator + 1));
+    }
+
+    private static VersionCatalog load(Path userCatalog, long userTimestamp) {
+        Properties properties = new Properties();
+        try (InputStream in = VersionCatalog.class.getResourceAsStream(BUILTIN_CATALOG)) {
+            if (in == null) {
+                throw new IllegalStateException("Built-in version catalog not found: " + BUILTIN_CATALOG);
+            }
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read built-in version catalog", e);
+        }
+        if (userTimestamp != 0) {
+            // 用户目录覆盖同名条目，读取失败时继续使用内置目录
+            try (Reader reader = Files.newBufferedReader(userCatalog, StandardCharsets.UTF_8)) {
+                Properties user = new Properties();
+                user.load(reader);
+                properties.putAll(user);
+                LOG.info("使用用户版本目录: " + userCatalog);
+            } catch (IOException e) {
+                LOG.warn("读取用户版本目录失败，使用内置版本: " + userCatalog, e);
+            }
+        }
+        return parse(properties);
+    }
+
+    private static long lastModified(Path path) {
+        if (path == null) {
+            return 0;
+        }
+        try {
+            return Files.isRegularFile(path) || Files.isDirectory(path) ? Files.getLastModifiedTime(path).toMillis() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static Path defaultUserCatalog() {
+        String property = System.getProperty(USER_CATALOG_PROPERTY);
+        if (property != null) {
+            return Paths.get(property);
+        }
+        return Paths.get(System.getProperty("user.home"), ".maven-aggregation", "versions.properties");
+    }
+
+    private static final class Loaded {
+        final VersionCatalog catalog;
+        final long userTimestamp;
+
+        Loaded(VersionCatalog catalog, long userTimestamp) {
+            this.catalog = catalog;
+            this.userTimestamp = userTimestamp;
+        }
+    }
+
+    private static final class Refreshed {
+        final VersionCatalog catalog;
+        final long stamp;
+
+        Refreshed(VersionCatalog catalog, long stamp) {
+            this.catalog = catalog;
+            this.stamp = stamp;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.wd.maven.aggregation;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 通过 IntelliJ VFS 在一次写操作中写出全部生成结果
+ * 文件由VFS自身创建，VFS模型与磁盘保持一致，不再需要对项目根目录做（递归）刷新；
+ * 写入失败时在同一写操作中撤销已创建的文件和目录
+ */
+public class VfsGeneratedFileWriter implements GeneratedFileWriter {
+
+    private static final Logger LOG = Logger.getInstance(VfsGeneratedFileWriter.class);
+
+    @Override
+    public GenerationReport write(GeneratedFileSet fileSet, ProgressIndicator indicator) throws IOException {
+        indicator.checkCanceled();
+
+        // 写操作开始前只同步刷新根目录本身，保证能在VFS中找到它
+        long refreshStart = System.nanoTime();
+        VirtualFile baseDir = LocalFileSystem.getInstance().refreshAndFindFileByIoFile(fileSet.getRoot().toFile());
+        long refreshNanos = System.nanoTime() - refreshStart;
+        if (baseDir == null) {
+            throw new IOException("Project base directory not found in VFS: " + fileSet.getRoot());
+        }
+
+        GenerationReport report = new GenerationReport(baseDir.getName());
+        report.getMetrics().record(GenerationMetrics.Phase.VFS_REFRESH, refreshNanos);
+        // 包括等待EDT获取写锁的时间
+        long writeStart = System.nanoTime();
+        WriteAction.runAndWait(() -> writeAll(baseDir, fileSet, report));
+        report.getMetrics().record(GenerationMetrics.Phase.WRITE, System.nanoTime() - writeStart);
+        return report;
+    }
+
+    private void writeAll(VirtualFile baseDir, GeneratedFileSet fileSet, GenerationReport report) throws IOException {
+        List<VirtualFile> created = new ArrayList<>();
+        List<Runnable> restores = new ArrayList<>();
+        try {
+            for (String dir : fileSet.getDirectories()) {
+                findOrCreateDirectory(baseDir, dir, created);
+            }
+            for (Map.Entry<String, String> entry : fileSet.getFiles().entrySet()) {
+                String relativePath = entry.getKey();
+                int slash = relativePath.lastIndexOf('/');
+                VirtualFile parent = slash < 0 ? baseDir : findOrCreateDirectory(baseDir, relativePath.substring(0, slash), created);
+                String name = relativePath.substring(slash + 1);
+
+                VirtualFile file = parent.findChild(name);
+                if (file == null) {
+                    file = parent.createChildData(this, name);
+                    created.add(file);
+                } else {
+                    VirtualFile existing = file;
+                    byte[] original = existing.contentsToByteArray();
+                    restores.add(() -> {
+                        try {
+                            existing.setBinaryContent(original);
+                        } catch (IOException | RuntimeException e) {
+                            LOG.warn("Failed to restore file: " + existing.getPath(), e);
+                        }
+                    });
+                }
+                byte[] content = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                file.setBinaryContent(content);
+                report.getMetrics().addBytes(content.length);
+                report.addSuccess(relativePath);
+            }
+        } catch (IOException | RuntimeException e) {
+            // VFS也会抛出运行时异常（如文件已失效、无写权限），同样需要回滚
+            rollback(created, restores);
+            throw e;
+        }
+    }
+
+    private VirtualFile findOrCreateDirectory(VirtualFile baseDir, String relativePath, List<VirtualFile> created) throws IOException {
+        VirtualFile current = baseDir;
+        for (String segment : relativePath.split("/")) {
+            VirtualFile child = current.findChild(segment);
+            if (child == null) {
+                child = current.createChildDirectory(this, segment);
+                created.add(child);
+            } else if (!child.isDirectory()) {
+                throw new IOException("Not a directory: " + child.getPath());
+            }
+            current = child;
+        }
+        return current;
+    }
+
+    private void rollback(List<VirtualFile> created, List<Runnable> restores) {
+        for (Runnable restore : restores) {
+            restore.run();
+        }
+        Collections.reverse(created);
+        for (VirtualFile file : created) {
+            try {
+                if (file.isValid()) {
+                    file.delete(this);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Failed to roll back: " + file.getPath(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package {{packageName}};
+
+/**
+ * 位运算工具：2的幂、对齐
+ */
+public final class BitUtil {
+
+    public static final int SIZE_OF_BYTE = 1;
+    public static final int SIZE_OF_SHORT = 2;
+    public static final int SIZE_OF_INT = 4;
+    public static final int SIZE_OF_LONG = 8;
+    /**
+     * 常见CPU的缓存行大小
+     */
+    public static final int CACHE_LINE_LENGTH = 64;
+
+    private BitUtil() {
+    }
+
+    public static boolean isPowerOfTwo(long value) {
+        return value > 0 && (value & (value - 1)) == 0;
+    }
+
+    /**
+     * 不小于 value 的最小的2的幂，value 不大于0时返回1
+     */
+    public static int findNextPositivePowerOfTwo(int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        if (value > 1 << 30) {
+            throw new IllegalArgumentException("value too large: " + value);
+        }
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+
+    /**
+     * 向上对齐到 alignment 的整数倍
+     *
+     * @param alignment 必须是2的幂
+     */
+    public static int align(int value, int alignment) {
+        if (!isPowerOfTwo(alignment)) {
+            throw new IllegalArgumentException("alignment must be a power of 2: " + alignment);
+        }
+        return (value + (alignment - 1)) & -alignment;
+    }
+
+    public static boolean isAligned(long address, int alignment) {
+        if (!isPowerOfTwo(alignment)) {
+            throw new IllegalArgumentException("alignment must be a power of 2: " + alignment);
+        }
+        return (address & (alignment - 1)) == 0;
+    }
+}
@@ -0,0 +1,289 @@
+package {{packageName}};
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 按条目数和写入后存活时间限制的进程内缓存，淘汰策略参考 W-TinyLFU（Caffeine）
+ * <ul>
+ *   <li>新条目先进入占容量1%的窗口LRU，窗口满时最老的条目成为候选者</li>
+ *   <li>主区域满时，候选者与主区域最老的条目比较 {@link FrequencySketch} 估计的访问频率，频率高的留下。
+ *       一次性的扫描（如批量导出）因此不会把热点数据挤出缓存；
+ *       频率计数每累计10倍容量次访问减半，长时间不再访问的旧热点最终仍会被替换</li>
+ *   <li>过期条目在访问或被选为淘汰对象时移除，计入淘汰数</li>
+ *   <li>同一个键并发未命中时只调用一次加载函数；加载期间键被失效时，加载结果不会写入缓存</li>
+ * </ul>
+ * 结构变更由一把锁保护，统计使用 LongAdder，适合单机上万级QPS的仓储读缓存
+ *
+ * @param <K> 键
+ * @param <V> 值
+ */
+public class BoundedLocalCache<K, V> implements Cache<K, V> {
+
+    private static final double WINDOW_RATIO = 0.01;
+
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long expireAfterWriteNanos;
+    // accessOrder=true：按访问顺序排列，最老的在前
+    private final LinkedHashMap<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 只按条目数限制，不过期
+     */
+    public BoundedLocalCache(long maximumSize) {
+        this(maximumSize, null);
+    }
+
+    /**
+     * @param maximumSize 最大条目数
+     * @param expireAfterWrite 写入后的存活时间，null 表示不过期
+     */
+    public BoundedLocalCache(long maximumSize, Duration expireAfterWrite) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        if (expireAfterWrite != null && (expireAfterWrite.isNegative() || expireAfterWrite.isZero())) {
+            throw new IllegalArgumentException("expireAfterWrite must be positive: " + expireAfterWrite);
+        }
+        this.windowMaximum = Math.max(1, (long) (maximumSize * WINDOW_RATIO));
+        this.mainMaximum = maximumSize - windowMaximum;
+        this.expireAfterWriteNanos = expireAfterWrite != null ? expireAfterWrite.toNanos() : 0;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        V value = lookup(key);
+        if (value != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        try {
+            value = load(key, loader, future);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private V load(K key, Function<? super K, ? extends V> loader, CompletableFuture<V> future) {
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+            loadSuccessCount.increment();
+        } catch (RuntimeException | Error e) {
+            loadFailureCount.increment();
+            throw e;
+        } finally {
+            totalLoadTime.add(System.nanoTime() - start);
+        }
+        if (value != null) {
+            lock.lock();
+            try {
+                // 加载期间被失效（占位已被移除）时丢弃结果，避免把旧值写回缓存
+                if (loading.get(key) == future) {
+                    putLocked(key, value);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return value;
+    }
+
+    private V join(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        lock.lock();
+        try {
+            putLocked(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            if (window.remove(key) == null) {
+                main.remove(key);
+            }
+            loading.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            window.clear();
+            main.clear();
+            loading.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long size() {
+        lock.lock();
+        try {
+            return window.size() + main.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+                totalLoadTime.sum(), evictionCount.sum());
+    }
+
+    private V lookup(K key) {
+        lock.lock();
+        try {
+            sketch.increment(key);
+            LinkedHashMap<K, Entry<V>> segment = window;
+            Entry<V> entry = window.get(key);
+            if (entry == null) {
+                segment = main;
+                entry = main.get(key);
+            }
+            if (entry == null) {
+                return null;
+            }
+            if (isExpired(entry, System.nanoTime())) {
+                segment.remove(key);
+                evictionCount.increment();
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putLocked(K key, V value) {
+        long now = System.nanoTime();
+        Entry<V> entry = window.get(key);
+        if (entry == null) {
+            entry = main.get(key);
+        }
+        if (entry != null) {
+            entry.value = value;
+            entry.writeTime = now;
+            return;
+        }
+        window.put(key, new Entry<>(value, now));
+        evictIfNeeded(now);
+    }
+
+    /**
+     * 窗口超出容量时，把最老的条目移入主区域；主区域已满时由 TinyLFU 决定留下候选者还是主区域最老的条目
+     */
+    private void evictIfNeeded(long now) {
+        while (window.size() > windowMaximum) {
+            Map.Entry<K, Entry<V>> candidate = removeEldest(window);
+            if (main.size() < mainMaximum) {
+                main.put(candidate.getKey(), candidate.getValue());
+                continue;
+            }
+            evictionCount.increment();
+            if (mainMaximum == 0) {
+                continue;
+            }
+            Map.Entry<K, Entry<V>> victim = main.entrySet().iterator().next();
+            if (isExpired(victim.getValue(), now)
+                    || sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+                main.remove(victim.getKey());
+                main.put(candidate.getKey(), candidate.getValue());
+            }
+        }
+    }
+
+    private Map.Entry<K, Entry<V>> removeEldest(LinkedHashMap<K, Entry<V>> segment) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = segment.entrySet().iterator();
+        Map.Entry<K, Entry<V>> eldest = iterator.next();
+        // 复制一份，删除后 LinkedHashMap 的节点不再可用
+        Map.Entry<K, Entry<V>> copy = new AbstractMap.SimpleImmutableEntry<>(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        return copy;
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return expireAfterWriteNanos > 0 && now - entry.writeTime >= expireAfterWriteNanos;
+    }
+
+    private static final class Entry<V> {
+        V value;
+        long writeTime;
+
+        Entry(V value, long writeTime) {
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package {{packageName}};
+
+import java.util.function.Function;
+
+/**
+ * 进程内缓存
+ * 值不能为 null：加载函数返回 null 表示不存在，不会被缓存
+ *
+ * @param <K> 键
+ * @param <V> 值
+ */
+public interface Cache<K, V> {
+
+    /**
+     * 缓存中的值，不存在或已过期时返回 null
+     */
+    V getIfPresent(K key);
+
+    /**
+     * 缓存中的值，不存在时调用 loader 加载并放入缓存
+     * 同一个键同时未命中时只加载一次，其余调用方等待这次加载的结果
+     *
+     * @return 加载结果为 null 时返回 null
+     */
+    V get(K key, Function<? super K, ? extends V> loader);
+
+    void put(K key, V value);
+
+    void invalidate(K key);
+
+    void invalidateAll();
+
+    /**
+     * 当前缓存的条目数（可能包含尚未清理的过期条目）
+     */
+    long size();
+
+    /**
+     * 命中、未命中、加载和淘汰统计的快照
+     */
+    CacheStats stats();
+}
@@ -0,0 +1,59 @@
+package {{packageName}};
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 旁路缓存（cache-aside）装饰器
+ * 读：先查缓存，未命中时查询数据库并回填；写：先写数据库，再使缓存失效（而不是更新缓存），
+ * 并发写入时不会因为更新顺序不同留下旧值，下一次读取重新加载。
+ * 与 {@link ReadThroughRepository} 相比没有并发加载合并，适合写入较多或实体较大、写后不一定被读取的数据
+ *
+ * @param <ID> 主键
+ * @param <T> 实体
+ */
+public class CacheAsideRepository<ID, T> implements CacheableRepository<ID, T> {
+
+    private final CacheableRepository<ID, T> delegate;
+    private final Cache<ID, T> cache;
+    private final Function<? super T, ? extends ID> idOf;
+
+    /**
+     * @param delegate 访问数据库的仓储
+     * @param cache 缓存
+     * @param idOf 取实体的主键，如 User::getId
+     */
+    public CacheAsideRepository(CacheableRepository<ID, T> delegate, Cache<ID, T> cache, Function<? super T, ? extends ID> idOf) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.idOf = idOf;
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        T cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<T> loaded = delegate.findById(id);
+        loaded.ifPresent(entity -> cache.put(id, entity));
+        return loaded;
+    }
+
+    @Override
+    public T save(T entity) {
+        T saved = delegate.save(entity);
+        cache.invalidate(idOf.apply(saved));
+        return saved;
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        delegate.deleteById(id);
+        cache.invalidate(id);
+    }
+
+    public Cache<ID, T> getCache() {
+        return cache;
+    }
+}
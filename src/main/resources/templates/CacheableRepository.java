@@ -0,0 +1,22 @@
+package {{packageName}};
+
+import java.util.Optional;
+
+/**
+ * 可以加缓存的仓储接口：按主键读、写、删
+ * 由Mapper/DAO的适配类实现，再用 {@link ReadThroughRepository} 或 {@link CacheAsideRepository} 包装
+ *
+ * @param <ID> 主键
+ * @param <T> 实体
+ */
+public interface CacheableRepository<ID, T> {
+
+    Optional<T> findById(ID id);
+
+    /**
+     * @return 保存后的实体（可能带有生成的主键）
+     */
+    T save(T entity);
+
+    void deleteById(ID id);
+}
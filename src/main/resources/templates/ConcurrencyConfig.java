@@ -0,0 +1,94 @@
+package {{basePackage}}.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 并发配置，读取 classpath 下的 application.properties，同名的系统属性（-Dserver.executor=platform）优先
+ * 默认每个请求在一个新的虚拟线程上执行：阻塞在IO上时只挂起虚拟线程，不占用操作系统线程，
+ * 不需要再按“并发请求数 ≈ 线程池大小”来调优线程池
+ */
+public final class ConcurrencyConfig {
+
+    public static final String CONFIG_FILE = "application.properties";
+
+    /**
+     * 请求执行模型
+     */
+    public enum ExecutorMode {
+        VIRTUAL, PLATFORM
+    }
+
+    private final int port;
+    private final ExecutorMode executorMode;
+    private final int platformPoolSize;
+    private final Duration fanOutTimeout;
+    private final Duration simulatedLatency;
+
+    private ConcurrencyConfig(Properties properties) {
+        this.port = Integer.parseInt(value(properties, "server.port", "8080"));
+        this.executorMode = ExecutorMode.valueOf(value(properties, "server.executor", "virtual").toUpperCase(Locale.ROOT));
+        this.platformPoolSize = Integer.parseInt(value(properties, "server.platform-pool-size", "200"));
+        this.fanOutTimeout = Duration.ofMillis(Long.parseLong(value(properties, "service.fan-out-timeout-ms", "2000")));
+        this.simulatedLatency = Duration.ofMillis(Long.parseLong(value(properties, "service.simulated-latency-ms", "20")));
+    }
+
+    /**
+     * 读取 application.properties，文件不存在时使用默认值
+     */
+    public static ConcurrencyConfig load() {
+        Properties properties = new Properties();
+        try (InputStream in = ConcurrencyConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + CONFIG_FILE, e);
+        }
+        return of(properties);
+    }
+
+    public static ConcurrencyConfig of(Properties properties) {
+        return new ConcurrencyConfig(properties);
+    }
+
+    private static String value(Properties properties, String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue)).trim();
+    }
+
+    /**
+     * 执行请求（控制层和服务层）的线程池：virtual 时每个任务一个虚拟线程，platform 时为固定大小的平台线程池
+     */
+    public ExecutorService requestExecutor() {
+        if (executorMode == ExecutorMode.VIRTUAL) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("request-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(platformPoolSize, Thread.ofPlatform().name("request-", 0).factory());
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    public int getPlatformPoolSize() {
+        return platformPoolSize;
+    }
+
+    public Duration getFanOutTimeout() {
+        return fanOutTimeout;
+    }
+
+    public Duration getSimulatedLatency() {
+        return simulatedLatency;
+    }
+}
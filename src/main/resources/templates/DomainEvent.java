@@ -0,0 +1,12 @@
+package {{basePackage}}.domain.event;
+
+/**
+ * 领域事件，事件对象发布后不应再修改
+ */
+public interface DomainEvent {
+
+    /**
+     * 事件发生的时间（毫秒时间戳）
+     */
+    long occurredOn();
+}
@@ -0,0 +1,17 @@
+package {{basePackage}}.domain.event;
+
+/**
+ * 领域事件发布者，领域层只依赖此接口，具体实现见 infrastructure.message
+ */
+public interface DomainEventPublisher {
+
+    /**
+     * 发布事件；订阅者处理不过来、缓冲区已满时阻塞等待
+     */
+    void publish(DomainEvent event);
+
+    /**
+     * 尝试发布事件；缓冲区已满时立即返回 false，由调用方决定降级、重试还是丢弃
+     */
+    boolean tryPublish(DomainEvent event);
+}
@@ -0,0 +1,26 @@
+package {{basePackage}}.domain.event;
+
+/**
+ * 领域事件订阅者
+ * 每个订阅者在自己的线程中按发布顺序收到事件，同一订阅者的回调不会并发执行
+ * @param <E> 订阅的事件类型，子类型的事件也会收到
+ */
+public interface DomainEventSubscriber<E extends DomainEvent> {
+
+    /**
+     * 订阅的事件类型
+     */
+    Class<E> eventType();
+
+    /**
+     * 处理一个事件
+     */
+    void onEvent(E event);
+
+    /**
+     * 一批事件处理完成后调用（这一批中至少有一个事件交给了 {@link #onEvent}），
+     * 适合在这里批量提交，如一次写库、一次刷新缓冲
+     */
+    default void onBatchEnd() {
+    }
+}
@@ -0,0 +1,118 @@
+package {{basePackage}}.infrastructure.message;
+
+import {{basePackage}}.domain.event.DomainEvent;
+import {{basePackage}}.domain.event.DomainEventSubscriber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件总线基准测试：4个发布线程，对比环形缓冲区总线和常见的 synchronized 监听器列表
+ * 运行：在IDE中运行 main 方法，或 mvn test-compile 后以 org.openjdk.jmh.Main 为主类运行
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class EventBusBenchmark {
+
+    private RingBufferEventBus ringBufferBus;
+    private SynchronizedEventBus synchronizedBus;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ringBufferBus = new RingBufferEventBus(4096);
+        ringBufferBus.subscribe(new CountingSubscriber());
+        ringBufferBus.subscribe(new CountingSubscriber());
+        ringBufferBus.start();
+
+        synchronizedBus = new SynchronizedEventBus();
+        synchronizedBus.subscribe(new CountingSubscriber());
+        synchronizedBus.subscribe(new CountingSubscriber());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ringBufferBus.close();
+    }
+
+    @Benchmark
+    public void ringBuffer() {
+        ringBufferBus.publish(new SampleEvent(System.nanoTime()));
+    }
+
+    @Benchmark
+    public void synchronizedListeners() {
+        synchronizedBus.publish(new SampleEvent(System.nanoTime()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventBusBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    static final class SampleEvent implements DomainEvent {
+        private final long occurredOn;
+
+        SampleEvent(long occurredOn) {
+            this.occurredOn = occurredOn;
+        }
+
+        @Override
+        public long occurredOn() {
+            return occurredOn;
+        }
+    }
+
+    static final class CountingSubscriber implements DomainEventSubscriber<SampleEvent> {
+        private long count;
+        private long checksum;
+
+        @Override
+        public Class<SampleEvent> eventType() {
+            return SampleEvent.class;
+        }
+
+        @Override
+        public void onEvent(SampleEvent event) {
+            count++;
+            checksum += event.occurredOn();
+        }
+    }
+
+    /**
+     * 对照组：发布线程在锁内依次调用所有监听器
+     */
+    static final class SynchronizedEventBus {
+        private final List<DomainEventSubscriber<SampleEvent>> subscribers = new ArrayList<>();
+
+        synchronized void subscribe(DomainEventSubscriber<SampleEvent> subscriber) {
+            subscribers.add(subscriber);
+        }
+
+        synchronized void publish(SampleEvent event) {
+            for (DomainEventSubscriber<SampleEvent> subscriber : subscribers) {
+                subscriber.onEvent(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package {{packageName}};
+
+/**
+ * long → long 的堆外哈希表，替代热点路径上的 {@code Map<Long, Long>}
+ * <ul>
+ *   <li>开放寻址、线性探测，键和值交替存放在一块 {@link OffHeapBuffer} 中（每个槽位16字节），
+ *       查找时连续访问内存，没有装箱、没有 Entry 对象，对GC没有压力</li>
+ *   <li>值等于 missingValue 的槽位视为空，因此 missingValue 不能作为值写入；get 未找到时返回 missingValue</li>
+ *   <li>元素数超过 容量 × 负载因子 时容量翻倍；删除时回移后续元素，不留墓碑</li>
+ * </ul>
+ * 非线程安全
+ */
+public class Long2LongOffHeapHashMap {
+
+    private static final int SLOT_LENGTH = 2 * BitUtil.SIZE_OF_LONG;
+    // 缓冲区按 int 寻址，槽位数 × 16字节不能超过 Integer.MAX_VALUE
+    private static final int MAX_SLOTS = 1 << 26;
+
+    private final long missingValue;
+    private final float loadFactor;
+    private OffHeapBuffer slots;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+
+    /**
+     * @param initialCapacity 预计的元素数
+     * @param missingValue 表示“不存在”的值，如 -1 或 Long.MIN_VALUE
+     */
+    public Long2LongOffHeapHashMap(int initialCapacity, long missingValue) {
+        this(initialCapacity, 0.65f, missingValue);
+    }
+
+    public Long2LongOffHeapHashMap(int initialCapacity, float loadFactor, long missingValue) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("loadFactor must be in (0, 1): " + loadFactor);
+        }
+        this.missingValue = missingValue;
+        this.loadFactor = loadFactor;
+        allocate(BitUtil.findNextPositivePowerOfTwo(Math.max(8, (int) Math.ceil(initialCapacity / loadFactor))));
+    }
+
+    public long missingValue() {
+        return missingValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 槽位数
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return 键对应的值，不存在时返回 missingValue
+     */
+    public long get(long key) {
+        int index = slot(key);
+        long value;
+        while ((value = valueAt(index)) != missingValue) {
+            if (keyAt(index) == key) {
+                return value;
+            }
+            index = (index + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != missingValue;
+    }
+
+    /**
+     * @return 原来的值，不存在时返回 missingValue
+     */
+    public long put(long key, long value) {
+        if (value == missingValue) {
+            throw new IllegalArgumentException("value cannot be missingValue: " + value);
+        }
+        int index = slot(key);
+        long oldValue;
+        while ((oldValue = valueAt(index)) != missingValue) {
+            if (keyAt(index) == key) {
+                setValue(index, value);
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        setKey(index, key);
+        setValue(index, value);
+        if (++size > resizeThreshold) {
+            resize(capacity() << 1);
+        }
+        return missingValue;
+    }
+
+    /**
+     * 把 delta 加到键对应的值上，不存在时视为0
+     *
+     * @return 相加后的值
+     */
+    public long addAndGet(long key, long delta) {
+        long current = get(key);
+        long updated = (current == missingValue ? 0 : current) + delta;
+        if (updated == missingValue) {
+            remove(key);
+        } else {
+            put(key, updated);
+        }
+        return updated;
+    }
+
+    /**
+     * @return 原来的值，不存在时返回 missingValue
+     */
+    public long remove(long key) {
+        int index = slot(key);
+        long value;
+        while ((value = valueAt(index)) != missingValue) {
+            if (keyAt(index) == key) {
+                compactChain(index);
+                size--;
+                return value;
+            }
+            index = (index + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public void clear() {
+        for (int i = 0; i <= mask; i++) {
+            setValue(i, missingValue);
+        }
+        size = 0;
+    }
+
+    /**
+     * 遍历全部键值对
+     */
+    public void forEach(LongLongConsumer consumer) {
+        for (int i = 0; i <= mask; i++) {
+            long value = valueAt(i);
+            if (value != missingValue) {
+                consumer.accept(keyAt(i), value);
+            }
+        }
+    }
+
+    /**
+     * 键值对的回调，参数都是基本类型
+     */
+    public interface LongLongConsumer {
+        void accept(long key, long value);
+    }
+
+    /**
+     * 删除 deleteIndex 处的元素后，把同一探测链上原本应该放得更靠前的元素向前移动
+     */
+    private void compactChain(int deleteIndex) {
+        int index = deleteIndex;
+        while (true) {
+            index = (index + 1) & mask;
+            long value = valueAt(index);
+            if (value == missingValue) {
+                break;
+            }
+            long key = keyAt(index);
+            int ideal = slot(key);
+            if ((index < ideal && (ideal <= deleteIndex || deleteIndex <= index))
+                    || (ideal <= deleteIndex && deleteIndex <= index)) {
+                setKey(deleteIndex, key);
+                setValue(deleteIndex, value);
+                deleteIndex = index;
+            }
+        }
+        setValue(deleteIndex, missingValue);
+    }
+
+    private void resize(int newCapacity) {
+        if (newCapacity > MAX_SLOTS) {
+            throw new IllegalStateException("Long2LongOffHeapHashMap is full: " + size);
+        }
+        OffHeapBuffer oldSlots = slots;
+        int oldCapacity = capacity();
+        allocate(newCapacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            long value = oldSlots.getLong(i * SLOT_LENGTH + BitUtil.SIZE_OF_LONG);
+            if (value != missingValue) {
+                long key = oldSlots.getLong(i * SLOT_LENGTH);
+                int index = slot(key);
+                while (valueAt(index) != missingValue) {
+                    index = (index + 1) & mask;
+                }
+                setKey(index, key);
+                setValue(index, value);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        if (capacity > MAX_SLOTS) {
+            throw new IllegalArgumentException("capacity too large: " + capacity);
+        }
+        slots = new OffHeapBuffer(capacity * SLOT_LENGTH);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * loadFactor);
+        for (int i = 0; i < capacity; i++) {
+            setValue(i, missingValue);
+        }
+    }
+
+    private int slot(long key) {
+        // 乘法哈希，把高位的变化扩散到低位
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private long keyAt(int index) {
+        return slots.getLong(index * SLOT_LENGTH);
+    }
+
+    private long valueAt(int index) {
+        return slots.getLong(index * SLOT_LENGTH + BitUtil.SIZE_OF_LONG);
+    }
+
+    private void setKey(int index, long key) {
+        slots.putLong(index * SLOT_LENGTH, key);
+    }
+
+    private void setValue(int index, long value) {
+        slots.putLong(index * SLOT_LENGTH + BitUtil.SIZE_OF_LONG, value);
+    }
+}
@@ -0,0 +1,88 @@
+package {{packageName}};
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Long2LongOffHeapHashMapTest {
+
+    private static final long MISSING = -1L;
+
+    @Test
+    void putGetAndRemove() {
+        Long2LongOffHeapHashMap map = new Long2LongOffHeapHashMap(4, MISSING);
+        assertEquals(MISSING, map.put(0L, 10L));
+        assertEquals(MISSING, map.put(Long.MAX_VALUE, 20L));
+        assertEquals(10L, map.put(0L, 11L));
+
+        assertEquals(11L, map.get(0L));
+        assertEquals(20L, map.get(Long.MAX_VALUE));
+        assertEquals(MISSING, map.get(7L));
+        assertEquals(2, map.size());
+
+        assertEquals(11L, map.remove(0L));
+        assertFalse(map.containsKey(0L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        Long2LongOffHeapHashMap map = new Long2LongOffHeapHashMap(8, MISSING);
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key * 31, key);
+        }
+        assertEquals(10_000, map.size());
+        assertTrue(map.capacity() >= 10_000);
+        for (long key = 0; key < 10_000; key++) {
+            assertEquals(key, map.get(key * 31));
+        }
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Long2LongOffHeapHashMap map = new Long2LongOffHeapHashMap(16, MISSING);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            // 键范围小，制造大量冲突和删除后的探测链回移
+            long key = random.nextInt(512);
+            if (random.nextInt(3) == 0) {
+                Long removed = expected.remove(key);
+                assertEquals(removed != null ? removed : MISSING, map.remove(key));
+            } else {
+                long value = random.nextInt(1_000_000);
+                Long previous = expected.put(key, value);
+                assertEquals(previous != null ? previous : MISSING, map.put(key, value));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue().longValue(), map.get(entry.getKey()));
+        }
+        Map<Long, Long> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void addAndGetCountsWithoutBoxing() {
+        Long2LongOffHeapHashMap counters = new Long2LongOffHeapHashMap(16, Long.MIN_VALUE);
+        counters.addAndGet(7L, 1);
+        counters.addAndGet(7L, 2);
+        assertEquals(3L, counters.get(7L));
+        assertEquals(-5L, counters.addAndGet(8L, -5));
+    }
+
+    @Test
+    void rejectsMissingValueAsValue() {
+        Long2LongOffHeapHashMap map = new Long2LongOffHeapHashMap(4, MISSING);
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, MISSING));
+    }
+}
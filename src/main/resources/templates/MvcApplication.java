@@ -0,0 +1,63 @@
+package {{basePackage}};
+
+{{#observability}}
+import {{basePackage}}.common.metrics.Observability;
+import {{basePackage}}.common.metrics.TimedInterceptor;
+{{/observability}}
+import {{basePackage}}.config.ConcurrencyConfig;
+import {{basePackage}}.controller.OverviewController;
+{{#observability}}
+import {{basePackage}}.service.OverviewService;
+{{/observability}}
+import {{basePackage}}.service.impl.OverviewServiceImpl;
+{{#observability}}
+import com.sun.net.httpserver.HttpHandler;
+{{/observability}}
+import com.sun.net.httpserver.HttpServer;
+{{#observability}}
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+{{/observability}}
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Logger;
+
+/**
+ * 启动类：基于JDK内置的 HttpServer，请求按 application.properties 中的 server.executor 在虚拟线程
+ * （默认）或平台线程池上执行，控制层和它调用的服务层代码都运行在该请求线程上
+{{#observability}}
+ * 控制层和服务层经 TimedInterceptor 代理记录耗时，指标在 /metrics 以 Prometheus 格式输出
+{{/observability}}
+ * 运行：mvn compile exec:java -Dexec.mainClass={{basePackage}}.Application
+ */
+public class Application {
+
+    private static final Logger LOG = Logger.getLogger(Application.class.getName());
+
+    public static void main(String[] args) throws IOException {
+        ConcurrencyConfig config = ConcurrencyConfig.load();
+        ExecutorService requestExecutor = config.requestExecutor();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(config.getPort()), 0);
+        server.setExecutor(requestExecutor);
+{{#observability}}
+        PrometheusMeterRegistry registry = Observability.createRegistry();
+        OverviewService service = TimedInterceptor.service(OverviewService.class, new OverviewServiceImpl(config), registry);
+        HttpHandler controller = TimedInterceptor.controller(HttpHandler.class, new OverviewController(service), registry);
+        server.createContext("/overview", controller);
+        server.createContext(Observability.SCRAPE_PATH, Observability.scrapeHandler(registry));
+{{/observability}}
+{{^observability}}
+        server.createContext("/overview", new OverviewController(new OverviewServiceImpl(config)));
+{{/observability}}
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(1);
+            // 等待进行中的请求结束
+            requestExecutor.close();
+        }));
+        server.start();
+        LOG.info("Started on port " + config.getPort() + " with " + config.getExecutorMode() + " request threads");
+    }
+}
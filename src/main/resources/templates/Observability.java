@@ -0,0 +1,71 @@
+package {{packageName}};
+
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 指标入口：创建 Prometheus 注册表并暴露抓取端点
+ * 注册表同时加入 Micrometer 的全局注册表，使用静态 {@code Metrics.timer(...)} 的代码也会被采集。
+ * 各层的耗时由 {@link TimedInterceptor} 记录
+ */
+public final class Observability {
+
+    public static final String SCRAPE_PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private Observability() {
+    }
+
+    /**
+     * 创建注册表并绑定JVM内存、GC、线程、类加载和CPU指标
+     * 多个服务写入同一个 Prometheus 时，抓取时附加的 job/instance 标签已能区分来源
+     */
+    public static PrometheusMeterRegistry createRegistry() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        new ClassLoaderMetrics().bindTo(registry);
+        new JvmMemoryMetrics().bindTo(registry);
+        new JvmGcMetrics().bindTo(registry);
+        new JvmThreadMetrics().bindTo(registry);
+        new ProcessorMetrics().bindTo(registry);
+        Metrics.addRegistry(registry);
+        return registry;
+    }
+
+    /**
+     * 以 Prometheus 文本格式输出全部指标的处理器，可挂到已有的 HttpServer 上
+     */
+    public static HttpHandler scrapeHandler(PrometheusMeterRegistry registry) {
+        return exchange -> {
+            byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            exchange.close();
+        };
+    }
+
+    /**
+     * 在单独的端口上启动抓取端点：http://host:port/metrics
+     */
+    public static HttpServer startScrapeEndpoint(PrometheusMeterRegistry registry, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext(SCRAPE_PATH, scrapeHandler(registry));
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,120 @@
+package {{packageName}};
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * 堆外缓冲区（参考 Agrona 的 UnsafeBuffer），按绝对下标读写基本类型
+ * <ul>
+ *   <li>内存由 {@link ByteBuffer#allocateDirect} 分配，不计入Java堆，也不会被GC扫描和复制，
+ *       适合存放大量长期存活的定长数据（索引、计数器、序列化好的消息）</li>
+ *   <li>使用本机字节序，读写编译为普通的内存访问；所有方法都做边界检查</li>
+ *   <li>没有 position/limit 状态，同一个缓冲区可以被多个读者按各自的下标读取；写入不是线程安全的</li>
+ * </ul>
+ * 内存随对象被回收时释放，大块缓冲区应长期复用，不要频繁创建
+ */
+public class OffHeapBuffer {
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+
+    /**
+     * @param capacity 字节数
+     */
+    public OffHeapBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.buffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+        this.capacity = capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long getLong(int index) {
+        boundsCheck(index, BitUtil.SIZE_OF_LONG);
+        return buffer.getLong(index);
+    }
+
+    public void putLong(int index, long value) {
+        boundsCheck(index, BitUtil.SIZE_OF_LONG);
+        buffer.putLong(index, value);
+    }
+
+    public int getInt(int index) {
+        boundsCheck(index, BitUtil.SIZE_OF_INT);
+        return buffer.getInt(index);
+    }
+
+    public void putInt(int index, int value) {
+        boundsCheck(index, BitUtil.SIZE_OF_INT);
+        buffer.putInt(index, value);
+    }
+
+    public short getShort(int index) {
+        boundsCheck(index, BitUtil.SIZE_OF_SHORT);
+        return buffer.getShort(index);
+    }
+
+    public void putShort(int index, short value) {
+        boundsCheck(index, BitUtil.SIZE_OF_SHORT);
+        buffer.putShort(index, value);
+    }
+
+    public byte getByte(int index) {
+        boundsCheck(index, BitUtil.SIZE_OF_BYTE);
+        return buffer.get(index);
+    }
+
+    public void putByte(int index, byte value) {
+        boundsCheck(index, BitUtil.SIZE_OF_BYTE);
+        buffer.put(index, value);
+    }
+
+    /**
+     * 从 index 开始读取 length 个字节到 dst[offset..]
+     */
+    public void getBytes(int index, byte[] dst, int offset, int length) {
+        boundsCheck(index, length);
+        if (offset < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + " length=" + length + " dst.length=" + dst.length);
+        }
+        ByteBuffer view = buffer.duplicate();
+        view.position(index);
+        view.get(dst, offset, length);
+    }
+
+    /**
+     * 把 src[offset..offset+length) 写入 index 开始的位置
+     */
+    public void putBytes(int index, byte[] src, int offset, int length) {
+        boundsCheck(index, length);
+        if (offset < 0 || offset > src.length - length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + " length=" + length + " src.length=" + src.length);
+        }
+        ByteBuffer view = buffer.duplicate();
+        view.position(index);
+        view.put(src, offset, length);
+    }
+
+    /**
+     * 把 [index, index + length) 全部置为 value
+     */
+    public void setMemory(int index, int length, byte value) {
+        boundsCheck(index, length);
+        byte[] chunk = new byte[Math.min(length, 4096)];
+        Arrays.fill(chunk, value);
+        for (int written = 0; written < length; written += chunk.length) {
+            putBytes(index + written, chunk, 0, Math.min(chunk.length, length - written));
+        }
+    }
+
+    private void boundsCheck(int index, int length) {
+        if (index < 0 || length < 0 || index > capacity - length) {
+            throw new IndexOutOfBoundsException("index=" + index + " length=" + length + " capacity=" + capacity);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package {{packageName}};
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapBufferTest {
+
+    @Test
+    void readsBackPrimitivesAtAbsoluteIndexes() {
+        OffHeapBuffer buffer = new OffHeapBuffer(64);
+        buffer.putLong(0, Long.MIN_VALUE);
+        buffer.putInt(8, 42);
+        buffer.putShort(12, (short) -7);
+        buffer.putByte(14, (byte) 0x7f);
+
+        assertEquals(Long.MIN_VALUE, buffer.getLong(0));
+        assertEquals(42, buffer.getInt(8));
+        assertEquals((short) -7, buffer.getShort(12));
+        assertEquals((byte) 0x7f, buffer.getByte(14));
+    }
+
+    @Test
+    void copiesByteRanges() {
+        OffHeapBuffer buffer = new OffHeapBuffer(16);
+        byte[] src = {1, 2, 3, 4, 5};
+        buffer.putBytes(3, src, 1, 3);
+
+        byte[] dst = new byte[5];
+        buffer.getBytes(3, dst, 2, 3);
+        assertArrayEquals(new byte[]{0, 0, 2, 3, 4}, dst);
+    }
+
+    @Test
+    void setMemoryFillsRange() {
+        OffHeapBuffer buffer = new OffHeapBuffer(10_000);
+        buffer.setMemory(1, 9_998, (byte) 1);
+
+        assertEquals(0, buffer.getByte(0));
+        assertEquals(1, buffer.getByte(1));
+        assertEquals(1, buffer.getByte(9_998));
+        assertEquals(0, buffer.getByte(9_999));
+    }
+
+    @Test
+    void rejectsOutOfBoundsAccess() {
+        OffHeapBuffer buffer = new OffHeapBuffer(16);
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getLong(9));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.putInt(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.putBytes(10, new byte[8], 0, 8));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getBytes(0, new byte[4], 2, 4));
+    }
+
+    @Test
+    void bitUtilAlignsToPowersOfTwo() {
+        assertEquals(64, BitUtil.align(1, BitUtil.CACHE_LINE_LENGTH));
+        assertEquals(64, BitUtil.align(64, BitUtil.CACHE_LINE_LENGTH));
+        assertEquals(16, BitUtil.findNextPositivePowerOfTwo(9));
+        assertEquals(1, BitUtil.findNextPositivePowerOfTwo(0));
+        assertTrue(BitUtil.isAligned(128, 64));
+        assertFalse(BitUtil.isPowerOfTwo(12));
+        assertThrows(IllegalArgumentException.class, () -> BitUtil.align(1, 3));
+    }
+}
@@ -0,0 +1,62 @@
+package {{basePackage}}.controller;
+
+import {{basePackage}}.model.vo.OverviewVO;
+import {{basePackage}}.service.OverviewService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 示例控制层：GET /overview?userId=1
+ * 直接在请求线程（默认为虚拟线程）上同步调用服务层，阻塞调用不会占用操作系统线程，无需改写为异步回调
+ */
+public class OverviewController implements HttpHandler {
+
+    private static final Logger LOG = Logger.getLogger(OverviewController.class.getName());
+
+    private final OverviewService overviewService;
+
+    public OverviewController(OverviewService overviewService) {
+        this.overviewService = overviewService;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String userId = queryParameter(exchange, "userId", "1");
+            int status;
+            String body;
+            try {
+                body = overviewService.getOverview(userId).toJson();
+                status = 200;
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Failed to load overview for user " + userId, e);
+                body = "{\"error\":\"" + e.getMessage() + "\"}";
+                status = 500;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name, String defaultValue) {
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.startsWith(name + "=")) {
+                    return pair.substring(name.length() + 1);
+                }
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,20 @@
+package {{basePackage}}.service;
+
+import {{basePackage}}.model.vo.OverviewVO;
+{{#observability}}
+import io.micrometer.core.annotation.Timed;
+{{/observability}}
+
+/**
+ * 示例服务：聚合用户资料、订单和推荐三个下游的数据
+ */
+public interface OverviewService {
+
+    /**
+     * @throws IllegalStateException 任一下游调用失败或整体超时
+     */
+{{#observability}}
+    @Timed(value = "service.latency", percentiles = {0.5, 0.99})
+{{/observability}}
+    OverviewVO getOverview(String userId);
+}
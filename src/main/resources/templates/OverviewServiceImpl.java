@@ -0,0 +1,82 @@
+package {{basePackage}}.service.impl;
+
+import {{basePackage}}.config.ConcurrencyConfig;
+import {{basePackage}}.model.vo.OverviewVO;
+import {{basePackage}}.service.OverviewService;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 结构化并发的扇出示例：三个下游调用各在一个虚拟线程上并发执行，总耗时约等于最慢的一个
+ * <ul>
+ *   <li>子任务的作用域就是 try 块：离开时 close() 等待全部子任务结束，子任务不会比请求活得更久</li>
+ *   <li>任一子任务失败或超过整体超时，立即中断其余子任务并抛出异常（等同于 StructuredTaskScope.ShutdownOnFailure）</li>
+ * </ul>
+ * Java 21 的 StructuredTaskScope 仍是预览API，编译和运行都需要 --enable-preview，且只能用同一个JDK版本运行，
+ * 这里用虚拟线程执行器实现同样的语义；升级到正式版后可以直接替换
+ */
+public class OverviewServiceImpl implements OverviewService {
+
+    private final Duration fanOutTimeout;
+    private final Duration simulatedLatency;
+
+    public OverviewServiceImpl(ConcurrencyConfig config) {
+        this.fanOutTimeout = config.getFanOutTimeout();
+        this.simulatedLatency = config.getSimulatedLatency();
+    }
+
+    @Override
+    public OverviewVO getOverview(String userId) {
+        long deadline = System.nanoTime() + fanOutTimeout.toNanos();
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> profile = scope.submit(() -> loadProfile(userId));
+            Future<String> orders = scope.submit(() -> loadOrders(userId));
+            Future<String> recommendations = scope.submit(() -> loadRecommendations(userId));
+            return new OverviewVO(join(scope, profile, deadline), join(scope, orders, deadline), join(scope, recommendations, deadline));
+        }
+    }
+
+    /**
+     * 等待子任务结果，失败、超时或被中断时取消作用域内的其余子任务
+     */
+    private static <T> T join(ExecutorService scope, Future<T> subtask, long deadline) {
+        try {
+            return subtask.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            scope.shutdownNow();
+            throw new IllegalStateException("Downstream call failed: " + e.getCause(), e.getCause());
+        } catch (TimeoutException e) {
+            scope.shutdownNow();
+            throw new IllegalStateException("Downstream calls timed out", e);
+        } catch (InterruptedException e) {
+            scope.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for downstream calls", e);
+        }
+    }
+
+    // 以下三个方法模拟阻塞的下游调用，替换为真实的 Mapper 查询或远程调用
+
+    private String loadProfile(String userId) throws InterruptedException {
+        return simulateCall("profile-" + userId);
+    }
+
+    private String loadOrders(String userId) throws InterruptedException {
+        return simulateCall("orders-" + userId);
+    }
+
+    private String loadRecommendations(String userId) throws InterruptedException {
+        return simulateCall("recommendations-" + userId);
+    }
+
+    private String simulateCall(String result) throws InterruptedException {
+        Thread.sleep(simulatedLatency.toMillis());
+        return result;
+    }
+}
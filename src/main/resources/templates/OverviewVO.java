@@ -0,0 +1,33 @@
+package {{basePackage}}.model.vo;
+
+/**
+ * 用户概览
+ */
+public class OverviewVO {
+
+    private final String profile;
+    private final String orders;
+    private final String recommendations;
+
+    public OverviewVO(String profile, String orders, String recommendations) {
+        this.profile = profile;
+        this.orders = orders;
+        this.recommendations = recommendations;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public String getOrders() {
+        return orders;
+    }
+
+    public String getRecommendations() {
+        return recommendations;
+    }
+
+    public String toJson() {
+        return "{\"profile\":\"" + profile + "\",\"orders\":\"" + orders + "\",\"recommendations\":\"" + recommendations + "\"}";
+    }
+}
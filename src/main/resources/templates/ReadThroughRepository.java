@@ -0,0 +1,52 @@
+package {{packageName}};
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 读穿透（read-through）+ 写穿透（write-through）装饰器
+ * 读由缓存负责加载：同一主键的并发未命中只查询一次数据库；写入数据库成功后用新值更新缓存。
+ * 适合读多写少、写入后马上会被读取的数据；不存在的主键不缓存
+ *
+ * @param <ID> 主键
+ * @param <T> 实体
+ */
+public class ReadThroughRepository<ID, T> implements CacheableRepository<ID, T> {
+
+    private final CacheableRepository<ID, T> delegate;
+    private final Cache<ID, T> cache;
+    private final Function<? super T, ? extends ID> idOf;
+
+    /**
+     * @param delegate 访问数据库的仓储
+     * @param cache 缓存
+     * @param idOf 取实体的主键，如 User::getId
+     */
+    public ReadThroughRepository(CacheableRepository<ID, T> delegate, Cache<ID, T> cache, Function<? super T, ? extends ID> idOf) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.idOf = idOf;
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        return Optional.ofNullable(cache.get(id, key -> delegate.findById(key).orElse(null)));
+    }
+
+    @Override
+    public T save(T entity) {
+        T saved = delegate.save(entity);
+        cache.put(idOf.apply(saved), saved);
+        return saved;
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        delegate.deleteById(id);
+        cache.invalidate(id);
+    }
+
+    public Cache<ID, T> getCache() {
+        return cache;
+    }
+}
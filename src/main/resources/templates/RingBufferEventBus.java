@@ -0,0 +1,296 @@
+package {{basePackage}}.infrastructure.message;
+
+import {{basePackage}}.domain.event.DomainEvent;
+import {{basePackage}}.domain.event.DomainEventPublisher;
+import {{basePackage}}.domain.event.DomainEventSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 进程内领域事件总线，基于无锁环形缓冲区（Disruptor 风格）
+ * <ul>
+ *   <li>发布者通过 CAS 申请序号，写入槽位后标记该槽位已发布，全程不加锁</li>
+ *   <li>每个订阅者一个消费线程，一次取走全部已发布的事件批量处理，处理完再推进自己的序号</li>
+ *   <li>最慢的订阅者落后一整圈时缓冲区视为已满：{@link #publish} 等待，{@link #tryPublish} 返回 false（背压）</li>
+ *   <li>最后一个处理完某个槽位的订阅者清空该槽位，已处理的事件不会被缓冲区继续引用</li>
+ * </ul>
+ * 用法：创建后先 {@link #subscribe} 全部订阅者，再 {@link #start}；{@link #close} 会先处理完已发布的事件再停止
+ */
+public class RingBufferEventBus implements DomainEventPublisher, AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(RingBufferEventBus.class.getName());
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Object[] entries;
+    private final int mask;
+    private final int indexShift;
+    // 每个槽位最近一次发布的圈数（序号 >>> indexShift），等于当前序号的圈数时表示已发布
+    private final AtomicIntegerArray published;
+    // 每个槽位还没有处理它的订阅者数，减到0的订阅者负责清空槽位
+    private final AtomicIntegerArray pending;
+    // 已申请的最大序号
+    private final Sequence claimed = new Sequence(-1);
+    // 发布者缓存的最慢订阅者序号，避免每次发布都遍历订阅者
+    private final Sequence gatingCache = new Sequence(-1);
+    private final List<Consumer> consumers = new ArrayList<>();
+    private volatile Consumer[] running = new Consumer[0];
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean accepting;
+
+    /**
+     * @param capacity 缓冲区大小，必须是2的幂
+     */
+    public RingBufferEventBus(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of 2: " + capacity);
+        }
+        this.entries = new Object[capacity];
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.published = new AtomicIntegerArray(capacity);
+        this.pending = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * 添加订阅者，必须在 {@link #start} 之前调用
+     */
+    public synchronized void subscribe(DomainEventSubscriber<?> subscriber) {
+        if (!threads.isEmpty()) {
+            throw new IllegalStateException("Subscribers must be added before start()");
+        }
+        consumers.add(new Consumer(subscriber));
+    }
+
+    /**
+     * 为每个订阅者启动一个消费线程，之后才能发布事件
+     */
+    public synchronized void start() {
+        if (!threads.isEmpty()) {
+            throw new IllegalStateException("Event bus already started");
+        }
+        running = consumers.toArray(new Consumer[0]);
+        accepting = true;
+        for (Consumer consumer : running) {
+            Thread thread = new Thread(consumer, "domain-event-" + consumer.subscriber.getClass().getSimpleName());
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        int idle = 0;
+        long sequence;
+        while ((sequence = tryClaim()) < 0) {
+            idle = idle(idle);
+        }
+        commit(sequence, event);
+    }
+
+    @Override
+    public boolean tryPublish(DomainEvent event) {
+        long sequence = tryClaim();
+        if (sequence < 0) {
+            return false;
+        }
+        commit(sequence, event);
+        return true;
+    }
+
+    /**
+     * 已发布但还没有被所有订阅者处理的事件数
+     */
+    public long backlog() {
+        return claimed.get() - minimumConsumerSequence(claimed.get());
+    }
+
+    /**
+     * 停止接收新事件，等待订阅者处理完已发布的事件后退出；
+     * 等待期间被中断也会等到处理完，返回前恢复中断标记
+     */
+    @Override
+    public synchronized void close() {
+        accepting = false;
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 申请下一个序号，缓冲区已满时返回 -1
+     */
+    private long tryClaim() {
+        checkAccepting();
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            long wrapPoint = next - entries.length;
+            if (wrapPoint > gatingCache.get()) {
+                long slowest = minimumConsumerSequence(current);
+                gatingCache.set(slowest);
+                if (wrapPoint > slowest) {
+                    return -1;
+                }
+            }
+            if (claimed.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 写入申请到的槽位并标记已发布
+     * <p>
+     * 申请序号后再检查一次 {@link #accepting}：检查通过时 {@link #close} 还没有开始，
+     * 订阅者退出前一定能看到这个序号；检查不通过时订阅者可能已经退出，
+     * 只发布一个空槽位保持序号连续，并向调用方抛出异常，事件不会被静默丢弃
+     */
+    private void commit(long sequence, DomainEvent event) {
+        boolean open = accepting;
+        int index = (int) sequence & mask;
+        entries[index] = open ? event : null;
+        pending.lazySet(index, running.length);
+        // lazySet 保证消费者看到发布标记时一定能看到事件本身
+        published.lazySet(index, (int) (sequence >>> indexShift));
+        if (!open) {
+            checkAccepting();
+        }
+    }
+
+    private void checkAccepting() {
+        if (!accepting) {
+            throw new IllegalStateException("Event bus is not running");
+        }
+    }
+
+    /**
+     * 从 from 开始连续已发布的最大序号，from 还没有发布时返回 from - 1
+     */
+    private long highestPublished(long from, long upTo) {
+        for (long sequence = from; sequence <= upTo; sequence++) {
+            if (published.get((int) sequence & mask) != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return upTo;
+    }
+
+    private long minimumConsumerSequence(long fallback) {
+        long minimum = fallback;
+        for (Consumer consumer : running) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * 等待策略：先自旋，再让出CPU，最后短暂休眠，兼顾延迟和空闲时的CPU占用
+     */
+    private static int idle(int idle) {
+        if (idle >= YIELD_TRIES) {
+            LockSupport.parkNanos(PARK_NANOS);
+        } else if (idle >= SPIN_TRIES) {
+            Thread.yield();
+        }
+        return idle + 1;
+    }
+
+    /**
+     * 一个订阅者的消费线程
+     */
+    private final class Consumer implements Runnable {
+
+        private final DomainEventSubscriber<DomainEvent> subscriber;
+        private final Class<?> eventType;
+        // 已处理的最大序号，发布者据此判断缓冲区是否已满
+        private final Sequence sequence = new Sequence(-1);
+
+        @SuppressWarnings("unchecked")
+        Consumer(DomainEventSubscriber<?> subscriber) {
+            this.subscriber = (DomainEventSubscriber<DomainEvent>) subscriber;
+            this.eventType = subscriber.eventType();
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            int idle = 0;
+            while (true) {
+                long available = highestPublished(next, claimed.get());
+                if (available < next) {
+                    // 已停止接收且申请过的序号都已处理完，退出
+                    if (!accepting && next > claimed.get()) {
+                        return;
+                    }
+                    idle = idle(idle);
+                    continue;
+                }
+                idle = 0;
+                boolean delivered = false;
+                for (long s = next; s <= available; s++) {
+                    int index = (int) s & mask;
+                    Object event = entries[index];
+                    // 在推进自己的序号之前清空，发布者不会在清空前复用这个槽位
+                    if (pending.decrementAndGet(index) == 0) {
+                        entries[index] = null;
+                    }
+                    if (eventType.isInstance(event)) {
+                        delivered = true;
+                        try {
+                            subscriber.onEvent((DomainEvent) event);
+                        } catch (RuntimeException e) {
+                            // 单个事件处理失败不影响后续事件
+                            LOG.log(Level.SEVERE, "Subscriber " + subscriber.getClass().getName() + " failed on " + event, e);
+                        }
+                    }
+                }
+                if (delivered) {
+                    try {
+                        subscriber.onBatchEnd();
+                    } catch (RuntimeException e) {
+                        LOG.log(Level.SEVERE, "Subscriber " + subscriber.getClass().getName() + " failed at end of batch", e);
+                    }
+                }
+                sequence.lazySet(available);
+                next = available + 1;
+            }
+        }
+    }
+
+    /**
+     * 序号，后面填充到整条缓存行，避免不同线程频繁写的序号落在同一缓存行（伪共享）
+     */
+    @SuppressWarnings("unused")
+    private static final class Sequence extends AtomicLong {
+        private static final long serialVersionUID = 1L;
+
+        private long p1, p2, p3, p4, p5, p6, p7;
+
+        Sequence(long initialValue) {
+            super(initialValue);
+        }
+    }
+}
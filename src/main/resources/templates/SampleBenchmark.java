@@ -0,0 +1,57 @@
+package {{packageName}};
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 示例基准测试，复制此类并替换为需要测量的业务代码
+ * 运行：mvn -Pbenchmark package，然后 java -jar {{moduleName}}/target/benchmarks.jar SampleBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SampleBenchmark {
+
+    @Param({"16", "1024"})
+    public int size;
+
+    private String[] values;
+
+    @Setup
+    public void setUp() {
+        values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = "value-" + i;
+        }
+    }
+
+    @Benchmark
+    public String stringBuilder() {
+        StringBuilder sb = new StringBuilder();
+        for (String value : values) {
+            sb.append(value).append(',');
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public void stringJoin(Blackhole blackhole) {
+        // 结果交给 Blackhole，防止被JIT当作死代码消除
+        blackhole.consume(String.join(",", values));
+    }
+}
@@ -0,0 +1,188 @@
+package {{packageName}};
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按层记录方法耗时的拦截器（基于JDK动态代理，不依赖AOP框架），只能代理接口
+ * <ul>
+ *   <li>控制层、Mapper：默认记录全部方法，并发布百分位直方图，可在 Prometheus 中用 histogram_quantile 计算p99</li>
+ *   <li>服务层：只记录标注了 Micrometer {@link Timed} 的方法（注解可以加在接口或实现类的方法或类型上），
+ *       value 为指标名，percentiles、histogram、extraTags 与 Micrometer 的含义相同；longTask 不支持</li>
+ * </ul>
+ * 指标名默认为 “层.latency”（Prometheus 中为 controller_latency_seconds 等），标签为 class、method、exception。
+ * 每个方法的 Timer 在第一次调用时创建并缓存，之后每次调用只多两次时钟读取
+ * <pre>
+ * OrderService orderService = TimedInterceptor.service(OrderService.class, new OrderServiceImpl(...), registry);
+ * UserMapper userMapper = TimedInterceptor.mapper(UserMapper.class, sqlSession.getMapper(UserMapper.class), registry);
+ * </pre>
+ */
+public final class TimedInterceptor implements InvocationHandler {
+
+    public static final String CONTROLLER = "controller";
+    public static final String SERVICE = "service";
+    public static final String MAPPER = "mapper";
+
+    private static final String NO_EXCEPTION = "none";
+    private static final MethodTimer NOT_TIMED = new MethodTimer(null, null);
+
+    private final Object target;
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final String layer;
+    private final String className;
+    private final boolean timeAllMethods;
+    private final ConcurrentMap<Method, MethodTimer> timers = new ConcurrentHashMap<>();
+
+    private TimedInterceptor(Class<?> type, Object target, MeterRegistry registry, String layer, boolean timeAllMethods) {
+        this.target = target;
+        this.registry = registry;
+        this.clock = registry.config().clock();
+        this.layer = layer;
+        this.className = classTag(type, target.getClass());
+        this.timeAllMethods = timeAllMethods;
+    }
+
+    public static <T> T controller(Class<T> type, T target, MeterRegistry registry) {
+        return wrap(type, target, registry, CONTROLLER, true);
+    }
+
+    public static <T> T service(Class<T> type, T target, MeterRegistry registry) {
+        return wrap(type, target, registry, SERVICE, false);
+    }
+
+    public static <T> T mapper(Class<T> type, T target, MeterRegistry registry) {
+        return wrap(type, target, registry, MAPPER, true);
+    }
+
+    /**
+     * @param layer 指标名前缀和层名
+     * @param timeAllMethods true 时记录全部方法并发布直方图，false 时只记录标注了 {@link Timed} 的方法
+     */
+    public static <T> T wrap(Class<T> type, T target, MeterRegistry registry, String layer, boolean timeAllMethods) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException(type.getName() + " is not an interface");
+        }
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new TimedInterceptor(type, target, registry, layer, timeAllMethods));
+        return type.cast(proxy);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            // 代理与自身比较时 target.equals(proxy) 为 false，这里按代理对象本身判断
+            return "equals".equals(method.getName()) ? proxy == args[0] : invokeTarget(method, args);
+        }
+        MethodTimer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, this::resolve);
+        }
+        if (timer == NOT_TIMED) {
+            return invokeTarget(method, args);
+        }
+
+        long start = clock.monotonicTime();
+        try {
+            Object result = invokeTarget(method, args);
+            timer.success.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer.failure(e).record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private MethodTimer resolve(Method method) {
+        Timed timed = findTimed(method);
+        if (timed == null && !timeAllMethods) {
+            return NOT_TIMED;
+        }
+        String name = timed != null && !timed.value().isEmpty() ? timed.value() : layer + ".latency";
+        TimerFactory factory = exception -> {
+            Timer.Builder builder = Timer.builder(name)
+                    .tag("class", className)
+                    .tag("method", method.getName())
+                    .tag("exception", exception)
+                    .publishPercentileHistogram(timeAllMethods || (timed != null && timed.histogram()));
+            if (timed != null) {
+                builder.tags(timed.extraTags());
+                if (timed.percentiles().length > 0) {
+                    builder.publishPercentiles(timed.percentiles());
+                }
+                if (!timed.description().isEmpty()) {
+                    builder.description(timed.description());
+                }
+            }
+            return builder.register(registry);
+        };
+        return new MethodTimer(factory.create(NO_EXCEPTION), factory);
+    }
+
+    /**
+     * class 标签：实现类的类名；目标是代理（如 MyBatis Mapper）、Lambda 或匿名类时用接口名，避免标签值随运行变化
+     */
+    private static String classTag(Class<?> type, Class<?> targetClass) {
+        if (Proxy.isProxyClass(targetClass) || targetClass.isSynthetic() || targetClass.isAnonymousClass()) {
+            return type.getSimpleName();
+        }
+        return targetClass.getSimpleName();
+    }
+
+    /**
+     * 依次查找：接口方法、实现类方法、接口、实现类上的 {@link Timed}
+     */
+    private Timed findTimed(Method method) {
+        Timed timed = method.getAnnotation(Timed.class);
+        if (timed != null) {
+            return timed;
+        }
+        try {
+            timed = target.getClass().getMethod(method.getName(), method.getParameterTypes()).getAnnotation(Timed.class);
+            if (timed != null) {
+                return timed;
+            }
+        } catch (NoSuchMethodException ignored) {
+            // 目标本身是代理（如 MyBatis Mapper）时可能找不到，按接口上的注解处理
+        }
+        timed = method.getDeclaringClass().getAnnotation(Timed.class);
+        return timed != null ? timed : target.getClass().getAnnotation(Timed.class);
+    }
+
+    private interface TimerFactory {
+        Timer create(String exception);
+    }
+
+    private static final class MethodTimer {
+        final Timer success;
+        final TimerFactory factory;
+        final ConcurrentMap<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        MethodTimer(Timer success, TimerFactory factory) {
+            this.success = success;
+            this.factory = factory;
+        }
+
+        Timer failure(Throwable e) {
+            return failures.computeIfAbsent(e.getClass(), type -> factory.create(type.getSimpleName()));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package {{basePackage}};
+
+import {{basePackage}}.config.ConcurrencyConfig;
+import {{basePackage}}.model.vo.OverviewVO;
+import {{basePackage}}.service.OverviewService;
+import {{basePackage}}.service.impl.OverviewServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 负载测试：同一批阻塞请求分别在虚拟线程和平台线程池上执行，对比总耗时
+ * 平台线程池同时只能处理 线程数 个请求，其余排队；虚拟线程每个请求一个，阻塞时不占用操作系统线程
+ */
+class VirtualThreadLoadTest {
+
+    private static final int REQUESTS = 2_000;
+    private static final int PLATFORM_POOL_SIZE = 100;
+    private static final int SIMULATED_LATENCY_MS = 20;
+
+    @Test
+    void virtualThreadsHandleBlockingRequestsFasterThanPlatformPool() throws Exception {
+        // 先各跑一轮预热
+        run(config("virtual"));
+        run(config("platform"));
+
+        long platformMillis = run(config("platform"));
+        long virtualMillis = run(config("virtual"));
+        System.out.printf("%d requests, %d ms downstream latency: platform pool(%d) %d ms, virtual threads %d ms%n",
+                REQUESTS, SIMULATED_LATENCY_MS, PLATFORM_POOL_SIZE, platformMillis, virtualMillis);
+        assertTrue(virtualMillis < platformMillis,
+                "virtual threads took " + virtualMillis + " ms, platform pool took " + platformMillis + " ms");
+    }
+
+    private static ConcurrencyConfig config(String executor) {
+        Properties properties = new Properties();
+        properties.setProperty("server.executor", executor);
+        properties.setProperty("server.platform-pool-size", String.valueOf(PLATFORM_POOL_SIZE));
+        properties.setProperty("service.simulated-latency-ms", String.valueOf(SIMULATED_LATENCY_MS));
+        properties.setProperty("service.fan-out-timeout-ms", "60000");
+        return ConcurrencyConfig.of(properties);
+    }
+
+    /**
+     * 用配置的请求执行器并发执行全部请求，返回总耗时（毫秒）
+     */
+    private static long run(ConcurrencyConfig config) throws Exception {
+        OverviewService service = new OverviewServiceImpl(config);
+        long start = System.nanoTime();
+        List<Future<OverviewVO>> results = new ArrayList<>(REQUESTS);
+        try (ExecutorService requestExecutor = config.requestExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                String userId = String.valueOf(i);
+                results.add(requestExecutor.submit(() -> service.getOverview(userId)));
+            }
+            for (Future<OverviewVO> result : results) {
+                assertNotNull(result.get());
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}